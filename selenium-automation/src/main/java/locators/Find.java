@@ -0,0 +1,38 @@
+package locators;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Locator of a {@link PageLocators} accessor. Exactly one strategy has to be set. Accessors
+ * return a {@code WebElement}, a {@code List<WebElement>} found on every call, or the
+ * {@code By} itself.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.METHOD)
+public @interface Find {
+    String id() default "";
+
+    String name() default "";
+
+    String className() default "";
+
+    String css() default "";
+
+    String tagName() default "";
+
+    String linkText() default "";
+
+    String partialLinkText() default "";
+
+    String xpath() default "";
+
+    /**
+     * Keep the element once found and find it again only when a command reports it stale,
+     * instead of finding it before every command. Only for {@code WebElement} accessors.
+     * @return true to cache the element
+     */
+    boolean cache() default false;
+}
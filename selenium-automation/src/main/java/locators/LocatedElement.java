@@ -0,0 +1,232 @@
+package locators;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Coordinates;
+import org.openqa.selenium.interactions.Locatable;
+
+/**
+ * Element behind a generated locator accessor. It is found on first use, like a PageFactory
+ * field, so accessing it costs no round trip. Uncached elements are found again before every
+ * command; cached ones keep the found element until a command reports it stale. The stale error
+ * is passed on after the cached element is dropped, so the caller's retry, typically
+ * {@link utils.ActionExecutor}, finds the element again and accounts for the retry. Scripts,
+ * Actions and Select get the found element unwrapped, so a stale error of theirs does not pass
+ * through this class; their callers drop the cached element with {@link #invalidate()}.
+ */
+public class LocatedElement implements WebElement, WrapsElement, Locatable {
+    private final SearchContext context;
+    private final By locator;
+    private final boolean cache;
+    private WebElement element;
+
+    /**
+     * Create an element located on first use
+     * @param context Driver or element to search in
+     * @param locator Element locator
+     * @param cache true to keep the found element until it goes stale
+     */
+    public LocatedElement(SearchContext context, By locator, boolean cache) {
+        this.context = context;
+        this.locator = locator;
+        this.cache = cache;
+    }
+
+    public By getLocator() {
+        return locator;
+    }
+
+    public boolean isCached() {
+        return cache;
+    }
+
+    /**
+     * Get the found element, finding it if it is not cached
+     * @return Found element
+     */
+    @Override
+    public WebElement getWrappedElement() {
+        return locate();
+    }
+
+    /**
+     * Drop the cached element after a command that got it unwrapped reported it stale, so the
+     * next use finds it again
+     */
+    public void invalidate() {
+        element = null;
+    }
+
+    /**
+     * Drop the cached element of a located element that a command reported stale
+     * @param element Element the command was given, located or plain
+     * @param error Error of the command
+     */
+    public static void invalidateIfStale(WebElement element, RuntimeException error) {
+        if (element instanceof LocatedElement && error instanceof StaleElementReferenceException) {
+            ((LocatedElement) element).invalidate();
+        }
+    }
+
+    private WebElement locate() {
+        if (element != null) {
+            return element;
+        }
+        WebElement found = context.findElement(locator);
+        if (cache) {
+            element = found;
+        }
+        return found;
+    }
+
+    private <T> T run(Function<WebElement, T> command) {
+        try {
+            return command.apply(locate());
+        } catch (StaleElementReferenceException e) {
+            element = null;
+            throw e;
+        }
+    }
+
+    @Override
+    public void click() {
+        run(found -> {
+            found.click();
+            return null;
+        });
+    }
+
+    @Override
+    public void submit() {
+        run(found -> {
+            found.submit();
+            return null;
+        });
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        run(found -> {
+            found.sendKeys(keysToSend);
+            return null;
+        });
+    }
+
+    @Override
+    public void clear() {
+        run(found -> {
+            found.clear();
+            return null;
+        });
+    }
+
+    @Override
+    public String getTagName() {
+        return run(WebElement::getTagName);
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        return run(found -> found.getDomProperty(name));
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        return run(found -> found.getDomAttribute(name));
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        return run(found -> found.getAttribute(name));
+    }
+
+    @Override
+    public String getAriaRole() {
+        return run(WebElement::getAriaRole);
+    }
+
+    @Override
+    public String getAccessibleName() {
+        return run(WebElement::getAccessibleName);
+    }
+
+    @Override
+    public boolean isSelected() {
+        return run(WebElement::isSelected);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return run(WebElement::isEnabled);
+    }
+
+    @Override
+    public String getText() {
+        return run(WebElement::getText);
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return run(found -> found.findElements(by));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return run(found -> found.findElement(by));
+    }
+
+    @Override
+    public SearchContext getShadowRoot() {
+        return run(WebElement::getShadowRoot);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return run(WebElement::isDisplayed);
+    }
+
+    @Override
+    public Point getLocation() {
+        return run(WebElement::getLocation);
+    }
+
+    @Override
+    public Dimension getSize() {
+        return run(WebElement::getSize);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return run(WebElement::getRect);
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return run(found -> found.getCssValue(propertyName));
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        return run(found -> found.getScreenshotAs(target));
+    }
+
+    @Override
+    public Coordinates getCoordinates() {
+        return run(found -> ((Locatable) found).getCoordinates());
+    }
+
+    @Override
+    public String toString() {
+        return "Located element (" + locator + (cache ? ", cached)" : ")");
+    }
+}
@@ -0,0 +1,249 @@
+package locators;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates the implementation of every {@link PageLocators} interface at compile time: one
+ * {@code By} constant per accessor and accessors returning {@link LocatedElement}s, element
+ * lists or the {@code By} itself. Page objects get their locators without PageFactory's
+ * reflective field scan and per-field proxies.
+ */
+@SupportedAnnotationTypes("locators.PageLocators")
+public class LocatorProcessor extends AbstractProcessor {
+    private static final String WEB_ELEMENT = "org.openqa.selenium.WebElement";
+    private static final String WEB_ELEMENT_LIST = "java.util.List<org.openqa.selenium.WebElement>";
+    private static final String BY = "org.openqa.selenium.By";
+
+    // Find attribute -> By factory method
+    private static final Map<String, String> STRATEGIES = new LinkedHashMap<>();
+
+    static {
+        STRATEGIES.put("id", "id");
+        STRATEGIES.put("name", "name");
+        STRATEGIES.put("className", "className");
+        STRATEGIES.put("css", "cssSelector");
+        STRATEGIES.put("tagName", "tagName");
+        STRATEGIES.put("linkText", "linkText");
+        STRATEGIES.put("partialLinkText", "partialLinkText");
+        STRATEGIES.put("xpath", "xpath");
+    }
+
+    /**
+     * Accessor method of a locator interface
+     */
+    private static class Accessor {
+        private final String name;
+        private final String returnType;
+        private final String byExpression;
+        private final boolean cache;
+
+        Accessor(String name, String returnType, String byExpression, boolean cache) {
+            this.name = name;
+            this.returnType = returnType;
+            this.byExpression = byExpression;
+            this.cache = cache;
+        }
+
+        String getConstant() {
+            return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+        }
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(PageLocators.class)) {
+            if (element.getKind() != ElementKind.INTERFACE) {
+                error(element, "@PageLocators is only allowed on interfaces");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            List<Accessor> accessors = readAccessors(type);
+            if (accessors != null) {
+                write(type, accessors);
+            }
+        }
+        return true;
+    }
+
+    private List<Accessor> readAccessors(TypeElement type) {
+        List<Accessor> accessors = new ArrayList<>();
+        boolean valid = true;
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getModifiers().contains(Modifier.DEFAULT) || method.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            Find find = method.getAnnotation(Find.class);
+            if (find == null) {
+                error(method, "Locator accessor needs a @Find annotation");
+                valid = false;
+                continue;
+            }
+            if (!method.getParameters().isEmpty()) {
+                error(method, "Locator accessors take no parameters");
+                valid = false;
+                continue;
+            }
+            String returnType = method.getReturnType().toString();
+            if (!returnType.equals(WEB_ELEMENT) && !returnType.equals(WEB_ELEMENT_LIST) && !returnType.equals(BY)) {
+                error(method, "Locator accessors return WebElement, List<WebElement> or By, not " + returnType);
+                valid = false;
+                continue;
+            }
+            if (find.cache() && !returnType.equals(WEB_ELEMENT)) {
+                error(method, "Only WebElement accessors can be cached");
+                valid = false;
+                continue;
+            }
+            String byExpression = toByExpression(method, find);
+            if (byExpression == null) {
+                valid = false;
+                continue;
+            }
+            accessors.add(new Accessor(method.getSimpleName().toString(), returnType, byExpression, find.cache()));
+        }
+        return valid ? accessors : null;
+    }
+
+    private String toByExpression(ExecutableElement method, Find find) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("id", find.id());
+        values.put("name", find.name());
+        values.put("className", find.className());
+        values.put("css", find.css());
+        values.put("tagName", find.tagName());
+        values.put("linkText", find.linkText());
+        values.put("partialLinkText", find.partialLinkText());
+        values.put("xpath", find.xpath());
+        String expression = null;
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                continue;
+            }
+            if (expression != null) {
+                error(method, "@Find sets more than one locator strategy");
+                return null;
+            }
+            expression = "By." + STRATEGIES.get(entry.getKey()) + "("
+                + processingEnv.getElementUtils().getConstantExpression(entry.getValue()) + ")";
+        }
+        if (expression == null) {
+            error(method, "@Find sets no locator strategy");
+        }
+        return expression;
+    }
+
+    private void write(TypeElement type, List<Accessor> accessors) {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = packageElement.getQualifiedName().toString();
+        String interfaceName = getNestedName(type);
+        String className = interfaceName.replace(".", "");
+        boolean isPublic = type.getModifiers().contains(Modifier.PUBLIC);
+
+        try (Writer writer = processingEnv.getFiler()
+                .createSourceFile(packageName.isEmpty() ? className : packageName + "." + className, type)
+                .openWriter();
+             PrintWriter out = new PrintWriter(writer)) {
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+            out.println("import java.util.List;");
+            out.println();
+            out.println("import javax.annotation.processing.Generated;");
+            out.println();
+            out.println("import org.openqa.selenium.By;");
+            out.println("import org.openqa.selenium.SearchContext;");
+            out.println("import org.openqa.selenium.WebElement;");
+            out.println();
+            out.println("import locators.LocatedElement;");
+            out.println();
+            out.println("/**");
+            out.println(" * Locators of {@link " + interfaceName + "}, generated from its @Find annotations");
+            out.println(" */");
+            out.println("@Generated(\"" + LocatorProcessor.class.getName() + "\")");
+            out.println((isPublic ? "public " : "") + "final class " + className + " implements " + interfaceName + " {");
+            for (Accessor accessor : accessors) {
+                out.println("    public static final By " + accessor.getConstant() + " = " + accessor.byExpression + ";");
+            }
+            out.println();
+            out.println("    private final SearchContext context;");
+            for (Accessor accessor : accessors) {
+                if (accessor.returnType.equals(WEB_ELEMENT)) {
+                    out.println("    private LocatedElement " + accessor.name + ";");
+                }
+            }
+            out.println();
+            out.println("    /**");
+            out.println("     * Create the locators of a page");
+            out.println("     * @param context Driver or element to search in");
+            out.println("     */");
+            out.println("    public " + className + "(SearchContext context) {");
+            out.println("        this.context = context;");
+            out.println("    }");
+            for (Accessor accessor : accessors) {
+                out.println();
+                out.println("    @Override");
+                if (accessor.returnType.equals(WEB_ELEMENT)) {
+                    out.println("    public WebElement " + accessor.name + "() {");
+                    out.println("        if (" + accessor.name + " == null) {");
+                    out.println("            " + accessor.name + " = new LocatedElement(context, " + accessor.getConstant()
+                        + ", " + accessor.cache + ");");
+                    out.println("        }");
+                    out.println("        return " + accessor.name + ";");
+                } else if (accessor.returnType.equals(WEB_ELEMENT_LIST)) {
+                    out.println("    public List<WebElement> " + accessor.name + "() {");
+                    out.println("        return context.findElements(" + accessor.getConstant() + ");");
+                } else {
+                    out.println("    public By " + accessor.name + "() {");
+                    out.println("        return " + accessor.getConstant() + ";");
+                }
+                out.println("    }");
+            }
+            out.println("}");
+        } catch (IOException e) {
+            error(type, "Failed to write locators: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Name of a type relative to its package, e.g. HomePage.Locators
+     */
+    private static String getNestedName(TypeElement type) {
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        Element enclosing = type.getEnclosingElement();
+        while (enclosing instanceof TypeElement) {
+            name.insert(0, enclosing.getSimpleName() + ".");
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return name.toString();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
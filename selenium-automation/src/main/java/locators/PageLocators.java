@@ -0,0 +1,17 @@
+package locators;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an interface of {@link Find}-annotated accessor methods. {@link LocatorProcessor}
+ * generates an implementation named after the enclosing page and the interface, e.g.
+ * {@code HomePageLocators} for {@code HomePage.Locators}, with a constructor taking the
+ * search context and one {@code public static final By} constant per accessor.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface PageLocators {
+}
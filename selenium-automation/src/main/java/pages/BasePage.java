@@ -2,24 +2,33 @@ package pages;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.ElementNotInteractableException;
-import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.PageFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import utils.ActionExecutor;
+import utils.ElementProbe;
+import utils.PagePerformanceCollector;
+import utils.SessionStateStore;
+import utils.TestContext;
 import utils.WaitUtils;
 
 public abstract class BasePage {
     protected final Logger logger = LogManager.getLogger(this.getClass());
     protected WebDriver driver;
     protected WaitUtils waitUtils;
+    protected ElementProbe probe;
+    protected PagePerformanceCollector performance;
+    protected ActionExecutor actionExecutor;
 
     public BasePage(WebDriver driver) {
         this.driver = driver;
         this.waitUtils = new WaitUtils(driver);
-        PageFactory.initElements(driver, this);
+        this.probe = new ElementProbe(driver);
+        this.performance = new PagePerformanceCollector(driver);
+        this.actionExecutor = new ActionExecutor(driver);
+        TestContext.setPage(getClass().getSimpleName());
     }
 
     public String getPageTitle() {
@@ -37,15 +46,30 @@ public abstract class BasePage {
         driver.get(url);
     }
 
-    protected boolean isElementPresent(By locator) {
+    /**
+     * Collect Navigation Timing and Web Vitals of the loaded page under this page object's name
+     */
+    protected void collectPagePerformance() {
+        collectPagePerformance(getClass().getSimpleName());
+    }
+
+    /**
+     * Collect Navigation Timing and Web Vitals of the loaded page once the load event fired
+     * @param pageName Name the data is stored under
+     */
+    protected void collectPagePerformance(String pageName) {
         try {
-            driver.findElement(locator);
-            return true;
-        } catch (NoSuchElementException e) {
-            return false;
+            waitUtils.waitForPageToLoad();
+            performance.collect(pageName);
+        } catch (Exception e) {
+            logger.warn("Page performance not collected for {}: {}", pageName, e.getMessage());
         }
     }
 
+    protected boolean isElementPresent(By locator) {
+        return probe.isPresent(locator);
+    }
+
     protected boolean isElementDisplayed(WebElement element, String elementName) {
         try {
             boolean displayed = element.isDisplayed();
@@ -57,8 +81,7 @@ public abstract class BasePage {
 
     protected void clickElement(WebElement element, String elementName) {
         try {
-            waitUtils.scrollToElement(element);
-            element.click();
+            actionExecutor.click(element, elementName);
             logger.info("Clicked on: {}", elementName);
         } catch (Exception e) {
             logger.error("Failed to click on: {}", elementName, e);
@@ -68,8 +91,7 @@ public abstract class BasePage {
 
     protected void typeText(WebElement element, String text, String elementName) {
         try {
-            element.clear();
-            element.sendKeys(text);
+            actionExecutor.type(element, text, elementName);
             logger.info("Typed '{}' into: {}", text, elementName);
         } catch (Exception e) {
             logger.error("Failed to type into: {}", elementName, e);
@@ -79,7 +101,7 @@ public abstract class BasePage {
 
     protected String getElementText(WebElement element, String elementName) {
         try {
-            String text = element.getText();
+            String text = actionExecutor.getText(element, elementName);
             return text;
         } catch (Exception e) {
             logger.error("Failed to get text from: {}", elementName, e);
@@ -89,12 +111,16 @@ public abstract class BasePage {
 
     protected void acceptCookiesIfPresent() {
         try {
-            WebElement acceptButton = waitUtils.waitForElementToBeClickable(
-                By.xpath("//a[contains(text(), 'Accept') or contains(@class, 'accept') or @id='accept-all-cookies']"));
+            By acceptLocator = By.xpath("//a[contains(text(), 'Accept') or contains(@class, 'accept') or @id='accept-all-cookies']");
+            if (!probe.isPresent(acceptLocator)) {
+                return;
+            }
+            WebElement acceptButton = waitUtils.waitForElementToBeClickable(acceptLocator);
             
             if (acceptButton != null) {
                 acceptButton.click();
                 logger.info("Accepted cookies");
+                SessionStateStore.capture(driver);
             }
         } catch (Exception ignored) {
             // Cookie banner may not be present, ignore
@@ -103,44 +129,36 @@ public abstract class BasePage {
 
     protected void closeInsiderPopupIfPresent() {
         try {
-            try {
-                WebElement popupContainer = driver.findElement(By.xpath("//div[contains(@class, 'ins-notification-content')]"));
-                if (popupContainer.isDisplayed()) {
-                    
-                    // Try different close button selectors
-                    String[] closeSelectors = {
-                        "//span[contains(@class, 'ins-close-button')]",
-                        "//button[contains(@class, 'ins-close-button')]",
-                        "//span[text()='×']",
-                        "//button[text()='×']",
-                        "//span[contains(@class, 'close')]",
-                        "//button[contains(@class, 'close')]"
-                    };
-                    
-                    for (String selector : closeSelectors) {
-                        try {
-                            WebElement closeButton = driver.findElement(By.xpath(selector));
-                            if (closeButton.isDisplayed() && closeButton.isEnabled()) {
-                                closeButton.click();
-                                logger.info("Closed Insider popup using selector: " + selector);
-                                
-                                try {
-                                    waitUtils.waitForElementToBeInvisible(By.xpath("//div[contains(@class, 'ins-notification-content')]"));
-                                } catch (Exception ignore) {
-                                    // Not waiting for invisibility, popup may have already disappeared
-                                }
-                                
-                                return;
-                            }
-                        } catch (NoSuchElementException ignore) {
-                            // Close button not found with this selector, try next one
-                        }
+            By popupLocator = By.xpath("//div[contains(@class, 'ins-notification-content')]");
+            if (!probe.isPresent(popupLocator)) {
+                return;
+            }
+
+            WebElement popupContainer = driver.findElement(popupLocator);
+            if (popupContainer.isDisplayed()) {
+
+                // Try different close button selectors in a single presence check
+                WebElement closeButton = probe.findFirstDisplayed(ElementProbe.xpath(
+                    "//span[contains(@class, 'ins-close-button')]",
+                    "//button[contains(@class, 'ins-close-button')]",
+                    "//span[text()='×']",
+                    "//button[text()='×']",
+                    "//span[contains(@class, 'close')]",
+                    "//button[contains(@class, 'close')]"
+                ));
+
+                if (closeButton != null && closeButton.isEnabled()) {
+                    closeButton.click();
+                    logger.info("Closed Insider popup");
+
+                    try {
+                        waitUtils.waitForElementToBeInvisible(popupLocator);
+                    } catch (Exception ignore) {
+                        // Not waiting for invisibility, popup may have already disappeared
                     }
+                    SessionStateStore.capture(driver);
                 }
-            } catch (NoSuchElementException ignored) {
-                // Popup may not be present, ignore
             }
-            
         } catch (Exception ignored) {
             // Any other error during popup handling, ignore
         }
@@ -5,10 +5,10 @@ import java.util.List;
 
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
+import locators.Find;
+import locators.PageLocators;
 import utils.ConfigReader;
 
 /**
@@ -16,31 +16,37 @@ import utils.ConfigReader;
  */
 public class CareersPage extends BasePage {
 
-    private WebDriverWait wait;
+    // Default until WaitTimeoutTuner has enough samples of a wait, and its upper limit after that
+    private static final Duration WAIT_TIMEOUT = Duration.ofSeconds(10);
 
-    @FindBy(xpath = "//h1[contains(text(), 'Career')] | //h2[contains(text(), 'Career')] | //*[@class*='career-page']")
-    private WebElement careersPageTitle;
+    @PageLocators
+    interface Locators {
+        @Find(xpath = "//h1[contains(text(), 'Career')] | //h2[contains(text(), 'Career')] | //*[@class*='career-page']")
+        WebElement careersPageTitle();
 
-    @FindBy(xpath = "//h2[contains(text(), 'Locations')] | //h3[contains(text(), 'Our Locations')] | //*[@id='career-our-location']")
-    private WebElement locationsSection;
+        @Find(xpath = "//h2[contains(text(), 'Locations')] | //h3[contains(text(), 'Our Locations')] | //*[@id='career-our-location']")
+        WebElement locationsSection();
 
-    @FindBy(css = "#career-our-location .category-title-media, [class*='location-info'], [class*='office-location']")
-    private List<WebElement> locationElements;
+        @Find(css = "#career-our-location .category-title-media, [class*='location-info'], [class*='office-location']")
+        List<WebElement> locationElements();
 
-    @FindBy(xpath = "//h2[contains(text(), 'Teams')] | //h3[contains(text(), 'Find your calling')] | //*[@id='career-find-our-calling']")
-    private WebElement teamsSection;
+        @Find(xpath = "//h2[contains(text(), 'Teams')] | //h3[contains(text(), 'Find your calling')] | //*[@id='career-find-our-calling']")
+        WebElement teamsSection();
 
-    @FindBy(css = "#career-find-our-calling .job-item, [class*='team'], [class*='department-card']")
-    private List<WebElement> teamElements;
+        @Find(css = "#career-find-our-calling .job-item, [class*='team'], [class*='department-card']")
+        List<WebElement> teamElements();
 
-    @FindBy(xpath = "//h2[contains(text(), 'Life at Insider')] | //*[@class*='life'] | //*[@data-section='life']")
-    private WebElement lifeAtInsiderSection;
+        @Find(xpath = "//h2[contains(text(), 'Life at Insider')] | //*[@class*='life'] | //*[@data-section='life']")
+        WebElement lifeAtInsiderSection();
 
-    @FindBy(css = "[class*='life'], [class*='culture'], .elementor-heading-title")
-    private List<WebElement> lifeAtInsiderElements;
+        @Find(css = "[class*='life'], [class*='culture'], .elementor-heading-title")
+        List<WebElement> lifeAtInsiderElements();
 
-    @FindBy(xpath = "//a[@href='/careers/quality-assurance/'] | //a[contains(@href, 'quality-assurance')]")
-    private WebElement qualityAssuranceLink;
+        @Find(xpath = "//a[@href='/careers/quality-assurance/'] | //a[contains(@href, 'quality-assurance')]")
+        WebElement qualityAssuranceLink();
+    }
+
+    private final Locators locators;
 
     /**
      * Constructor for CareersPage
@@ -48,7 +54,7 @@ public class CareersPage extends BasePage {
      */
     public CareersPage(WebDriver driver) {
         super(driver);
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.locators = new CareersPageLocators(driver);
     }
 
     /**
@@ -57,11 +63,12 @@ public class CareersPage extends BasePage {
      */
     public boolean isCareersPageLoaded() {
         try {
-            wait.until(ExpectedConditions.or(
-                ExpectedConditions.visibilityOf(careersPageTitle),
+            waitUtils.waitFor("careersPageLoaded", ExpectedConditions.or(
+                ExpectedConditions.visibilityOf(locators.careersPageTitle()),
                 ExpectedConditions.urlContains("careers")
-            ));
+            ), WAIT_TIMEOUT);
 
+            collectPagePerformance();
             closeInsiderPopupIfPresent();
 
             boolean urlCheck = getCurrentUrl().toLowerCase().contains("careers");
@@ -79,10 +86,10 @@ public class CareersPage extends BasePage {
      */
     public boolean isLocationsSectionVisible() {
         try {
-            if (isElementDisplayed(locationsSection, "Locations Section")) {
+            if (isElementDisplayed(locators.locationsSection(), "Locations Section")) {
                 return true;
             }
-            for (WebElement element : locationElements) {
+            for (WebElement element : locators.locationElements()) {
                 if (isElementDisplayed(element, "Location Element")) {
                     logger.info("Found Locations section using alternative selector");
                     return true;
@@ -102,10 +109,10 @@ public class CareersPage extends BasePage {
      */
     public boolean isTeamsSectionVisible() {
         try {
-            if (isElementDisplayed(teamsSection, "Teams Section")) {
+            if (isElementDisplayed(locators.teamsSection(), "Teams Section")) {
                 return true;
             }
-            for (WebElement element : teamElements) {
+            for (WebElement element : locators.teamElements()) {
                 if (isElementDisplayed(element, "Team Element")) {
                     logger.info("Found Teams section using alternative selector");
                     return true;
@@ -125,10 +132,10 @@ public class CareersPage extends BasePage {
      */
     public boolean isLifeAtInsiderSectionVisible() {
         try {
-            if (isElementDisplayed(lifeAtInsiderSection, "Life at Insider Section")) {
+            if (isElementDisplayed(locators.lifeAtInsiderSection(), "Life at Insider Section")) {
                 return true;
             }
-            for (WebElement element : lifeAtInsiderElements) {
+            for (WebElement element : locators.lifeAtInsiderElements()) {
                 if (isElementDisplayed(element, "Life at Insider Element")) {
                     logger.info("Found Life at Insider section using alternative selector");
                     return true;
@@ -165,7 +172,7 @@ public class CareersPage extends BasePage {
             logger.info("Navigating to Quality Assurance careers page");
             String qaUrl = ConfigReader.getBaseUrl() + "careers/quality-assurance/";
             navigateToUrl(qaUrl);
-            wait.until(ExpectedConditions.urlContains("quality-assurance"));
+            waitUtils.waitFor("qualityAssuranceUrl", ExpectedConditions.urlContains("quality-assurance"), WAIT_TIMEOUT);
             logger.info("Successfully navigated to Quality Assurance page");
             return new QualityAssurancePage(driver);
         } catch (Exception e) {
@@ -178,8 +185,8 @@ public class CareersPage extends BasePage {
      * Click on Quality Assurance link if present
      */
     public void clickQualityAssuranceLink() {
-        if (isElementDisplayed(qualityAssuranceLink, "Quality Assurance Link")) {
-            clickElement(qualityAssuranceLink, "Quality Assurance Link");
+        if (isElementDisplayed(locators.qualityAssuranceLink(), "Quality Assurance Link")) {
+            clickElement(locators.qualityAssuranceLink(), "Quality Assurance Link");
         } else {
             logger.warn("Quality Assurance link not found on careers page");
         }
@@ -1,33 +1,41 @@
 package pages;
 
 import org.openqa.selenium.By;
-import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.FindBy;
+
+import locators.Find;
+import locators.PageLocators;
+import utils.ElementProbe;
+import utils.SessionStateStore;
 
 /**
  * Home Page class representing the Insider home page
  */
 public class HomePage extends BasePage {
 
-    @FindBy(css = "a.navbar-brand img, a[class*='navbar-brand'] img, img[class*='logo']")
-    private WebElement logo;
+    @PageLocators
+    interface Locators {
+        @Find(css = "a.navbar-brand img, a[class*='navbar-brand'] img, img[class*='logo']", cache = true)
+        WebElement logo();
+
+        @Find(xpath = "//nav//a[contains(normalize-space(text()), 'Company') or contains(@href, 'company')]", cache = true)
+        WebElement companyMenu();
 
-    @FindBy(xpath = "//nav//a[contains(normalize-space(text()), 'Company') or contains(@href, 'company')]")
-    private WebElement companyMenu;
+        @Find(xpath = "//nav//a[contains(@href, '/careers') or contains(normalize-space(text()), 'Careers')]", cache = true)
+        WebElement careersLink();
 
-    @FindBy(xpath = "//nav//a[contains(@href, '/careers') or contains(normalize-space(text()), 'Careers')]")
-    private WebElement careersLink;
+        @Find(css = "#desktop_hero_24, .hp_hero_with_animation, [class*='HeroContentContainer']")
+        WebElement heroSection();
 
-    @FindBy(css = "#desktop_hero_24, .hp_hero_with_animation, [class*='HeroContentContainer']")
-    private WebElement heroSection;
+        @Find(id = "wt-cli-accept-all-btn")
+        WebElement acceptCookiesButton();
 
-    @FindBy(id = "wt-cli-accept-all-btn")
-    private WebElement acceptCookiesButton;
+        @Find(css = "a.wt-cli-accept-all-btn, [data-cli_action='accept_all']")
+        WebElement acceptAllButtonFallback();
+    }
 
-    @FindBy(css = "a.wt-cli-accept-all-btn, [data-cli_action='accept_all']")
-    private WebElement acceptAllButtonFallback;
+    private final Locators locators;
 
     /**
      * Constructor for HomePage
@@ -35,6 +43,7 @@ public class HomePage extends BasePage {
      */
     public HomePage(WebDriver driver) {
         super(driver);
+        this.locators = new HomePageLocators(driver);
     }
 
     /**
@@ -43,12 +52,14 @@ public class HomePage extends BasePage {
      */
     public boolean isHomePageLoaded() {
         try {
+            collectPagePerformance();
+
             acceptCookiesIfPresent();
             
             closeInsiderPopupIfPresent();
             
-            boolean logoPresent = isElementDisplayed(logo, "Logo");
-            boolean companyMenuPresent = isElementDisplayed(companyMenu, "Company Menu");
+            boolean logoPresent = isElementDisplayed(locators.logo(), "Logo");
+            boolean companyMenuPresent = isElementDisplayed(locators.companyMenu(), "Company Menu");
             
             logger.info("Insider home page loaded successfully - Logo: {}, Company Menu: {}", 
                        logoPresent, companyMenuPresent);
@@ -72,10 +83,10 @@ public class HomePage extends BasePage {
             
             closeInsiderPopupIfPresent();
             
-            waitUtils.hoverOverElement(companyMenu);
-            waitUtils.waitForElementToBeVisible(careersLink);
+            waitUtils.hoverOverElement(locators.companyMenu());
+            waitUtils.waitForElementToBeVisible(locators.careersLink());
             
-            clickElement(careersLink, "Careers Link");
+            clickElement(locators.careersLink(), "Careers Link");
             
             logger.info("Successfully navigated to Insider Careers page");
             return new CareersPage(driver);
@@ -90,55 +101,51 @@ public class HomePage extends BasePage {
      * Click on Company menu
      */
     public void clickCompanyMenu() {
-        clickElement(companyMenu, "Company Menu");
+        clickElement(locators.companyMenu(), "Company Menu");
     }
 
     /**
      * Accept cookies if the button is present
      */
-        @Override
+    @Override
     protected void acceptCookiesIfPresent() {
         try {
-            try {
-                WebElement cookieBanner = driver.findElement(By.id("cookie-law-info-bar"));
-                if (cookieBanner.isDisplayed()) {
-                    
-                    // Try different selectors for Accept All button
-                    String[] acceptSelectors = {
-                        "#wt-cli-accept-all-btn",
-                        ".cli-accept-all-btn",
-                        ".accept-cookies",
-                        "#cookie-accept",
-                        "a.accept-cookies",
-                        "button.accept-cookies"
-                    };
-                    
-                    for (String selector : acceptSelectors) {
-                        try {
-                            WebElement acceptBtn = driver.findElement(By.cssSelector(selector));
-                            if (acceptBtn.isDisplayed() && acceptBtn.isEnabled()) {
-                                acceptBtn.click();
-                                logger.info("Accepted cookies using selector: {}", selector);
-                        
-                                waitUtils.waitForElementToBeInvisible(By.id("cookie-consent-banner"));
-                                return;
-                            }
-                        } catch (NoSuchElementException ignore) {
-                            // Accept button not found with this selector, try next one
-                        }
-                    }
-                    
-                    // Fallback to the original element if specific selectors don't work
-                    if (isElementDisplayed(acceptCookiesButton, "Accept Cookies Button")) {
-                        clickElement(acceptCookiesButton, "Accept Cookies Button");
-                        logger.info("Accepted cookies using fallback selector");
-                        waitUtils.waitForElementToBeInvisible(By.id("cookie-consent-banner"));
-                    }
+            By cookieBannerLocator = By.id("cookie-law-info-bar");
+            if (!probe.isPresent(cookieBannerLocator)) {
+                return;
+            }
+
+            WebElement cookieBanner = driver.findElement(cookieBannerLocator);
+            if (cookieBanner.isDisplayed()) {
+
+                // Try different selectors for Accept All button in a single presence check
+                WebElement acceptBtn = probe.findFirstDisplayed(ElementProbe.css(
+                    "#wt-cli-accept-all-btn",
+                    ".cli-accept-all-btn",
+                    ".accept-cookies",
+                    "#cookie-accept",
+                    "a.accept-cookies",
+                    "button.accept-cookies"
+                ));
+
+                if (acceptBtn != null && acceptBtn.isEnabled()) {
+                    acceptBtn.click();
+                    logger.info("Accepted cookies");
+                    waitUtils.waitForElementToBeInvisible(By.id("cookie-consent-banner"));
+                    SessionStateStore.capture(driver);
+                    return;
+                }
+
+                // Fallback to the original element if specific selectors don't work
+                if (probe.withoutImplicitWait(() -> isElementDisplayed(locators.acceptCookiesButton(), "Accept Cookies Button"))) {
+                    clickElement(locators.acceptCookiesButton(), "Accept Cookies Button");
+                    logger.info("Accepted cookies using fallback selector");
+                    waitUtils.waitForElementToBeInvisible(By.id("cookie-consent-banner"));
+                    SessionStateStore.capture(driver);
                 }
-            } catch (NoSuchElementException e) {
             }
-            
         } catch (Exception e) {
+            // Cookie banner handling is best effort
         }
     }
 
@@ -173,6 +180,6 @@ public class HomePage extends BasePage {
      * @return true if hero section is visible
      */
     public boolean isHeroSectionVisible() {
-        return isElementDisplayed(heroSection, "Hero Section");
+        return isElementDisplayed(locators.heroSection(), "Hero Section");
     }
 }
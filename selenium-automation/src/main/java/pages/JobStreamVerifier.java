@@ -0,0 +1,238 @@
+package pages;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.WebDriver;
+
+import utils.ConfigReader;
+import utils.PageScripts;
+
+/**
+ * Job list component that reads job cards in batches of job.stream.batch.size as the list
+ * renders, pages or lazy-loads. Each batch is one script call returning only the card texts;
+ * batches are checked as they arrive and verification stops at the first mismatch, so round
+ * trips and memory depend on the batch size rather than on the length of the list.
+ */
+public class JobStreamVerifier {
+    private static final Logger logger = LogManager.getLogger(JobStreamVerifier.class);
+
+    private static final String JOB_CARDS =
+        ".position-list-item, .job-item, [data-testid='job-item'], .position-list .position, .position-list-item-wrapper";
+    private static final String NEXT_PAGE = ".pagination .pagination-next, .pagination a[rel='next']";
+    // Items of the pagination; the list is rewound to the first numbered one if another one is active
+    private static final String PAGE_ITEMS = ".pagination li";
+    private static final Map<String, String> FIELDS = Map.of(
+        "title", ".position-title, h3, .job-title",
+        "department", ".position-department, .department, [data-department]",
+        "location", ".position-location, .location, [data-location]");
+
+    private final WebDriver driver;
+
+    /**
+     * Text of one job card
+     */
+    public static class Job {
+        private final String title;
+        private final String department;
+        private final String location;
+
+        Job(String title, String department, String location) {
+            this.title = title;
+            this.department = department;
+            this.location = location;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getDepartment() {
+            return department;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (%s, %s)", title, department, location);
+        }
+    }
+
+    /**
+     * Outcome of streaming through the job list
+     */
+    public static class Result {
+        private final int checked;
+        private final int batches;
+        private final int loads;
+        private final Job mismatch;
+
+        Result(int checked, int batches, int loads, Job mismatch) {
+            this.checked = checked;
+            this.batches = batches;
+            this.loads = loads;
+            this.mismatch = mismatch;
+        }
+
+        /**
+         * Get the number of visible jobs checked, including a mismatching one
+         * @return Checked jobs
+         */
+        public int getChecked() {
+            return checked;
+        }
+
+        public int getBatches() {
+            return batches;
+        }
+
+        /**
+         * Get how often more jobs were loaded by paging or scrolling
+         * @return Page or scroll loads
+         */
+        public int getLoads() {
+            return loads;
+        }
+
+        /**
+         * Get the first job that did not match the criteria
+         * @return Mismatching job, or null if all checked jobs matched
+         */
+        public Job getMismatch() {
+            return mismatch;
+        }
+
+        /**
+         * Check if jobs were found and all of them matched
+         * @return true if at least one job was checked and none mismatched
+         */
+        public boolean isMatched() {
+            return checked > 0 && mismatch == null;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d jobs checked in %d batches, %d loads%s", checked, batches, loads,
+                mismatch == null ? "" : ", first mismatch: " + mismatch);
+        }
+    }
+
+    /**
+     * Create a job list component
+     * @param driver WebDriver instance
+     */
+    public JobStreamVerifier(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Check visible jobs batch by batch from the first page on, loading further pages or scroll
+     * batches until the list is exhausted or a job does not match
+     * @param criteria Criteria every job has to match
+     * @return Verification result
+     */
+    public Result verify(Predicate<Job> criteria) {
+        String token = UUID.randomUUID().toString();
+        int batchSize = ConfigReader.getJobStreamBatchSize();
+        long idleMillis = ConfigReader.getJobStreamIdleTimeoutMillis();
+        long navigationMillis = ConfigReader.getExplicitWait() * 1000L;
+        int checked = 0;
+        int batches = 0;
+        int loads = 0;
+        boolean allowLoad = true;
+        boolean rewind = true;
+        long idleSince = 0;
+        long loadStart = System.currentTimeMillis();
+
+        while (true) {
+            Map<String, Object> batch = extract(token, batchSize, allowLoad, rewind);
+            rewind = false;
+            List<Map<String, Object>> jobs = getJobs(batch);
+            if (!jobs.isEmpty()) {
+                batches++;
+                for (Map<String, Object> card : jobs) {
+                    if (!Boolean.TRUE.equals(card.get("visible"))) {
+                        continue;
+                    }
+                    Job job = new Job((String) card.get("title"), (String) card.get("department"),
+                        (String) card.get("location"));
+                    checked++;
+                    if (!criteria.test(job)) {
+                        Result result = new Result(checked, batches, loads, job);
+                        logger.warn("Job list verification stopped: {}", result);
+                        return result;
+                    }
+                }
+                logger.debug("Batch {}: {} jobs, {} rendered, {} left", batches, jobs.size(), batch.get("rendered"),
+                    batch.get("remaining"));
+            }
+
+            String action = (String) batch.get("action");
+            long now = System.currentTimeMillis();
+            if ("page".equals(action) || "scroll".equals(action) || "rewind".equals(action)) {
+                // More jobs were requested, wait for them without triggering another load
+                loads += "rewind".equals(action) ? 0 : 1;
+                allowLoad = false;
+                idleSince = now;
+                loadStart = now;
+            } else if (jobs.isEmpty()) {
+                if (Boolean.TRUE.equals(batch.get("navigating")) && now - loadStart < navigationMillis) {
+                    // Idle time only counts once a page navigation has finished loading
+                    idleSince = now;
+                } else if ((allowLoad && !"pending".equals(action)) || now - idleSince >= idleMillis) {
+                    break;
+                }
+                sleep(Math.min(200, idleMillis));
+            } else if (!allowLoad) {
+                allowLoad = true;
+            }
+        }
+
+        // The final page or scroll load that produced nothing is not counted
+        Result result = new Result(checked, batches, Math.max(0, loads - 1), null);
+        logger.info("Job list verified: {}", result);
+        return result;
+    }
+
+    /**
+     * Count visible jobs across all pages and scroll batches
+     * @return Number of jobs
+     */
+    public int count() {
+        return verify(job -> true).getChecked();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> extract(String token, int batchSize, boolean allowLoad, boolean rewind) {
+        try {
+            return (Map<String, Object>) PageScripts.call(driver, "job-stream", JOB_CARDS, token, batchSize, FIELDS,
+                NEXT_PAGE, allowLoad, rewind ? PAGE_ITEMS : null);
+        } catch (JavascriptException e) {
+            // The document was replaced while the script ran, the next call reads the new one
+            logger.debug("Job batch not read during navigation: {}", e.getMessage());
+            return Map.of("jobs", List.of(), "action", "pending", "navigating", true);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> getJobs(Map<String, Object> batch) {
+        return (List<Map<String, Object>>) batch.get("jobs");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for more jobs", e);
+        }
+    }
+}
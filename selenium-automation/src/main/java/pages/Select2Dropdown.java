@@ -0,0 +1,146 @@
+package pages;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import locators.LocatedElement;
+import utils.ConfigReader;
+import utils.PageScripts;
+
+/**
+ * Dropdown component for native and select2-enhanced select elements.
+ * Finding, selecting and confirming an option happen in one script call against the
+ * underlying select, instead of opening the dropdown and reading every option's text.
+ */
+public class Select2Dropdown {
+    private static final Logger logger = LogManager.getLogger(Select2Dropdown.class);
+
+    private final WebDriver driver;
+    private final WebElement select;
+    private final String name;
+
+    /**
+     * Result of an option selection
+     */
+    public static class Selection {
+        private final String matched;
+        private final String rendered;
+        private final boolean confirmed;
+        private final boolean select2;
+
+        Selection(String matched, String rendered, boolean confirmed, boolean select2) {
+            this.matched = matched;
+            this.rendered = rendered;
+            this.confirmed = confirmed;
+            this.select2 = select2;
+        }
+
+        /**
+         * Get text of the selected option
+         * @return Option text
+         */
+        public String getMatched() {
+            return matched;
+        }
+
+        /**
+         * Get selection text as rendered by select2 (or the native select)
+         * @return Rendered text
+         */
+        public String getRendered() {
+            return rendered;
+        }
+
+        /**
+         * Check if the rendered selection shows the selected option
+         * @return true if confirmed
+         */
+        public boolean isConfirmed() {
+            return confirmed;
+        }
+
+        public boolean isSelect2() {
+            return select2;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("'%s' (rendered '%s', confirmed: %s, select2: %s)", matched, rendered, confirmed, select2);
+        }
+    }
+
+    /**
+     * Create a dropdown component
+     * @param driver WebDriver instance
+     * @param select Underlying select element
+     * @param name Dropdown name used in logs
+     */
+    public Select2Dropdown(WebDriver driver, WebElement select, String name) {
+        this.driver = driver;
+        this.select = select;
+        this.name = name;
+    }
+
+    /**
+     * Select an option by text, waiting for options loaded asynchronously. Texts are tried as
+     * exact matches first, then as partial matches, then by the part before the first comma.
+     * @param texts Option texts in order of preference
+     * @return Selection result
+     * @throws NoSuchElementException if no option matches within the explicit wait
+     */
+    @SuppressWarnings("unchecked")
+    public Selection select(String... texts) {
+        List<String> wanted = Arrays.asList(texts);
+        logger.info("Selecting {} in {}", wanted, name);
+        Map<String, Object>[] last = new Map[1];
+        try {
+            new WebDriverWait(driver, Duration.ofSeconds(ConfigReader.getExplicitWait()), Duration.ofMillis(250))
+                .ignoring(StaleElementReferenceException.class)
+                .until(webDriver -> {
+                    last[0] = run(wanted, false);
+                    return Boolean.TRUE.equals(last[0].get("found"));
+                });
+        } catch (TimeoutException e) {
+            Object options = last[0] == null ? "[]" : last[0].get("options");
+            logger.error("No option matching {} in {}, first options: {}", wanted, name, options);
+            throw new NoSuchElementException("No option matching " + wanted + " in " + name);
+        }
+
+        Map<String, Object> result = last[0];
+        Selection selection = new Selection((String) result.get("matched"), (String) result.get("rendered"),
+            Boolean.TRUE.equals(result.get("confirmed")), Boolean.TRUE.equals(result.get("select2")));
+        logger.info("Selected {} in {} out of {} options", selection, name, result.get("optionCount"));
+        return selection;
+    }
+
+    /**
+     * Get the current selection as rendered
+     * @return Rendered selection text
+     */
+    public String getSelectedText() {
+        return (String) run(new ArrayList<>(), true).get("rendered");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> run(List<String> texts, boolean readOnly) {
+        try {
+            return (Map<String, Object>) PageScripts.call(driver, "select-option", select, texts, readOnly);
+        } catch (StaleElementReferenceException e) {
+            // The script gets the select unwrapped, so a located select is told to find it again
+            LocatedElement.invalidateIfStale(select, e);
+            throw e;
+        }
+    }
+}
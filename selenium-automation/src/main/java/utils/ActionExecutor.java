@@ -0,0 +1,220 @@
+package utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+
+import locators.LocatedElement;
+
+/**
+ * Runs element actions under a bounded retry policy. Every attempt resolves the element again,
+ * so a stale element is replaced by the one its locator finds now, and an element its locator
+ * does not find yet is looked up again; an intercepted or not yet interactable element is
+ * scrolled to the viewport center and hovered before the next attempt. A plain element cannot be
+ * resolved again, so its stale error fails the action at once. Retries stop after
+ * action.retry.max.attempts attempts or once action.retry.budget.ms is spent, and every action's
+ * retries and their causes are recorded in {@link ActionMetrics}.
+ */
+public class ActionExecutor {
+    private static final Logger logger = LogManager.getLogger(ActionExecutor.class);
+
+    private final WebDriver driver;
+
+    /**
+     * Create an action executor
+     * @param driver WebDriver instance
+     */
+    public ActionExecutor(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Click an element. Elements of generated locators find themselves again when they go stale;
+     * a plain element stays stale and fails at once, so elements of re-rendering lists are better
+     * passed as resolver.
+     * @param element Element to click
+     * @param elementName Logical element name
+     */
+    public void click(WebElement element, String elementName) {
+        click(() -> element, isRelocatable(element), elementName);
+    }
+
+    /**
+     * Clear an element and type text into it
+     * @param element Element to type into
+     * @param text Text to type
+     * @param elementName Logical element name
+     */
+    public void type(WebElement element, String text, String elementName) {
+        perform("type", elementName, () -> element, isRelocatable(element), false, typeAttempt(text));
+    }
+
+    /**
+     * Get the visible text of an element
+     * @param element Element to read
+     * @param elementName Logical element name
+     * @return Element text
+     */
+    public String getText(WebElement element, String elementName) {
+        return perform("getText", elementName, () -> element, isRelocatable(element), false, textAttempt());
+    }
+
+    /**
+     * Click the element a resolver finds. If the last allowed attempt follows an intercepted
+     * click and action.retry.script.click is enabled, the click is dispatched by script instead.
+     * @param resolver Finds the element, called once per attempt
+     * @param elementName Logical element name
+     */
+    public void click(Supplier<WebElement> resolver, String elementName) {
+        click(resolver, true, elementName);
+    }
+
+    /**
+     * Clear an element and type text into it
+     * @param resolver Finds the element, called once per attempt
+     * @param text Text to type
+     * @param elementName Logical element name
+     */
+    public void type(Supplier<WebElement> resolver, String text, String elementName) {
+        perform("type", elementName, resolver, true, false, typeAttempt(text));
+    }
+
+    /**
+     * Get the visible text of an element
+     * @param resolver Finds the element, called once per attempt
+     * @param elementName Logical element name
+     * @return Element text
+     */
+    public String getText(Supplier<WebElement> resolver, String elementName) {
+        return perform("getText", elementName, resolver, true, false, textAttempt());
+    }
+
+    private void click(Supplier<WebElement> resolver, boolean relocatable, String elementName) {
+        perform("click", elementName, resolver, relocatable, ConfigReader.isActionScriptClickEnabled(),
+            (element, scriptClick) -> {
+                if (scriptClick) {
+                    PageScripts.call(driver, "click", element, false);
+                } else {
+                    element.click();
+                }
+                return null;
+            });
+    }
+
+    private static Attempt<Void> typeAttempt(String text) {
+        return (element, scriptClick) -> {
+            element.clear();
+            element.sendKeys(text);
+            return null;
+        };
+    }
+
+    private static Attempt<String> textAttempt() {
+        return (element, scriptClick) -> element.getText();
+    }
+
+    /**
+     * Elements of generated locators are found again by their next command once they went stale
+     */
+    private static boolean isRelocatable(WebElement element) {
+        return element instanceof LocatedElement;
+    }
+
+    /**
+     * Command of one attempt
+     */
+    private interface Attempt<T> {
+        /**
+         * Run the command on the resolved element
+         * @param element Element resolved for this attempt
+         * @param scriptClick true if a click has to be dispatched by script
+         * @return Command result
+         */
+        T run(WebElement element, boolean scriptClick);
+    }
+
+    /**
+     * Run an action with retries
+     * @param relocatable true if the resolver finds the element again, so stale and not found
+     *                    elements are retried; otherwise they fail the action at once
+     */
+    private <T> T perform(String action, String elementName, Supplier<WebElement> resolver, boolean relocatable,
+                          boolean allowScriptClick, Attempt<T> attempt) {
+        int maxAttempts = Math.max(1, ConfigReader.getActionRetryMaxAttempts());
+        long budgetMillis = ConfigReader.getActionRetryBudgetMillis();
+        long backoffMillis = ConfigReader.getActionRetryBackoffMillis();
+        long startNanos = System.nanoTime();
+        Map<String, Integer> causes = new LinkedHashMap<>();
+        WebDriverException lastFailure = null;
+
+        for (int number = 1; ; number++) {
+            WebElement element = null;
+            // An attempt is the last one if the next backoff would overrun the budget
+            long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            boolean lastAttempt = number >= maxAttempts || elapsedMillis + backoffMillis * number > budgetMillis;
+            boolean scriptClick = allowScriptClick && lastAttempt && lastFailure instanceof ElementClickInterceptedException;
+            try {
+                element = resolver.get();
+                if (lastFailure instanceof ElementNotInteractableException) {
+                    bringIntoView(element);
+                }
+                T result = attempt.run(element, scriptClick);
+                ActionMetrics.getInstance().record(action, elementName, causes, true, scriptClick);
+                if (number > 1) {
+                    logger.info("{} on {} succeeded after {} retries {}{}", action, elementName, number - 1, causes,
+                        scriptClick ? " by script click" : "");
+                }
+                return result;
+            } catch (StaleElementReferenceException | NoSuchElementException | ElementNotInteractableException e) {
+                // A script click gets the element unwrapped, past the stale handling of a located element
+                LocatedElement.invalidateIfStale(element, e);
+                if (lastAttempt || !relocatable && !(e instanceof ElementNotInteractableException)) {
+                    ActionMetrics.getInstance().record(action, elementName, causes, false, scriptClick);
+                    logger.error("{} on {} failed after {} attempts in {} ms: {}", action, elementName, number,
+                        (System.nanoTime() - startNanos) / 1_000_000, e.getClass().getSimpleName());
+                    throw e;
+                }
+                logger.debug("{} on {} attempt {} failed: {}", action, elementName, number, e.getClass().getSimpleName());
+                causes.merge(e.getClass().getSimpleName(), 1, Integer::sum);
+                lastFailure = e;
+                sleep(backoffMillis * number);
+            }
+        }
+    }
+
+    /**
+     * Scroll an element to the viewport center, clear of sticky headers and banners, and hover it
+     */
+    private void bringIntoView(WebElement element) {
+        try {
+            PageScripts.call(driver, "scrollIntoView", element, false);
+            new Actions(driver).moveToElement(element).perform();
+        } catch (WebDriverException e) {
+            LocatedElement.invalidateIfStale(element, e);
+            logger.debug("Could not bring element into view: {}", e.getMessage());
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while retrying an action", e);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Aggregates element action outcomes recorded by {@link ActionExecutor}: calls, retries and
+ * their causes per action, element and page, and retries per test
+ */
+public class ActionMetrics {
+    private static final Logger logger = LogManager.getLogger(ActionMetrics.class);
+    private static final ActionMetrics instance = new ActionMetrics();
+
+    private final Map<String, ActionStats> actions = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> testRetries = new ConcurrentHashMap<>();
+
+    /**
+     * Outcomes of one action on one element of a page
+     */
+    public static class ActionStats {
+        private final String action;
+        private final String element;
+        private final String page;
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong retries = new AtomicLong();
+        private final AtomicLong recovered = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong scriptFallbacks = new AtomicLong();
+        private final Map<String, AtomicLong> causes = new ConcurrentHashMap<>();
+
+        ActionStats(String action, String element, String page) {
+            this.action = action;
+            this.element = element;
+            this.page = page;
+        }
+
+        public long getCalls() {
+            return calls.get();
+        }
+
+        public long getRetries() {
+            return retries.get();
+        }
+
+        /**
+         * Convert to a report map
+         * @return Action, element, page, counts and retry causes
+         */
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("action", action);
+            map.put("element", element);
+            map.put("page", page);
+            map.put("calls", calls.get());
+            map.put("retries", retries.get());
+            map.put("recovered", recovered.get());
+            map.put("failed", failed.get());
+            map.put("scriptFallbacks", scriptFallbacks.get());
+            Map<String, Object> causeCounts = new LinkedHashMap<>();
+            causes.forEach((cause, count) -> causeCounts.put(cause, count.get()));
+            map.put("causes", causeCounts);
+            return map;
+        }
+    }
+
+    private ActionMetrics() {
+    }
+
+    /**
+     * Get the shared action metrics
+     * @return Action metrics
+     */
+    public static ActionMetrics getInstance() {
+        return instance;
+    }
+
+    /**
+     * Record one action for the current test and page
+     * @param action Action name, e.g. "click"
+     * @param element Logical element name
+     * @param causes Exception simple name -> number of retries it caused
+     * @param succeeded true if the action finally succeeded
+     * @param scriptFallback true if a script click completed the action
+     */
+    public void record(String action, String element, Map<String, Integer> causes, boolean succeeded,
+                       boolean scriptFallback) {
+        String page = TestContext.getPage();
+        ActionStats stats = actions.computeIfAbsent(action + "|" + element + "|" + page,
+            key -> new ActionStats(action, element, page));
+        int retries = causes.values().stream().mapToInt(Integer::intValue).sum();
+        stats.calls.incrementAndGet();
+        stats.retries.addAndGet(retries);
+        if (!succeeded) {
+            stats.failed.incrementAndGet();
+        } else if (retries > 0) {
+            stats.recovered.incrementAndGet();
+        }
+        if (scriptFallback) {
+            stats.scriptFallbacks.incrementAndGet();
+        }
+        causes.forEach((cause, count) ->
+            stats.causes.computeIfAbsent(cause, key -> new AtomicLong()).addAndGet(count));
+        if (retries > 0) {
+            testRetries.computeIfAbsent(TestContext.getTestKey(), key -> new AtomicLong()).addAndGet(retries);
+        }
+    }
+
+    /**
+     * Get the number of retries of a test on one browser, summed over its invocations
+     * @param testKey Test key, see {@link TestContext#getTestKey()}
+     * @return Retries, 0 if every action of the test succeeded at once
+     */
+    public long getTestRetries(String testKey) {
+        AtomicLong retries = testRetries.get(testKey);
+        return retries == null ? 0 : retries.get();
+    }
+
+    /**
+     * Build the suite report: actions that needed retries, most retried first, and retries per test
+     * @return Report data
+     */
+    public Map<String, Object> toReport() {
+        List<Map<String, Object>> retried = new ArrayList<>();
+        actions.values().stream()
+            .filter(stats -> stats.getRetries() > 0 || stats.failed.get() > 0)
+            .sorted(Comparator.comparingLong(ActionStats::getRetries).reversed())
+            .forEach(stats -> retried.add(stats.toMap()));
+
+        Map<String, Object> tests = new LinkedHashMap<>();
+        testRetries.forEach((testKey, retries) -> tests.put(testKey, retries.get()));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("actions", actions.values().stream().mapToLong(ActionStats::getCalls).sum());
+        report.put("retries", actions.values().stream().mapToLong(ActionStats::getRetries).sum());
+        report.put("retriedActions", retried);
+        report.put("tests", tests);
+        return report;
+    }
+
+    /**
+     * Log actions that needed retries and write action-retries.json
+     */
+    @SuppressWarnings("unchecked")
+    public void writeReport() {
+        if (actions.isEmpty()) {
+            return;
+        }
+        Map<String, Object> report = toReport();
+        logger.info("{} element actions, {} retries", report.get("actions"), report.get("retries"));
+        for (Map<String, Object> action : (List<Map<String, Object>>) report.get("retriedActions")) {
+            logger.info("  {} {} on {} - calls={}, retries={}, recovered={}, failed={}, causes={}",
+                action.get("action"), action.get("element"), action.get("page"), action.get("calls"),
+                action.get("retries"), action.get("recovered"), action.get("failed"), action.get("causes"));
+        }
+        ReportWriter.writeJson("action-retries.json", report);
+    }
+}
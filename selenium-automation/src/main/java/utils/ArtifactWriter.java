@@ -0,0 +1,201 @@
+package utils;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Background writer for screenshots and other failure artifacts.
+ * Callers hand over bytes and get the target path back immediately; a single daemon thread
+ * compresses and writes them with NIO. Identical screenshots are de-duplicated by hash.
+ * The queue is bounded: when it is full the artifact is written on the caller thread
+ * rather than dropped.
+ */
+public class ArtifactWriter {
+    private static final Logger logger = LogManager.getLogger(ArtifactWriter.class);
+    private static final ArtifactWriter instance = new ArtifactWriter();
+
+    private final BlockingQueue<Artifact> queue = new ArrayBlockingQueue<>(ConfigReader.getArtifactQueueCapacity());
+    private final Map<String, Path> writtenByHash = new ConcurrentHashMap<>();
+    private final Object pendingLock = new Object();
+    private int pending;
+
+    private static class Artifact {
+        private final Path target;
+        private final byte[] data;
+        private final boolean convertToJpeg;
+        private final String hash;
+
+        Artifact(Path target, byte[] data, boolean convertToJpeg, String hash) {
+            this.target = target;
+            this.data = data;
+            this.convertToJpeg = convertToJpeg;
+            this.hash = hash;
+        }
+    }
+
+    private ArtifactWriter() {
+        Thread writerThread = new Thread(this::writeLoop, "artifact-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(Duration.ofSeconds(10)), "artifact-writer-flush"));
+    }
+
+    /**
+     * Get the shared artifact writer
+     * @return Artifact writer
+     */
+    public static ArtifactWriter getInstance() {
+        return instance;
+    }
+
+    /**
+     * Queue a PNG screenshot for writing. The file extension follows screenshot.format;
+     * if an identical screenshot was already written, its path is returned and nothing is queued.
+     * @param png Screenshot bytes in PNG format
+     * @param directory Target directory
+     * @param baseName File name without extension
+     * @return Path the screenshot is (or will be) written to
+     */
+    public Path submitScreenshot(byte[] png, String directory, String baseName) {
+        String hash = Hashing.sha256Hex(png);
+        boolean convertToJpeg = "jpg".equalsIgnoreCase(ConfigReader.getScreenshotFormat());
+        Path target = Paths.get(directory, baseName + (convertToJpeg ? ".jpg" : ".png"));
+        // Claims the hash atomically, so of two threads submitting the same image only one writes it
+        Path existing = writtenByHash.putIfAbsent(hash, target);
+        if (existing != null) {
+            logger.info("Screenshot identical to {}, skipping duplicate", existing);
+            return existing;
+        }
+        enqueue(new Artifact(target, png, convertToJpeg, hash));
+        return target;
+    }
+
+    /**
+     * Queue arbitrary artifact bytes for writing
+     * @param target Target file
+     * @param data Artifact bytes
+     * @return Target path
+     */
+    public Path submit(Path target, byte[] data) {
+        enqueue(new Artifact(target, data, false, null));
+        return target;
+    }
+
+    /**
+     * Wait until all queued artifacts are written
+     * @param timeout Maximum time to wait
+     * @return true if the queue drained within the timeout
+     */
+    public boolean flush(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (pendingLock) {
+            while (pending > 0) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    logger.warn("Artifact writer flush timed out with {} artifacts pending", pending);
+                    return false;
+                }
+                try {
+                    pendingLock.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void enqueue(Artifact artifact) {
+        synchronized (pendingLock) {
+            pending++;
+        }
+        if (!queue.offer(artifact)) {
+            logger.warn("Artifact queue full, writing {} on the calling thread", artifact.target);
+            write(artifact);
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            try {
+                write(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(Artifact artifact) {
+        try {
+            byte[] data = artifact.convertToJpeg ? toJpeg(artifact.data) : artifact.data;
+            Files.createDirectories(artifact.target.toAbsolutePath().getParent());
+            Files.write(artifact.target, data, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+            logger.debug("Artifact written: {} ({} bytes)", artifact.target, data.length);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to write artifact: {}", artifact.target, e);
+            // Later identical screenshots must not point to a file that was never written
+            if (artifact.hash != null) {
+                writtenByHash.remove(artifact.hash, artifact.target);
+            }
+        } finally {
+            synchronized (pendingLock) {
+                pending--;
+                pendingLock.notifyAll();
+            }
+        }
+    }
+
+    private static byte[] toJpeg(byte[] png) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        if (source == null) {
+            return png;
+        }
+        // JPEG has no alpha channel, draw onto an RGB canvas first
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        graphics.drawImage(source, 0, 0, Color.WHITE, null);
+        graphics.dispose();
+
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpg");
+        ImageWriter writer = writers.next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(ConfigReader.getScreenshotJpegQuality());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(imageOutput);
+            writer.write(null, new IIOImage(rgb, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+}
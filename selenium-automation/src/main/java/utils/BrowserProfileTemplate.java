@@ -0,0 +1,276 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Prepared browser profile per browser with a warm HTTP cache and consent cookies. The first
+ * session without a valid template runs on a seed profile that becomes the template once the
+ * browser quits; later sessions start from a private copy of the template. Every file is
+ * copied, so parallel sessions never share profile state with each other or the template.
+ * Copies hold the read lock of the template and replacing the template takes its write lock.
+ */
+public class BrowserProfileTemplate {
+    private static final Logger logger = LogManager.getLogger(BrowserProfileTemplate.class);
+    private static final Map<String, BrowserProfileTemplate> templates = new ConcurrentHashMap<>();
+    private static final String CREATED_MARKER = ".template-created";
+    private static final Set<String> LOCK_FILES = new HashSet<>(Arrays.asList(
+        "SingletonLock", "SingletonSocket", "SingletonCookie", "lock", ".parentlock", "parent.lock"));
+
+    private final String browser;
+    private final Path root;
+    private final Path templateDir;
+    private final ReadWriteLock templateLock = new ReentrantReadWriteLock();
+    private boolean seeding;
+
+    /**
+     * How the profile of a session was set up
+     */
+    public enum Mode {
+        /** Browser's own throwaway profile */
+        DEFAULT,
+        /** Empty profile that becomes the template after the session */
+        SEED,
+        /** Private copy of the template */
+        TEMPLATE
+    }
+
+    /**
+     * Profile directory used by one browser session
+     */
+    public static class SessionProfile {
+        private final String browser;
+        private final Mode mode;
+        private final Path directory;
+        private final long prepareMillis;
+
+        SessionProfile(String browser, Mode mode, Path directory, long prepareMillis) {
+            this.browser = browser;
+            this.mode = mode;
+            this.directory = directory;
+            this.prepareMillis = prepareMillis;
+        }
+
+        public String getBrowser() {
+            return browser;
+        }
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        /**
+         * Get the profile directory
+         * @return Profile directory, or null for the browser's default profile
+         */
+        public Path getDirectory() {
+            return directory;
+        }
+
+        public long getPrepareMillis() {
+            return prepareMillis;
+        }
+
+        @Override
+        public String toString() {
+            return directory == null ? mode.name().toLowerCase()
+                : String.format("%s %s (prepared in %d ms)", mode.name().toLowerCase(), directory, prepareMillis);
+        }
+    }
+
+    private BrowserProfileTemplate(String browser) {
+        this.browser = browser;
+        this.root = Paths.get(ConfigReader.getProfileTemplatePath()).toAbsolutePath();
+        this.templateDir = root.resolve(browser);
+    }
+
+    /**
+     * Get the template of a browser
+     * @param browser Browser name (chrome/firefox)
+     * @return Profile template
+     */
+    public static BrowserProfileTemplate forBrowser(String browser) {
+        return templates.computeIfAbsent(browser, BrowserProfileTemplate::new);
+    }
+
+    /**
+     * Get a profile for a new session: a copy of a valid template, a seed profile when no valid
+     * template exists and no other session is seeding, or the browser's default profile
+     * @return Session profile
+     */
+    public SessionProfile acquire() {
+        if (!ConfigReader.isProfileTemplateEnabled()) {
+            return new SessionProfile(browser, Mode.DEFAULT, null, 0);
+        }
+        long start = System.nanoTime();
+        Path sessionDir = null;
+        try {
+            Path sessions = Files.createDirectories(root.resolve("sessions"));
+            sessionDir = Files.createTempDirectory(sessions, browser + "-");
+            templateLock.readLock().lock();
+            try {
+                synchronized (this) {
+                    if (!isTemplateValid()) {
+                        if (seeding) {
+                            Files.delete(sessionDir);
+                            return new SessionProfile(browser, Mode.DEFAULT, null, 0);
+                        }
+                        seeding = true;
+                        logger.info("No valid {} profile template, seeding one from this session", browser);
+                        return new SessionProfile(browser, Mode.SEED, sessionDir, elapsedMillis(start));
+                    }
+                }
+                copyTemplate(sessionDir);
+            } finally {
+                templateLock.readLock().unlock();
+            }
+            return new SessionProfile(browser, Mode.TEMPLATE, sessionDir, elapsedMillis(start));
+        } catch (IOException e) {
+            logger.warn("Failed to prepare {} profile, using the default profile: {}", browser, e.getMessage());
+            if (sessionDir != null && Files.exists(sessionDir)) {
+                deleteRecursively(sessionDir);
+            }
+            return new SessionProfile(browser, Mode.DEFAULT, null, 0);
+        }
+    }
+
+    /**
+     * Release the profile of a session after its browser has quit. A seed profile replaces the
+     * template, any other profile directory is deleted.
+     * @param profile Session profile
+     * @param keepSeed false to discard a seed profile, e.g. when the browser did not start
+     */
+    public void release(SessionProfile profile, boolean keepSeed) {
+        if (profile == null || profile.getDirectory() == null) {
+            return;
+        }
+        if (profile.getMode() == Mode.SEED) {
+            // Same lock order as acquire(): template lock first, then the seeding monitor
+            templateLock.writeLock().lock();
+            try {
+                synchronized (this) {
+                    seeding = false;
+                    if (keepSeed && promote(profile.getDirectory())) {
+                        return;
+                    }
+                }
+            } finally {
+                templateLock.writeLock().unlock();
+            }
+        }
+        deleteRecursively(profile.getDirectory());
+    }
+
+    private boolean isTemplateValid() {
+        Path marker = templateDir.resolve(CREATED_MARKER);
+        if (!Files.exists(marker)) {
+            return false;
+        }
+        try {
+            Instant created = Files.getLastModifiedTime(marker).toInstant();
+            Duration ttl = Duration.ofHours(ConfigReader.getProfileTemplateTtlHours());
+            return created.plus(ttl).isAfter(Instant.now());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Turn a seed profile into the template: drop lock files and swap it in place of the old
+     * template. Called with the write lock held, so no session is copying the old template.
+     */
+    private boolean promote(Path seed) {
+        try {
+            try (Stream<Path> files = Files.walk(seed)) {
+                files.filter(path -> LOCK_FILES.contains(path.getFileName().toString()))
+                    .forEach(BrowserProfileTemplate::deleteQuietly);
+            }
+            Files.createFile(seed.resolve(CREATED_MARKER));
+
+            Path previous = null;
+            if (Files.exists(templateDir)) {
+                previous = root.resolve("sessions").resolve(browser + "-previous-" + System.nanoTime());
+                Files.move(templateDir, previous, StandardCopyOption.ATOMIC_MOVE);
+            }
+            Files.move(seed, templateDir, StandardCopyOption.ATOMIC_MOVE);
+            if (previous != null) {
+                deleteRecursively(previous);
+            }
+            logger.info("{} profile template updated: {} ({} files)", browser, templateDir, countFiles(templateDir));
+            return true;
+        } catch (IOException e) {
+            logger.warn("Failed to store {} profile template: {}", browser, e.getMessage());
+            return false;
+        }
+    }
+
+    private void copyTemplate(Path target) throws IOException {
+        Files.walkFileTree(templateDir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(templateDir.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Path relative = templateDir.relativize(file);
+                String name = file.getFileName().toString();
+                if (!attrs.isRegularFile() || LOCK_FILES.contains(name) || CREATED_MARKER.equals(name)) {
+                    return FileVisitResult.CONTINUE;
+                }
+                Path copy = target.resolve(relative.toString());
+                Files.copy(file, copy, StandardCopyOption.COPY_ATTRIBUTES);
+                // The browser must be able to update every copied file, whatever the template's permissions
+                copy.toFile().setWritable(true, true);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static long countFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private static void deleteRecursively(Path dir) {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(BrowserProfileTemplate::deleteQuietly);
+        } catch (IOException e) {
+            logger.warn("Failed to delete profile directory {}: {}", dir, e.getMessage());
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.debug("Failed to delete {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+    }
+}
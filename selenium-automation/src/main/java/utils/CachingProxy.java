@@ -0,0 +1,489 @@
+package utils;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Local record/replay HTTP(S) proxy for UI test traffic.
+ * In record mode every response is fetched from the network and stored in a {@link ProxyCacheStore};
+ * in replay mode responses are served from the store only and misses return 504 without any
+ * network access. HTTPS is intercepted with a self-signed certificate, so browsers routed through
+ * the proxy must accept insecure certificates.
+ */
+public class CachingProxy {
+    private static final Logger logger = LogManager.getLogger(CachingProxy.class);
+    private static final String KEYSTORE_FILE = "proxy-keystore.p12";
+    private static final char[] KEYSTORE_PASSWORD = "insider-proxy".toCharArray();
+    private static final Set<String> HOP_BY_HOP_HEADERS = new HashSet<>(Arrays.asList(
+        "connection", "keep-alive", "proxy-connection", "proxy-authorization", "proxy-authenticate",
+        "te", "trailer", "transfer-encoding", "upgrade"));
+    private static final Set<String> RESTRICTED_REQUEST_HEADERS = new HashSet<>(Arrays.asList(
+        "host", "expect", "date", "from", "via", "warning", "content-length"));
+
+    private static CachingProxy instance;
+
+    /**
+     * Proxy modes, configured with proxy.mode
+     */
+    public enum Mode {
+        /** Proxy disabled */
+        OFF,
+        /** Always fetch from the network and record */
+        RECORD,
+        /** Serve recorded responses only, never touch the network */
+        REPLAY,
+        /** Serve recorded responses, fetch and record misses */
+        REPLAY_OR_RECORD
+    }
+
+    private final Mode mode;
+    private final ProxyCacheStore store;
+    private final ServerSocket serverSocket;
+    private final SSLContext sslContext;
+    private final HttpClient httpClient;
+    private final ExecutorService connectionExecutor;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong recorded = new AtomicLong();
+
+    private CachingProxy(Mode mode, Path cacheDir) throws Exception {
+        this.mode = mode;
+        this.store = new ProxyCacheStore(cacheDir, new HashSet<>(ConfigReader.getProxyIgnoredParams()));
+        this.sslContext = createSslContext(cacheDir.resolve(KEYSTORE_FILE));
+        this.httpClient = mode == Mode.REPLAY ? null : HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(15))
+            .build();
+        this.connectionExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "caching-proxy");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.serverSocket = new ServerSocket(ConfigReader.getProxyPort(), 256, InetAddress.getLoopbackAddress());
+
+        Thread acceptThread = new Thread(this::acceptLoop, "caching-proxy-accept");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+    }
+
+    /**
+     * Start the proxy once per JVM, or return the running instance
+     * @return Running proxy
+     */
+    public static synchronized CachingProxy getInstance() {
+        if (instance == null) {
+            Mode mode = ConfigReader.getProxyMode();
+            Path cacheDir = Paths.get(ConfigReader.getProxyCachePath());
+            try {
+                instance = new CachingProxy(mode, cacheDir);
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to start caching proxy", e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(instance::stop, "caching-proxy-shutdown"));
+            logger.info("Caching proxy started in {} mode on port {} with {} recorded responses",
+                mode, instance.getPort(), instance.store.size());
+        }
+        return instance;
+    }
+
+    /**
+     * Get the port the proxy listens on
+     * @return Local port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Get the proxy address in host:port form for browser configuration
+     * @return Proxy address
+     */
+    public String getAddress() {
+        return "localhost:" + getPort();
+    }
+
+    /**
+     * Stop accepting connections and persist the cache index
+     */
+    public void stop() {
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+            // Already closed
+        }
+        connectionExecutor.shutdown();
+        try {
+            connectionExecutor.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        store.save();
+        logger.info("Caching proxy stopped - hits: {}, misses: {}, recorded: {}", hits.get(), misses.get(), recorded.get());
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connectionExecutor.execute(() -> handleConnection(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    logger.warn("Caching proxy accept failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void handleConnection(Socket socket) {
+        try (Socket client = socket) {
+            InputStream input = new BufferedInputStream(client.getInputStream());
+            OutputStream output = client.getOutputStream();
+
+            ProxyRequest request = ProxyRequest.read(input);
+            if (request == null) {
+                return;
+            }
+
+            if ("CONNECT".equals(request.method)) {
+                output.write("HTTP/1.1 200 Connection Established\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+                output.flush();
+                handleTunnel(client, request.target);
+                return;
+            }
+
+            // Plain HTTP requests carry an absolute URL as target
+            while (request != null) {
+                serve(request, request.target, output);
+                if (!request.keepAlive()) {
+                    return;
+                }
+                request = ProxyRequest.read(input);
+            }
+        } catch (IOException e) {
+            logger.debug("Proxy connection closed: {}", e.getMessage());
+        }
+    }
+
+    private void handleTunnel(Socket client, String authority) throws IOException {
+        String host = authority.contains(":") ? authority.substring(0, authority.lastIndexOf(':')) : authority;
+        int port = authority.contains(":") ? Integer.parseInt(authority.substring(authority.lastIndexOf(':') + 1)) : 443;
+
+        SSLSocket sslSocket = (SSLSocket) sslContext.getSocketFactory()
+            .createSocket(client, host, port, true);
+        sslSocket.setUseClientMode(false);
+        sslSocket.startHandshake();
+
+        try (SSLSocket tls = sslSocket) {
+            InputStream input = new BufferedInputStream(tls.getInputStream());
+            OutputStream output = tls.getOutputStream();
+            String origin = "https://" + host + (port == 443 ? "" : ":" + port);
+
+            ProxyRequest request = ProxyRequest.read(input);
+            while (request != null) {
+                serve(request, origin + request.target, output);
+                if (!request.keepAlive()) {
+                    return;
+                }
+                request = ProxyRequest.read(input);
+            }
+        }
+    }
+
+    private void serve(ProxyRequest request, String url, OutputStream output) throws IOException {
+        String key;
+        try {
+            key = store.key(request.method, url, request.body);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected malformed request URL {} {}: {}", request.method, url, e.getMessage());
+            writeResponse(output, request.method, 502, new ArrayList<>(), new byte[0]);
+            return;
+        }
+
+        if (mode != Mode.RECORD) {
+            ProxyCacheStore.Entry entry = store.get(key);
+            if (entry != null) {
+                hits.incrementAndGet();
+                writeResponse(output, request.method, entry.getStatus(), entry.getHeaders(), store.readBody(entry));
+                return;
+            }
+            if (mode == Mode.REPLAY) {
+                misses.incrementAndGet();
+                logger.warn("Replay miss, no recorded response for {} {}", request.method, url);
+                writeResponse(output, request.method, 504, new ArrayList<>(), new byte[0]);
+                return;
+            }
+        }
+
+        misses.incrementAndGet();
+        try {
+            HttpResponse<byte[]> response = fetch(request, url);
+            List<String[]> headers = new ArrayList<>();
+            response.headers().map().forEach((name, values) -> {
+                if (!name.startsWith(":") && !HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    for (String value : values) {
+                        headers.add(new String[] {name, value});
+                    }
+                }
+            });
+            store.put(key, request.method, url, response.statusCode(), headers, response.body());
+            recorded.incrementAndGet();
+            writeResponse(output, request.method, response.statusCode(), headers, response.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writeResponse(output, request.method, 502, new ArrayList<>(), new byte[0]);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Upstream request failed for {} {}: {}", request.method, url, e.toString());
+            writeResponse(output, request.method, 502, new ArrayList<>(), new byte[0]);
+        }
+    }
+
+    private HttpResponse<byte[]> fetch(ProxyRequest request, String url) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+            .timeout(Duration.ofSeconds(30))
+            .method(request.method, request.body.length == 0
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(request.body));
+        for (String[] header : request.headers) {
+            String name = header[0].toLowerCase(Locale.ROOT);
+            if (!HOP_BY_HOP_HEADERS.contains(name) && !RESTRICTED_REQUEST_HEADERS.contains(name)) {
+                builder.header(header[0], header[1]);
+            }
+        }
+        return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * Write a response framed by Content-Length. 1xx, 204 and 304 responses have neither a body nor
+     * a length; a HEAD response has no body but reports the entity length the upstream sent.
+     * @param output Client stream
+     * @param method Request method
+     * @param status Response status
+     * @param headers Response headers; a Content-Length among them is replaced by the framing
+     * @param body Response body
+     * @throws IOException if the client connection fails
+     */
+    static void writeResponse(OutputStream output, String method, int status, List<String[]> headers, byte[] body)
+            throws IOException {
+        StringBuilder head = new StringBuilder("HTTP/1.1 ").append(status).append(' ')
+            .append(reasonPhrase(status)).append("\r\n");
+        String entityLength = null;
+        for (String[] header : headers) {
+            if ("content-length".equalsIgnoreCase(header[0])) {
+                entityLength = header[1];
+            } else {
+                head.append(header[0]).append(": ").append(header[1]).append("\r\n");
+            }
+        }
+        boolean bodiless = status / 100 == 1 || status == 204 || status == 304;
+        boolean headRequest = "HEAD".equalsIgnoreCase(method);
+        if (!bodiless && !headRequest) {
+            head.append("Content-Length: ").append(body.length).append("\r\n");
+        } else if (!bodiless && entityLength != null) {
+            head.append("Content-Length: ").append(entityLength).append("\r\n");
+        }
+        head.append("Connection: keep-alive\r\n\r\n");
+        output.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+        if (!bodiless && !headRequest) {
+            output.write(body);
+        }
+        output.flush();
+    }
+
+    private static String reasonPhrase(int status) {
+        switch (status) {
+            case 200: return "OK";
+            case 204: return "No Content";
+            case 301: return "Moved Permanently";
+            case 302: return "Found";
+            case 304: return "Not Modified";
+            case 404: return "Not Found";
+            case 502: return "Bad Gateway";
+            case 504: return "Gateway Timeout";
+            default: return "Status";
+        }
+    }
+
+    /**
+     * Load the interception key store, generating a self-signed certificate with keytool on first use
+     */
+    private static SSLContext createSslContext(Path keystoreFile) throws Exception {
+        if (!Files.exists(keystoreFile)) {
+            Files.createDirectories(keystoreFile.getParent());
+            String keytool = Paths.get(System.getProperty("java.home"), "bin", "keytool").toString();
+            Process process = new ProcessBuilder(keytool, "-genkeypair",
+                "-alias", "proxy", "-keyalg", "RSA", "-keysize", "2048", "-validity", "3650",
+                "-dname", "CN=insider-automation-proxy",
+                "-ext", "SAN=dns:localhost,dns:*.useinsider.com,dns:useinsider.com",
+                "-storetype", "PKCS12", "-keystore", keystoreFile.toString(),
+                "-storepass", new String(KEYSTORE_PASSWORD), "-keypass", new String(KEYSTORE_PASSWORD))
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.to(new File(keystoreFile + ".log")))
+                .start();
+            if (!process.waitFor(60, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                throw new IllegalStateException("keytool failed to generate proxy certificate, see " + keystoreFile + ".log");
+            }
+        }
+
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream input = Files.newInputStream(keystoreFile)) {
+            keyStore.load(input, KEYSTORE_PASSWORD);
+        }
+        KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, KEYSTORE_PASSWORD);
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(keyManagerFactory.getKeyManagers(), null, null);
+        return context;
+    }
+
+    /**
+     * Minimal HTTP/1.1 request parsed from a client connection
+     */
+    private static class ProxyRequest {
+        private final String method;
+        private final String target;
+        private final String version;
+        private final List<String[]> headers;
+        private final byte[] body;
+
+        private ProxyRequest(String method, String target, String version, List<String[]> headers, byte[] body) {
+            this.method = method;
+            this.target = target;
+            this.version = version;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        static ProxyRequest read(InputStream input) throws IOException {
+            String requestLine = readLine(input);
+            while (requestLine != null && requestLine.isEmpty()) {
+                requestLine = readLine(input);
+            }
+            if (requestLine == null) {
+                return null;
+            }
+
+            String[] parts = requestLine.split(" ");
+            if (parts.length < 3) {
+                throw new IOException("Malformed request line: " + requestLine);
+            }
+
+            List<String[]> headers = new ArrayList<>();
+            String line;
+            while ((line = readLine(input)) != null && !line.isEmpty()) {
+                int colon = line.indexOf(':');
+                if (colon > 0) {
+                    headers.add(new String[] {line.substring(0, colon).trim(), line.substring(colon + 1).trim()});
+                }
+            }
+
+            ProxyRequest headRequest = new ProxyRequest(parts[0], parts[1], parts[2], headers, new byte[0]);
+            byte[] body;
+            if ("chunked".equalsIgnoreCase(headRequest.header("Transfer-Encoding"))) {
+                body = readChunked(input);
+            } else {
+                String contentLength = headRequest.header("Content-Length");
+                body = contentLength == null ? new byte[0] : readFully(input, Integer.parseInt(contentLength.trim()));
+            }
+            return new ProxyRequest(parts[0], parts[1], parts[2], headers, body);
+        }
+
+        String header(String name) {
+            for (String[] header : headers) {
+                if (header[0].equalsIgnoreCase(name)) {
+                    return header[1];
+                }
+            }
+            return null;
+        }
+
+        boolean keepAlive() {
+            String connection = header("Proxy-Connection") != null ? header("Proxy-Connection") : header("Connection");
+            if (connection != null) {
+                return !connection.equalsIgnoreCase("close");
+            }
+            return "HTTP/1.1".equals(version);
+        }
+
+        private static String readLine(InputStream input) throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = input.read()) != -1) {
+                if (b == '\n') {
+                    byte[] bytes = line.toByteArray();
+                    int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+                    return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+                }
+                line.write(b);
+            }
+            return line.size() == 0 ? null : line.toString(StandardCharsets.ISO_8859_1);
+        }
+
+        private static byte[] readFully(InputStream input, int length) throws IOException {
+            byte[] data = new byte[length];
+            int offset = 0;
+            while (offset < length) {
+                int read = input.read(data, offset, length - offset);
+                if (read == -1) {
+                    throw new EOFException("Request body truncated");
+                }
+                offset += read;
+            }
+            return data;
+        }
+
+        private static byte[] readChunked(InputStream input) throws IOException {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            while (true) {
+                String sizeLine = readLine(input);
+                if (sizeLine == null) {
+                    throw new EOFException("Chunked body truncated");
+                }
+                int size = Integer.parseInt(sizeLine.split(";")[0].trim(), 16);
+                if (size == 0) {
+                    String trailer;
+                    while ((trailer = readLine(input)) != null && !trailer.isEmpty()) {
+                        // Skip trailers
+                    }
+                    return body.toByteArray();
+                }
+                body.write(readFully(input, size));
+                readLine(input);
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Aggregates WebDriver command latencies recorded by {@link CommandTimingListener}:
+ * a histogram per command, locator and page, and round trips per test
+ */
+public class CommandMetrics {
+    private static final Logger logger = LogManager.getLogger(CommandMetrics.class);
+    private static final CommandMetrics instance = new CommandMetrics();
+
+    private final Map<CommandKey, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, TestCommandStats> testStats = new ConcurrentHashMap<>();
+
+    private static final class CommandKey {
+        private final String command;
+        private final String locator;
+        private final String page;
+
+        CommandKey(String command, String locator, String page) {
+            this.command = command;
+            this.locator = locator;
+            this.page = page;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof CommandKey)) {
+                return false;
+            }
+            CommandKey key = (CommandKey) other;
+            return command.equals(key.command) && locator.equals(key.locator) && page.equals(key.page);
+        }
+
+        @Override
+        public int hashCode() {
+            return (command.hashCode() * 31 + locator.hashCode()) * 31 + page.hashCode();
+        }
+    }
+
+    /**
+     * Round trips and per-command time of a single test
+     */
+    public static class TestCommandStats {
+        private final AtomicLong roundTrips = new AtomicLong();
+        private final AtomicLong totalMicros = new AtomicLong();
+        private final Map<String, LatencyHistogram> byCommand = new ConcurrentHashMap<>();
+
+        void record(String command, long micros) {
+            roundTrips.incrementAndGet();
+            totalMicros.addAndGet(micros);
+            byCommand.computeIfAbsent(command, key -> new LatencyHistogram()).record(micros);
+        }
+
+        public long getRoundTrips() {
+            return roundTrips.get();
+        }
+
+        public double getTotalMillis() {
+            return totalMicros.get() / 1000.0;
+        }
+
+        /**
+         * Convert to a report map
+         * @return Round trips, total command time and per-command breakdown sorted by time
+         */
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("roundTrips", getRoundTrips());
+            map.put("commandMillis", Math.round(getTotalMillis()));
+            Map<String, Object> commands = new LinkedHashMap<>();
+            byCommand.entrySet().stream()
+                .sorted(Comparator.comparingDouble(
+                    (Map.Entry<String, LatencyHistogram> entry) -> entry.getValue().getTotalMillis()).reversed())
+                .forEach(entry -> {
+                    Map<String, Object> command = new LinkedHashMap<>();
+                    command.put("count", entry.getValue().getCount());
+                    command.put("totalMillis", Math.round(entry.getValue().getTotalMillis()));
+                    commands.put(entry.getKey(), command);
+                });
+            map.put("commands", commands);
+            return map;
+        }
+    }
+
+    private CommandMetrics() {
+    }
+
+    /**
+     * Get the shared command metrics
+     * @return Command metrics
+     */
+    public static CommandMetrics getInstance() {
+        return instance;
+    }
+
+    /**
+     * Record one WebDriver command for the current test and page
+     * @param command Command name, e.g. "WebElement.click"
+     * @param locator Locator the command targeted, or "-"
+     * @param micros Latency in microseconds
+     */
+    public void record(String command, String locator, long micros) {
+        histograms.computeIfAbsent(new CommandKey(command, locator, TestContext.getPage()),
+            key -> new LatencyHistogram()).record(micros);
+        testStats.computeIfAbsent(TestContext.getTestKey(), key -> new TestCommandStats()).record(command, micros);
+    }
+
+    /**
+     * Get command statistics of a test on one browser, summed over its invocations
+     * @param testKey Test key, see {@link TestContext#getTestKey()}
+     * @return Statistics, or null if the test issued no commands
+     */
+    public TestCommandStats getTestStats(String testKey) {
+        return testStats.get(testKey);
+    }
+
+    /**
+     * Build the suite report: the slowest commands by total time and the per-test breakdown
+     * @param topN Number of commands to include
+     * @return Report data
+     */
+    public Map<String, Object> toReport(int topN) {
+        List<Map<String, Object>> slowest = new ArrayList<>();
+        histograms.entrySet().stream()
+            .sorted(Comparator.comparingDouble(
+                (Map.Entry<CommandKey, LatencyHistogram> entry) -> entry.getValue().getTotalMillis()).reversed())
+            .limit(topN)
+            .forEach(entry -> {
+                Map<String, Object> command = new LinkedHashMap<>();
+                command.put("command", entry.getKey().command);
+                command.put("locator", entry.getKey().locator);
+                command.put("page", entry.getKey().page);
+                command.putAll(entry.getValue().toMap());
+                slowest.add(command);
+            });
+
+        Map<String, Object> tests = new LinkedHashMap<>();
+        testStats.forEach((testKey, stats) -> tests.put(testKey, stats.toMap()));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("slowestCommands", slowest);
+        report.put("tests", tests);
+        return report;
+    }
+
+    /**
+     * Log the slowest commands and per-test round trips, and write command-latency.json
+     * @param topN Number of commands to include
+     */
+    @SuppressWarnings("unchecked")
+    public void writeReport(int topN) {
+        if (histograms.isEmpty()) {
+            return;
+        }
+        Map<String, Object> report = toReport(topN);
+        logger.info("Top {} slowest WebDriver commands by total time:", topN);
+        for (Map<String, Object> command : (List<Map<String, Object>>) report.get("slowestCommands")) {
+            logger.info("  {} {} on {} - count={}, total={} ms, p95={} ms, max={} ms", command.get("command"),
+                command.get("locator"), command.get("page"), command.get("count"), command.get("totalMillis"),
+                command.get("p95Millis"), command.get("maxMillis"));
+        }
+        testStats.forEach((testKey, stats) -> logger.info("  {} - {} round trips, {} ms in WebDriver commands",
+            testKey, stats.getRoundTrips(), Math.round(stats.getTotalMillis())));
+        ReportWriter.writeJson("command-latency.json", report);
+    }
+}
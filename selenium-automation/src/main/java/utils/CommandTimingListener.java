@@ -0,0 +1,172 @@
+package utils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * WebDriver listener that times every command issued through a decorated driver and
+ * records it in {@link CommandMetrics} and the {@link FlightRecorder}. Element commands are
+ * attributed to the locator the element was found by, and element lookups are handed to the
+ * {@link LocatorProfiler}.
+ */
+public class CommandTimingListener implements WebDriverListener {
+    // No-argument calls answered by the client without a round trip to the driver
+    private static final Set<String> LOCAL_METHODS = new HashSet<>(Arrays.asList(
+        "manage", "navigate", "switchTo", "timeouts", "window", "getWrappedDriver", "getWrappedElement",
+        "toString", "hashCode", "getId", "getCoordinates", "getSessionId", "getCapabilities"));
+    private static final int SCRIPT_LABEL_LENGTH = 60;
+
+    private final boolean recordMetrics = ConfigReader.isCommandMetricsEnabled();
+    private final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+    private final Map<Object, String> elementLocators = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (!isLocal(method)) {
+            startTimes.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        if (isLocal(method)) {
+            return;
+        }
+        long micros = elapsedMicros();
+        if (micros < 0) {
+            return;
+        }
+        String command = commandName(target, method);
+        String locator = describeTarget(target, args);
+        rememberLocators(args, result);
+        if (recordMetrics) {
+            CommandMetrics.getInstance().record(command, locator, micros);
+        }
+        FlightRecorder.getInstance().recordCommand(command, locator, micros);
+        profileLookup(target, method, args, result instanceof List && ((List<?>) result).isEmpty());
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        if (isLocal(method)) {
+            return;
+        }
+        long micros = elapsedMicros();
+        if (micros >= 0) {
+            String command = commandName(target, method);
+            String locator = describeTarget(target, args);
+            if (recordMetrics) {
+                CommandMetrics.getInstance().record(command + " (error)", locator, micros);
+            }
+            FlightRecorder.getInstance().recordError(command, locator, micros, e.getCause());
+        }
+        profileLookup(target, method, args, true);
+    }
+
+    private static void profileLookup(Object target, Method method, Object[] args, boolean failed) {
+        By by = findLocator(args);
+        if (by != null && method.getName().startsWith("findElement")) {
+            LocatorProfiler.getInstance().recordLookup(target, by, failed);
+        }
+    }
+
+    private static boolean isLocal(Method method) {
+        return method.getParameterCount() == 0 ? LOCAL_METHODS.contains(method.getName())
+            : method.getName().equals("equals");
+    }
+
+    private long elapsedMicros() {
+        Long start = startTimes.get().poll();
+        return start == null ? -1 : (System.nanoTime() - start) / 1000;
+    }
+
+    private void rememberLocators(Object[] args, Object result) {
+        By by = findLocator(args);
+        if (by == null) {
+            return;
+        }
+        if (result instanceof WebElement) {
+            elementLocators.put(unwrap(result), by.toString());
+        } else if (result instanceof List) {
+            for (Object element : (List<?>) result) {
+                elementLocators.put(unwrap(element), by.toString());
+            }
+        }
+    }
+
+    private String describeTarget(Object target, Object[] args) {
+        By by = findLocator(args);
+        if (by != null) {
+            return by.toString();
+        }
+        if (target instanceof WebElement) {
+            String locator = elementLocators.get(unwrap(target));
+            return locator != null ? locator : "element";
+        }
+        if (target instanceof WebDriver && args != null && args.length > 0 && args[0] instanceof String) {
+            return describeScript((String) args[0]);
+        }
+        return "-";
+    }
+
+    // Results are handed over decorated while later calls target the original element
+    private static Object unwrap(Object element) {
+        return element instanceof WrapsElement ? ((WrapsElement) element).getWrappedElement() : element;
+    }
+
+    private static By findLocator(Object[] args) {
+        if (args != null) {
+            for (Object arg : args) {
+                if (arg instanceof By) {
+                    return (By) arg;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String describeScript(String script) {
+        String firstLine = script.trim().split("\n", 2)[0].trim();
+        return firstLine.length() > SCRIPT_LABEL_LENGTH ? firstLine.substring(0, SCRIPT_LABEL_LENGTH) + "..." : firstLine;
+    }
+
+    private static String commandName(Object target, Method method) {
+        String type;
+        if (target instanceof WebElement) {
+            type = "WebElement";
+        } else if (target instanceof WebDriver) {
+            type = "WebDriver";
+        } else if (target instanceof WebDriver.Navigation) {
+            type = "Navigation";
+        } else if (target instanceof WebDriver.Window) {
+            type = "Window";
+        } else if (target instanceof WebDriver.Timeouts) {
+            type = "Timeouts";
+        } else if (target instanceof WebDriver.Options) {
+            type = "Options";
+        } else if (target instanceof WebDriver.TargetLocator) {
+            type = "TargetLocator";
+        } else if (target instanceof Alert) {
+            type = "Alert";
+        } else {
+            type = method.getDeclaringClass().getSimpleName();
+        }
+        return type + "." + method.getName();
+    }
+}
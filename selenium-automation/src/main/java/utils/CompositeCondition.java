@@ -0,0 +1,256 @@
+package utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+/**
+ * All-of / any-of wait condition over locators, URL, title, element text and selected option.
+ * Every sub-condition is evaluated by a single browser-side script per poll; see
+ * {@link WaitUtils#waitForComposite(CompositeCondition)}.
+ */
+public class CompositeCondition {
+
+    /**
+     * How sub-conditions are combined
+     */
+    public enum Mode {
+        ALL_OF, ANY_OF
+    }
+
+    private final Mode mode;
+    private final List<Map<String, Object>> conditions = new ArrayList<>();
+    private final Map<String, String> descriptions = new LinkedHashMap<>();
+    private Duration timeout;
+
+    private CompositeCondition(Mode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Create a condition that holds once every sub-condition holds
+     * @return Empty all-of condition
+     */
+    public static CompositeCondition allOf() {
+        return new CompositeCondition(Mode.ALL_OF);
+    }
+
+    /**
+     * Create a condition that holds once any sub-condition holds
+     * @return Empty any-of condition
+     */
+    public static CompositeCondition anyOf() {
+        return new CompositeCondition(Mode.ANY_OF);
+    }
+
+    /**
+     * Element is present in the DOM
+     * @param label Sub-condition label
+     * @param locator Element locator
+     * @return This condition
+     */
+    public CompositeCondition present(String label, By locator) {
+        return add(label, "present", locator, null);
+    }
+
+    /**
+     * Element is visible
+     * @param label Sub-condition label
+     * @param locator Element locator
+     * @return This condition
+     */
+    public CompositeCondition visible(String label, By locator) {
+        return add(label, "visible", locator, null);
+    }
+
+    /**
+     * Element is visible and enabled
+     * @param label Sub-condition label
+     * @param locator Element locator
+     * @return This condition
+     */
+    public CompositeCondition clickable(String label, By locator) {
+        return add(label, "clickable", locator, null);
+    }
+
+    /**
+     * Element text contains the given text (case-insensitive)
+     * @param label Sub-condition label
+     * @param locator Element locator
+     * @param text Expected text
+     * @return This condition
+     */
+    public CompositeCondition textContains(String label, By locator, String text) {
+        return add(label, "text", locator, text);
+    }
+
+    /**
+     * Selected option of a select element contains the given text (case-insensitive)
+     * @param label Sub-condition label
+     * @param locator Select element locator
+     * @param text Expected option text
+     * @return This condition
+     */
+    public CompositeCondition selectedOptionContains(String label, By locator, String text) {
+        return add(label, "selectedOption", locator, text);
+    }
+
+    /**
+     * Current URL contains the given text (case-insensitive)
+     * @param label Sub-condition label
+     * @param fragment Expected URL fragment
+     * @return This condition
+     */
+    public CompositeCondition urlContains(String label, String fragment) {
+        return add(label, "urlContains", null, fragment);
+    }
+
+    /**
+     * Page title contains the given text (case-insensitive)
+     * @param label Sub-condition label
+     * @param title Expected title text
+     * @return This condition
+     */
+    public CompositeCondition titleContains(String label, String title) {
+        return add(label, "titleContains", null, title);
+    }
+
+    /**
+     * Override the explicit wait timeout for this condition
+     * @param timeout Maximum time to wait
+     * @return This condition
+     */
+    public CompositeCondition withTimeout(Duration timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Check if the given resolved labels satisfy this condition
+     * @param met Labels of the sub-conditions that hold
+     * @return true if the composite condition holds
+     */
+    public boolean isSatisfiedBy(List<String> met) {
+        return mode == Mode.ALL_OF ? met.containsAll(descriptions.keySet()) : !met.isEmpty();
+    }
+
+    /**
+     * Build the script argument describing all sub-conditions
+     * @return Script specification
+     */
+    Map<String, Object> toScriptSpec() {
+        Map<String, Object> spec = new LinkedHashMap<>();
+        spec.put("conditions", conditions);
+        return spec;
+    }
+
+    @Override
+    public String toString() {
+        List<String> parts = new ArrayList<>();
+        descriptions.forEach((label, description) -> parts.add(label + "=" + description));
+        return (mode == Mode.ALL_OF ? "allOf" : "anyOf") + parts;
+    }
+
+    private CompositeCondition add(String label, String type, By locator, String text) {
+        if (descriptions.containsKey(label)) {
+            throw new IllegalArgumentException("Duplicate composite condition label: " + label);
+        }
+        Map<String, Object> locatorSpec = null;
+        if (locator != null) {
+            locatorSpec = ElementProbe.toScriptSpec(locator);
+            if (locatorSpec == null) {
+                throw new IllegalArgumentException("Locator cannot be evaluated in the browser: " + locator);
+            }
+        }
+        Map<String, Object> condition = new LinkedHashMap<>();
+        condition.put("label", label);
+        condition.put("type", type);
+        condition.put("locator", locatorSpec);
+        condition.put("text", text);
+        conditions.add(condition);
+        descriptions.put(label, type + "(" + (locator != null ? locator + (text != null ? ", " : "") : "")
+            + (text != null ? "'" + text + "'" : "") + ")");
+        return this;
+    }
+
+    /**
+     * Outcome of a composite wait
+     */
+    public static class Result {
+        private final boolean satisfied;
+        private final List<String> met;
+        private final Map<String, WebElement> elements;
+        private final long elapsedMillis;
+        private final int polls;
+
+        Result(boolean satisfied, List<String> met, Map<String, WebElement> elements, long elapsedMillis, int polls) {
+            this.satisfied = satisfied;
+            this.met = Collections.unmodifiableList(met);
+            this.elements = Collections.unmodifiableMap(elements);
+            this.elapsedMillis = elapsedMillis;
+            this.polls = polls;
+        }
+
+        /**
+         * Check if the composite condition held before the timeout
+         * @return true if satisfied
+         */
+        public boolean isSatisfied() {
+            return satisfied;
+        }
+
+        /**
+         * Get labels of the sub-conditions that held at the last poll
+         * @return Resolved labels in declaration order
+         */
+        public List<String> getMet() {
+            return met;
+        }
+
+        /**
+         * Check if a sub-condition held at the last poll
+         * @param label Sub-condition label
+         * @return true if resolved
+         */
+        public boolean isMet(String label) {
+            return met.contains(label);
+        }
+
+        /**
+         * Get the element matched by a locator sub-condition
+         * @param label Sub-condition label
+         * @return Matched element, or null if not resolved or not an element condition
+         */
+        public WebElement getElement(String label) {
+            return elements.get(label);
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public int getPolls() {
+            return polls;
+        }
+
+        @Override
+        public String toString() {
+            return "Result{satisfied=" + satisfied + ", met=" + met + ", polls=" + polls
+                + ", elapsedMillis=" + elapsedMillis + "}";
+        }
+    }
+}
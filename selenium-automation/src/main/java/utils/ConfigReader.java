@@ -2,10 +2,16 @@ package utils;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
+import java.util.stream.Collectors;
 
 /**
- * Configuration reader utility class to read properties from config.properties file
+ * Configuration reader utility class to read properties from config.properties file.
+ * A system property of the same name, e.g. -Ddriver.pool.size=0, overrides any key.
  */
 public class ConfigReader {
     private static Properties properties;
@@ -30,22 +36,22 @@ public class ConfigReader {
     }
 
     /**
-     * Get property value by key
+     * Get property value by key, from the system properties first
      * @param key Property key
      * @return Property value
      */
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        return System.getProperty(key, properties.getProperty(key));
     }
 
     /**
-     * Get property value by key with default value
+     * Get property value by key with default value, from the system properties first
      * @param key Property key
      * @param defaultValue Default value if key not found
      * @return Property value or default value
      */
     public static String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        return System.getProperty(key, properties.getProperty(key, defaultValue));
     }
 
     /**
@@ -88,6 +94,14 @@ public class ConfigReader {
         return Integer.parseInt(getProperty("explicit.wait", "20"));
     }
 
+    /**
+     * Get wait engine (observer resolves waits in the browser, polling uses WebDriverWait)
+     * @return Wait engine name
+     */
+    public static String getWaitEngine() {
+        return getProperty("wait.engine", "observer");
+    }
+
     /**
      * Check if screenshot on failure is enabled
      * @return true if screenshot on failure is enabled
@@ -103,4 +117,556 @@ public class ConfigReader {
     public static String getScreenshotPath() {
         return getProperty("screenshot.path", "test-output/screenshots/");
     }
+
+    /**
+     * Get screenshot file format
+     * @return Screenshot format (png/jpg)
+     */
+    public static String getScreenshotFormat() {
+        return getProperty("screenshot.format", "jpg");
+    }
+
+    /**
+     * Get JPEG quality used when screenshots are compressed
+     * @return JPEG quality between 0 and 1
+     */
+    public static float getScreenshotJpegQuality() {
+        return Float.parseFloat(getProperty("screenshot.jpeg.quality", "0.8"));
+    }
+
+    /**
+     * Get capacity of the background artifact writer queue
+     * @return Queue capacity
+     */
+    public static int getArtifactQueueCapacity() {
+        return Integer.parseInt(getProperty("artifact.queue.capacity", "32"));
+    }
+
+    /**
+     * Get WebDriver binary resolution mode
+     * @return Resolution mode (auto/cached/offline)
+     */
+    public static DriverBinaryResolver.Mode getDriverResolutionMode() {
+        return DriverBinaryResolver.Mode.valueOf(getProperty("driver.resolution", "cached").trim().toUpperCase());
+    }
+
+    /**
+     * Get pinned local driver path used in offline mode
+     * @param browser Browser name (chrome/firefox)
+     * @return Driver path or null if not configured
+     */
+    public static String getPinnedDriverPath(String browser) {
+        return getProperty("driver." + browser + ".path");
+    }
+
+    /**
+     * Get machine-wide driver cache file
+     * @return Driver cache file path
+     */
+    public static Path getDriverCacheFile() {
+        String defaultPath = Paths.get(System.getProperty("user.home"), ".cache", "insider-automation",
+            "driver-cache.properties").toString();
+        return Paths.get(getProperty("driver.cache.file", defaultPath));
+    }
+
+    /**
+     * Get how long a cached driver binary is trusted before re-resolving
+     * @return Cache time-to-live in hours
+     */
+    public static int getDriverCacheTtlHours() {
+        return Integer.parseInt(getProperty("driver.cache.ttl.hours", "24"));
+    }
+
+    /**
+     * Get property value as a trimmed comma separated list
+     * @param key Property key
+     * @return List of values, empty if key not found
+     */
+    public static List<String> getListProperty(String key) {
+        String value = getProperty(key, "");
+        return Arrays.stream(value.split(","))
+            .map(String::trim)
+            .filter(item -> !item.isEmpty())
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Get report output path
+     * @return Report path
+     */
+    public static String getReportPath() {
+        return getProperty("report.path", "test-output/reports/");
+    }
+
+    /**
+     * Check if third-party request blocking is enabled
+     * @return true if request blocking is enabled
+     */
+    public static boolean isRequestBlockingEnabled() {
+        return Boolean.parseBoolean(getProperty("request.blocking.enabled", "false"));
+    }
+
+    /**
+     * Get URL patterns to block (DevTools wildcard syntax)
+     * @return Blocked URL patterns
+     */
+    public static List<String> getBlockedUrlPatterns() {
+        return getListProperty("request.blocking.url.patterns");
+    }
+
+    /**
+     * Get resource types to block (DevTools resource type names such as Font, Media, Image)
+     * @return Blocked resource types
+     */
+    public static List<String> getBlockedResourceTypes() {
+        return getListProperty("request.blocking.resource.types");
+    }
+
+    /**
+     * Get record/replay proxy mode
+     * @return Proxy mode (off/record/replay/replay_or_record)
+     */
+    public static CachingProxy.Mode getProxyMode() {
+        return CachingProxy.Mode.valueOf(getProperty("proxy.mode", "off").trim().toUpperCase());
+    }
+
+    /**
+     * Get record/replay proxy port
+     * @return Proxy port, 0 for any free port
+     */
+    public static int getProxyPort() {
+        return Integer.parseInt(getProperty("proxy.port", "0"));
+    }
+
+    /**
+     * Get directory of the recorded response store
+     * @return Proxy cache path
+     */
+    public static String getProxyCachePath() {
+        return getProperty("proxy.cache.path", ".proxy-cache/");
+    }
+
+    /**
+     * Get query parameters ignored when matching recorded responses (cache busters, timestamps)
+     * @return Ignored query parameter names
+     */
+    public static List<String> getProxyIgnoredParams() {
+        return getListProperty("proxy.ignore.params");
+    }
+
+    /**
+     * Check if WebDriver command latency instrumentation is enabled
+     * @return true if drivers are wrapped with the command timing listener
+     */
+    public static boolean isCommandMetricsEnabled() {
+        return Boolean.parseBoolean(getProperty("metrics.commands.enabled", "true"));
+    }
+
+    /**
+     * Get number of slowest commands to include in the command latency report
+     * @return Number of commands
+     */
+    public static int getCommandMetricsTopN() {
+        return Integer.parseInt(getProperty("metrics.commands.top", "15"));
+    }
+
+    /**
+     * Check if page performance collection is enabled
+     * @return true if Navigation Timing and Web Vitals are collected after navigations
+     */
+    public static boolean isPerformanceCollectionEnabled() {
+        return Boolean.parseBoolean(getProperty("performance.collect.enabled", "true"));
+    }
+
+    /**
+     * Check if performance budget violations fail the test
+     * @return true if budgets are enforced
+     */
+    public static boolean isPerformanceBudgetEnforced() {
+        return Boolean.parseBoolean(getProperty("performance.budget.enforce", "false"));
+    }
+
+    /**
+     * Get absolute budget of a page performance metric
+     * @param metric Metric name, e.g. lcpMs or cls
+     * @return Budget, or null if the metric has no budget
+     */
+    public static Double getPerformanceBudget(String metric) {
+        String value = getProperty("performance.budget." + metric);
+        return value == null || value.trim().isEmpty() ? null : Double.valueOf(value.trim());
+    }
+
+    /**
+     * Get allowed regression of timing metrics over the baseline
+     * @return Regression limit in percent
+     */
+    public static double getPerformanceRegressionPercent() {
+        return Double.parseDouble(getProperty("performance.regression.percent", "50"));
+    }
+
+    /**
+     * Get minimum absolute regression of a timing metric before it counts as a violation
+     * @return Minimum delta in milliseconds
+     */
+    public static double getPerformanceRegressionMinDeltaMs() {
+        return Double.parseDouble(getProperty("performance.regression.min.delta.ms", "250"));
+    }
+
+    /**
+     * Get performance baseline file
+     * @return Baseline file path
+     */
+    public static String getPerformanceBaselineFile() {
+        return getProperty("performance.baseline.file", "performance-baseline.json");
+    }
+
+    /**
+     * Check if this run should overwrite the performance baseline
+     * @return true if the baseline is updated at suite end
+     */
+    public static boolean isPerformanceBaselineUpdate() {
+        return Boolean.parseBoolean(getProperty("performance.baseline.update", "false"));
+    }
+
+    /**
+     * Get directory keeping the page performance samples of every run
+     * @return Performance history path
+     */
+    public static String getPerformanceHistoryPath() {
+        return getProperty("performance.history.path", "test-output/performance/");
+    }
+
+    /**
+     * Check if consent and popup state is captured and restored into new drivers
+     * @return true if session state reuse is enabled
+     */
+    public static boolean isSessionStateReuseEnabled() {
+        return Boolean.parseBoolean(getProperty("session.state.reuse", "false"));
+    }
+
+    /**
+     * Get the cheap same-origin path loaded to restore session state without DevTools
+     * @return Path relative to the captured origin
+     */
+    public static String getSessionStateRestorePath() {
+        return getProperty("session.state.restore.path", "/robots.txt");
+    }
+
+    /**
+     * Check if sessions start from a prepared browser profile template
+     * @return true if profile templates are enabled
+     */
+    public static boolean isProfileTemplateEnabled() {
+        return Boolean.parseBoolean(getProperty("profile.template.enabled", "false"));
+    }
+
+    /**
+     * Get the directory holding profile templates and per-session profile copies
+     * @return Profile template directory
+     */
+    public static String getProfileTemplatePath() {
+        return getProperty("profile.template.path", ".browser-profiles/");
+    }
+
+    /**
+     * Get the age after which a profile template is seeded again
+     * @return Template time to live in hours
+     */
+    public static long getProfileTemplateTtlHours() {
+        return Long.parseLong(getProperty("profile.template.ttl.hours", "24"));
+    }
+
+    /**
+     * Get the number of sessions pre-launched per browser at suite start
+     * @return Pool size per browser, 0 disables pre-launching
+     */
+    public static int getDriverPoolSize() {
+        return Integer.parseInt(getProperty("driver.pool.size", "0"));
+    }
+
+    /**
+     * Get the number of background threads launching pooled sessions
+     * @return Launch thread count
+     */
+    public static int getDriverPoolThreads() {
+        return Integer.parseInt(getProperty("driver.pool.threads", "2"));
+    }
+
+    /**
+     * Check if a replacement session is launched whenever a test takes one from the pool
+     * @return true if the pool is refilled
+     */
+    public static boolean isDriverPoolRefill() {
+        return Boolean.parseBoolean(getProperty("driver.pool.refill", "false"));
+    }
+
+    /**
+     * Check if pooled sessions load the base URL once while waiting for a test
+     * @return true if pooled sessions navigate to the base URL
+     */
+    public static boolean isDriverPoolWarmupNavigation() {
+        return Boolean.parseBoolean(getProperty("driver.pool.warmup.navigate", "true"));
+    }
+
+    /**
+     * Get how long suite teardown waits for an in-flight pooled launch before giving up on it
+     * @return Timeout in seconds
+     */
+    public static long getDriverPoolShutdownTimeoutSeconds() {
+        return Long.parseLong(getProperty("driver.pool.shutdown.timeout.seconds", "60"));
+    }
+
+    /**
+     * Check if memory and CPU of driver process trees are sampled
+     * @return true if resource monitoring is enabled
+     */
+    public static boolean isResourceMonitorEnabled() {
+        return Boolean.parseBoolean(getProperty("resource.monitor.enabled", "false"));
+    }
+
+    /**
+     * Get the interval between resource samples
+     * @return Sample interval in milliseconds
+     */
+    public static long getResourceMonitorIntervalMillis() {
+        return Long.parseLong(getProperty("resource.monitor.interval.ms", "2000"));
+    }
+
+    /**
+     * Get the RSS of a driver process tree above which the driver is recycled between tests
+     * @return Threshold in megabytes, 0 disables recycling
+     */
+    public static long getResourceRecycleRssMb() {
+        return Long.parseLong(getProperty("resource.recycle.rss.mb", "2048"));
+    }
+
+    /**
+     * Get the number of tab-multiplexed tests one shared browser runs concurrently
+     * @return Maximum tabs per shared browser
+     */
+    public static int getTabMultiplexMaxTabs() {
+        return Integer.parseInt(getProperty("tab.multiplex.max.tabs", "4"));
+    }
+
+    /**
+     * Get the job counts the job list scaling benchmark renders
+     * @return Job counts in ascending order
+     */
+    public static List<Integer> getFixtureScalingJobCounts() {
+        return Arrays.stream(getProperty("fixture.scaling.job.counts", "10,100,1000,5000").split(","))
+            .map(String::trim)
+            .filter(item -> !item.isEmpty())
+            .map(Integer::parseInt)
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Get the highest growth exponent of page-object cost over job count the benchmark accepts
+     * @return Maximum exponent, 1 is linear and 2 quadratic
+     */
+    public static double getFixtureScalingMaxExponent() {
+        return Double.parseDouble(getProperty("fixture.scaling.max.exponent", "1.5"));
+    }
+
+    /**
+     * Get the number of job cards read per script call when streaming through the job list
+     * @return Batch size
+     */
+    public static int getJobStreamBatchSize() {
+        return Integer.parseInt(getProperty("job.stream.batch.size", "50"));
+    }
+
+    /**
+     * Get how long the job list may stay unchanged after a page or scroll load before it is
+     * considered exhausted
+     * @return Idle timeout in milliseconds
+     */
+    public static long getJobStreamIdleTimeoutMillis() {
+        return Long.parseLong(getProperty("job.stream.idle.timeout.ms", "750"));
+    }
+
+    /**
+     * Get how often an element action is attempted before its failure is thrown
+     * @return Maximum attempts including the first one
+     */
+    public static int getActionRetryMaxAttempts() {
+        return Integer.parseInt(getProperty("action.retry.max.attempts", "3"));
+    }
+
+    /**
+     * Get the time an element action may spend on retries
+     * @return Retry budget in milliseconds
+     */
+    public static long getActionRetryBudgetMillis() {
+        return Long.parseLong(getProperty("action.retry.budget.ms", "3000"));
+    }
+
+    /**
+     * Get the pause before a retry, multiplied by the number of the failed attempt
+     * @return Backoff in milliseconds
+     */
+    public static long getActionRetryBackoffMillis() {
+        return Long.parseLong(getProperty("action.retry.backoff.ms", "100"));
+    }
+
+    /**
+     * Check if the last attempt of an intercepted click is dispatched by script
+     * @return true if script clicks are allowed
+     */
+    public static boolean isActionScriptClickEnabled() {
+        return Boolean.parseBoolean(getProperty("action.retry.script.click", "true"));
+    }
+
+    /**
+     * Check if the page script helper bundle is preloaded into new documents through DevTools
+     * @return true if the bundle is preloaded
+     */
+    public static boolean isPageScriptsPreloadEnabled() {
+        return Boolean.parseBoolean(getProperty("page.scripts.preload", "true"));
+    }
+
+    /**
+     * Get which per-test log files are kept after their test finished
+     * @return failed or all
+     */
+    public static String getPerTestLogKeep() {
+        return getProperty("logging.per.test.keep", "failed");
+    }
+
+    /**
+     * Check if the last steps of each test are recorded and written on failure
+     * @return true if the flight recorder is enabled
+     */
+    public static boolean isFlightRecorderEnabled() {
+        return Boolean.parseBoolean(getProperty("flight.recorder.enabled", "false"));
+    }
+
+    /**
+     * Get how many steps per test the flight recorder keeps
+     * @return Ring buffer capacity
+     */
+    public static int getFlightRecorderSteps() {
+        return Integer.parseInt(getProperty("flight.recorder.steps", "25"));
+    }
+
+    /**
+     * Check if the flight recorder hashes the DOM after every action step
+     * @return true to record URL, title and DOM hash, false to record the URL only
+     */
+    public static boolean isFlightRecorderDomHashEnabled() {
+        return Boolean.parseBoolean(getProperty("flight.recorder.dom.hash", "true"));
+    }
+
+    /**
+     * Check if the flight recorder takes a screenshot after every action step
+     * @return true if step screenshots are taken
+     */
+    public static boolean isFlightRecorderScreenshotEnabled() {
+        return Boolean.parseBoolean(getProperty("flight.recorder.screenshots", "false"));
+    }
+
+    /**
+     * Get the width step screenshots are downscaled to when written
+     * @return Width in pixels, 0 to keep the original size
+     */
+    public static int getFlightRecorderScreenshotWidth() {
+        return Integer.parseInt(getProperty("flight.recorder.screenshot.width", "480"));
+    }
+
+    /**
+     * Get the directory flight recordings of failed tests are written to
+     * @return Flight recorder path
+     */
+    public static String getFlightRecorderPath() {
+        return getProperty("flight.recorder.path", "test-output/flight-recorder/");
+    }
+
+    /**
+     * Get how explicit-wait timeouts are tuned from observed wait durations
+     * @return off, record (store durations only) or tune (store durations and apply tuned timeouts)
+     */
+    public static String getWaitTuningMode() {
+        return getProperty("wait.tuning.mode", "record");
+    }
+
+    /**
+     * Get the file wait durations are stored in across runs
+     * @return Wait timings file
+     */
+    public static String getWaitTuningFile() {
+        return getProperty("wait.tuning.file", ".wait-timings/wait-timings.json");
+    }
+
+    /**
+     * Get how many samples a wait condition needs before its timeout is tuned
+     * @return Minimum samples
+     */
+    public static int getWaitTuningMinSamples() {
+        return Integer.parseInt(getProperty("wait.tuning.min.samples", "30"));
+    }
+
+    /**
+     * Get how many of the most recent samples are kept per wait condition
+     * @return Maximum samples
+     */
+    public static int getWaitTuningMaxSamples() {
+        return Integer.parseInt(getProperty("wait.tuning.samples.max", "1000"));
+    }
+
+    /**
+     * Get the percentile of observed wait durations a tuned timeout is based on
+     * @return Percentile between 0 and 100
+     */
+    public static double getWaitTuningPercentile() {
+        return Double.parseDouble(getProperty("wait.tuning.percentile", "99.9"));
+    }
+
+    /**
+     * Get the safety factor applied to the percentile duration
+     * @return Safety factor
+     */
+    public static double getWaitTuningFactor() {
+        return Double.parseDouble(getProperty("wait.tuning.factor", "3"));
+    }
+
+    /**
+     * Get the lowest timeout tuning may set
+     * @return Minimum tuned timeout in milliseconds
+     */
+    public static long getWaitTuningFloorMillis() {
+        return Long.parseLong(getProperty("wait.tuning.floor.ms", "2000"));
+    }
+
+    /**
+     * Check if element lookups are profiled inside the browser
+     * @return true if the locator profiler is enabled
+     */
+    public static boolean isLocatorProfilerEnabled() {
+        return Boolean.parseBoolean(getProperty("locator.profiler.enabled", "false"));
+    }
+
+    /**
+     * Get how many lookups of each locator per page object are profiled
+     * @return Profiles per locator
+     */
+    public static int getLocatorProfilerSamples() {
+        return Integer.parseInt(getProperty("locator.profiler.samples", "3"));
+    }
+
+    /**
+     * Get how long one profile repeats the locator's evaluation
+     * @return Time budget in milliseconds
+     */
+    public static int getLocatorProfilerBudgetMillis() {
+        return Integer.parseInt(getProperty("locator.profiler.budget.ms", "5"));
+    }
+
+    /**
+     * Get how many of the slowest locators are logged at suite end
+     * @return Number of locators
+     */
+    public static int getLocatorProfilerTopN() {
+        return Integer.parseInt(getProperty("locator.profiler.top", "15"));
+    }
 }
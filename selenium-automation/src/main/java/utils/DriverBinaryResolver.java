@@ -0,0 +1,264 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+/**
+ * Resolves WebDriver binaries once per JVM, backed by a verified on-disk cache per machine and
+ * installed browser major version. Supports an offline mode that only uses pinned local driver paths.
+ */
+public class DriverBinaryResolver {
+    private static final Logger logger = LogManager.getLogger(DriverBinaryResolver.class);
+    private static final Pattern VERSION_PATTERN = Pattern.compile("(\\d+)\\.\\d+");
+    private static final long VERSION_COMMAND_TIMEOUT_SECONDS = 10;
+    private static final Map<String, FutureTask<ResolvedDriver>> resolvedDrivers = new ConcurrentHashMap<>();
+
+    /**
+     * Resolution modes, configured with driver.resolution
+     */
+    public enum Mode {
+        /** Resolve with WebDriverManager once per JVM */
+        AUTO,
+        /** Reuse a hash-verified binary recorded in the machine cache for the installed browser version, resolving only on a miss */
+        CACHED,
+        /** Never touch the network, use the pinned driver path */
+        OFFLINE
+    }
+
+    /**
+     * Resolved driver binary and how it was obtained
+     */
+    public static class ResolvedDriver {
+        private final String browser;
+        private final Path path;
+        private final String source;
+
+        ResolvedDriver(String browser, Path path, String source) {
+            this.browser = browser;
+            this.path = path;
+            this.source = source;
+        }
+
+        public String getBrowser() {
+            return browser;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public String getSource() {
+            return source;
+        }
+    }
+
+    private DriverBinaryResolver() {
+    }
+
+    /**
+     * Resolve the driver binary for a browser. The first call per browser does the work outside
+     * the memo map, so resolving one browser never blocks another; concurrent callers for the same
+     * browser wait for that one resolution, and later calls return its result. A failed resolution
+     * is not memoized.
+     * @param browser Browser name (chrome/firefox)
+     * @return Resolved driver
+     */
+    public static ResolvedDriver resolve(String browser) {
+        String key = browser.toLowerCase();
+        FutureTask<ResolvedDriver> task = new FutureTask<>(() -> resolveOnce(key));
+        FutureTask<ResolvedDriver> existing = resolvedDrivers.putIfAbsent(key, task);
+        if (existing == null) {
+            task.run();
+        } else {
+            task = existing;
+        }
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while resolving the " + key + " driver", e);
+        } catch (ExecutionException e) {
+            resolvedDrivers.remove(key, task);
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Failed to resolve the " + key + " driver", e.getCause());
+        }
+    }
+
+    private static ResolvedDriver resolveOnce(String browser) {
+        long start = System.nanoTime();
+        Mode mode = ConfigReader.getDriverResolutionMode();
+        Path path;
+        String source;
+
+        switch (mode) {
+            case OFFLINE:
+                path = pinnedDriverPath(browser);
+                source = "pinned";
+                break;
+            case CACHED:
+                // A browser update needs a matching driver, so entries are kept per major version
+                String browserVersion = detectBrowserVersion(browser);
+                String cacheKey = browserVersion != null ? browser + "-" + browserVersion : browser;
+                path = cachedDriverPath(cacheKey);
+                if (path != null) {
+                    source = "machine-cache";
+                } else {
+                    path = resolveWithWebDriverManager(browser);
+                    recordInCache(cacheKey, path);
+                    source = "webdrivermanager";
+                }
+                break;
+            case AUTO:
+            default:
+                path = resolveWithWebDriverManager(browser);
+                source = "webdrivermanager";
+                break;
+        }
+
+        long elapsed = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        logger.info("Resolved {} driver via {} in {} ms: {}", browser, source, elapsed, path);
+        return new ResolvedDriver(browser, path, source);
+    }
+
+    private static Path pinnedDriverPath(String browser) {
+        String configured = ConfigReader.getPinnedDriverPath(browser);
+        if (configured == null || configured.isEmpty()) {
+            throw new IllegalStateException("Offline driver resolution requires driver." + browser + ".path to be set");
+        }
+        Path path = Paths.get(configured);
+        if (!Files.isExecutable(path)) {
+            throw new IllegalStateException("Pinned " + browser + " driver is missing or not executable: " + path);
+        }
+        return path;
+    }
+
+    private static WebDriverManager manager(String browser) {
+        return "firefox".equals(browser) ? WebDriverManager.firefoxdriver() : WebDriverManager.chromedriver();
+    }
+
+    private static Path resolveWithWebDriverManager(String browser) {
+        WebDriverManager manager = manager(browser);
+        manager.setup();
+        return Paths.get(manager.getDownloadedDriverPath());
+    }
+
+    /**
+     * Detect the major version of the installed browser from its --version output, without network access
+     * @return Major version, or null if the browser or its version cannot be found
+     */
+    private static String detectBrowserVersion(String browser) {
+        try {
+            Optional<Path> browserPath = manager(browser).getBrowserPath();
+            if (!browserPath.isPresent()) {
+                return null;
+            }
+            Process process = new ProcessBuilder(browserPath.get().toString(), "--version")
+                .redirectErrorStream(true)
+                .start();
+            if (!process.waitFor(VERSION_COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return null;
+            }
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            Matcher matcher = VERSION_PATTERN.matcher(output);
+            return matcher.find() ? matcher.group(1) : null;
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not detect the {} version: {}", browser, e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static Path cachedDriverPath(String cacheKey) {
+        Properties cache = loadCache();
+        String cachedPath = cache.getProperty(cacheKey + ".path");
+        String cachedHash = cache.getProperty(cacheKey + ".sha256");
+        String resolvedAt = cache.getProperty(cacheKey + ".resolvedAt");
+        if (cachedPath == null || cachedHash == null || resolvedAt == null) {
+            return null;
+        }
+
+        Duration age = Duration.between(Instant.parse(resolvedAt), Instant.now());
+        if (age.toHours() >= ConfigReader.getDriverCacheTtlHours()) {
+            logger.info("Cached {} driver is {} hours old, re-resolving", cacheKey, age.toHours());
+            return null;
+        }
+
+        Path path = Paths.get(cachedPath);
+        if (!Files.isExecutable(path)) {
+            logger.info("Cached {} driver no longer exists: {}", cacheKey, path);
+            return null;
+        }
+        if (!cachedHash.equals(sha256(path))) {
+            logger.warn("Cached {} driver failed hash verification, re-resolving: {}", cacheKey, path);
+            return null;
+        }
+        return path;
+    }
+
+    private static synchronized void recordInCache(String cacheKey, Path path) {
+        Properties cache = loadCache();
+        cache.setProperty(cacheKey + ".path", path.toAbsolutePath().toString());
+        cache.setProperty(cacheKey + ".sha256", sha256(path));
+        cache.setProperty(cacheKey + ".resolvedAt", Instant.now().toString());
+
+        Path cacheFile = ConfigReader.getDriverCacheFile();
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            Path tempFile = Files.createTempFile(cacheFile.getParent(), "driver-cache", ".tmp");
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                cache.store(outputStream, "WebDriver binary cache");
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to write driver cache file: {}", cacheFile, e);
+        }
+    }
+
+    private static Properties loadCache() {
+        Properties cache = new Properties();
+        Path cacheFile = ConfigReader.getDriverCacheFile();
+        if (Files.exists(cacheFile)) {
+            try (InputStream inputStream = Files.newInputStream(cacheFile)) {
+                cache.load(inputStream);
+            } catch (IOException e) {
+                logger.warn("Failed to read driver cache file: {}", cacheFile, e);
+            }
+        }
+        return cache;
+    }
+
+    private static String sha256(Path path) {
+        try {
+            return Hashing.sha256Hex(path);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to hash driver binary: " + path, e);
+        }
+    }
+}
@@ -1,16 +1,25 @@
 package utils;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Proxy;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.AbstractDriverOptions;
+import org.openqa.selenium.remote.service.DriverService;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
-
-import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 
 /**
  * Driver Factory class to manage WebDriver instances
@@ -18,51 +27,237 @@ import io.github.bonigarcia.wdm.WebDriverManager;
 public class DriverFactory {
     private static final Logger logger = LogManager.getLogger(DriverFactory.class);
     private static ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    private static ThreadLocal<DriverStartupMetrics> startupMetricsThreadLocal = new ThreadLocal<>();
+    private static ThreadLocal<RequestBlocker> requestBlockerThreadLocal = new ThreadLocal<>();
+    private static ThreadLocal<BrowserProfileTemplate.SessionProfile> profileThreadLocal = new ThreadLocal<>();
+    private static ThreadLocal<ResourceMonitor.Session> resourceThreadLocal = new ThreadLocal<>();
+    private static final List<DriverStartupMetrics> startupMetrics = Collections.synchronizedList(new ArrayList<>());
+    private static final CommandTimingListener commandTimingListener = new CommandTimingListener();
 
     /**
-     * Create WebDriver instance based on browser name
+     * Browser session launched by {@link #launchDriver(String)}, not yet bound to a test thread
+     */
+    static final class LaunchedDriver {
+        private final WebDriver driver;
+        private final WebDriver undecoratedDriver;
+        private final DriverStartupMetrics metrics;
+        private final RequestBlocker requestBlocker;
+        private final BrowserProfileTemplate.SessionProfile profile;
+        private final ResourceMonitor.Session resources;
+        private volatile SessionStateStore.Snapshot restoredState;
+
+        LaunchedDriver(WebDriver driver, WebDriver undecoratedDriver, DriverStartupMetrics metrics,
+                       RequestBlocker requestBlocker, BrowserProfileTemplate.SessionProfile profile,
+                       ResourceMonitor.Session resources, SessionStateStore.Snapshot restoredState) {
+            this.driver = driver;
+            this.undecoratedDriver = undecoratedDriver;
+            this.metrics = metrics;
+            this.requestBlocker = requestBlocker;
+            this.profile = profile;
+            this.resources = resources;
+            this.restoredState = restoredState;
+        }
+
+        WebDriver getDriver() {
+            return driver;
+        }
+
+        DriverStartupMetrics getMetrics() {
+            return metrics;
+        }
+
+        /**
+         * Inject the session state captured after this session was launched, e.g. a pooled session
+         * started before another test accepted the cookie banner
+         */
+        void restoreCapturedState() {
+            SessionStateStore.Snapshot current = SessionStateStore.getSnapshot();
+            if (current == null || current == restoredState) {
+                return;
+            }
+            SessionStateStore.Snapshot restored = SessionStateStore.restore(undecoratedDriver);
+            if (restored != null) {
+                restoredState = restored;
+            }
+        }
+
+        /**
+         * Quit the browser and release its profile
+         */
+        void quit() {
+            try {
+                driver.quit();
+            } finally {
+                ResourceMonitor.getInstance().unregister(resources);
+                releaseProfile(profile, true);
+            }
+        }
+    }
+
+    /**
+     * Create WebDriver instance based on browser name, taking a pre-launched session
+     * from the {@link DriverPool} when one is available
      * @param browserName Browser name (chrome/firefox)
      * @return WebDriver instance
      */
     public static WebDriver createDriver(String browserName) {
+        String browser = normalizeBrowser(browserName);
+        long acquireStart = System.nanoTime();
+        LaunchedDriver launched = DriverPool.getInstance().take(browser);
+        boolean pooled = launched != null;
+        if (!pooled) {
+            launched = launchDriver(browser);
+        }
+        launched.metrics.recordAcquire(pooled, elapsedMillis(acquireStart));
+
+        driverThreadLocal.set(launched.driver);
+        startupMetricsThreadLocal.set(launched.metrics);
+        requestBlockerThreadLocal.set(launched.requestBlocker);
+        profileThreadLocal.set(launched.profile);
+        resourceThreadLocal.set(launched.resources);
+        startupMetrics.add(launched.metrics);
+
+        logger.info("Driver initialized successfully: {}, profile: {}", browserName, launched.profile);
+        logger.info("{}", launched.metrics);
+        return launched.driver;
+    }
+
+    /**
+     * Create a driver bound to a new tab of a browser shared with other tab-multiplexed tests
+     * @param browserName Browser name (chrome/firefox)
+     * @return Context driver; quitting it closes only its tab
+     */
+    public static WebDriver createMultiplexedDriver(String browserName) {
+        WebDriver driver = TabMultiplexer.forBrowser(normalizeBrowser(browserName)).openContext();
+        driverThreadLocal.set(driver);
+        logger.info("Driver initialized successfully: {} (shared browser tab)", browserName);
+        return driver;
+    }
+
+    /**
+     * Launch a new browser session without binding it to the current thread
+     * @param browserName Browser name (chrome/firefox)
+     * @return Launched session
+     */
+    static LaunchedDriver launchDriver(String browserName) {
         WebDriver driver = null;
+        BrowserProfileTemplate.SessionProfile profile = null;
+        ResourceMonitor.Session resources = null;
         
         try {
-            switch (browserName.toLowerCase()) {
-                case "chrome":
-                    driver = createChromeDriver();
-                    break;
-                case "firefox":
-                    driver = createFirefoxDriver();
-                    break;
-                default:
-                    logger.warn("Browser '{}' not supported, defaulting to Chrome", browserName);
-                    driver = createChromeDriver();
-                    break;
-            }
+            String browser = normalizeBrowser(browserName);
+
+            long resolutionStart = System.nanoTime();
+            DriverBinaryResolver.ResolvedDriver resolvedDriver = DriverBinaryResolver.resolve(browser);
+            long resolutionMillis = elapsedMillis(resolutionStart);
+
+            profile = BrowserProfileTemplate.forBrowser(browser).acquire();
+
+            DriverService service = createDriverService(browser, resolvedDriver);
+            long spawnStart = System.nanoTime();
+            driver = browser.equals("firefox")
+                ? createFirefoxDriver((GeckoDriverService) service, profile)
+                : createChromeDriver((ChromeDriverService) service, profile);
+            long spawnMillis = elapsedMillis(spawnStart);
+
+            resources = ResourceMonitor.getInstance()
+                .register(browser, ResourceMonitor.findDriverProcess(service.getUrl().getPort()));
             
+            long firstCommandStart = System.nanoTime();
             driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(ConfigReader.getImplicitWait()));
+            long firstCommandMillis = elapsedMillis(firstCommandStart);
             
             driver.manage().window().maximize();
-            
-            driverThreadLocal.set(driver);
-            
-            logger.info("Driver initialized successfully: {}", browserName);
+
+            RequestBlocker requestBlocker = null;
+            if (ConfigReader.isRequestBlockingEnabled()) {
+                requestBlocker = RequestBlocker.attach(driver, browser);
+            }
+
+            SessionStateStore.Snapshot restoredState = SessionStateStore.restore(driver);
+
+            if (ConfigReader.isPerformanceCollectionEnabled()) {
+                PagePerformanceCollector.install(driver);
+            }
+
+            if (ConfigReader.isPageScriptsPreloadEnabled()) {
+                PageScripts.install(driver);
+            }
+
+            WebDriver undecoratedDriver = driver;
+            if (ConfigReader.isCommandMetricsEnabled() || ConfigReader.isFlightRecorderEnabled()
+                    || ConfigReader.isLocatorProfilerEnabled()) {
+                driver = new EventFiringDecorator<WebDriver>(commandTimingListener).decorate(driver);
+            }
+
+            DriverStartupMetrics metrics = new DriverStartupMetrics(browser, resolvedDriver.getSource(),
+                resolutionMillis, spawnMillis, firstCommandMillis, profile.getMode().name().toLowerCase(),
+                profile.getPrepareMillis());
+            return new LaunchedDriver(driver, undecoratedDriver, metrics, requestBlocker, profile, resources,
+                restoredState);
             
         } catch (Exception e) {
             logger.error("Failed to create driver for browser: {}", browserName, e);
+            if (driver != null) {
+                try {
+                    driver.quit();
+                } catch (Exception ignored) {
+                    // Browser is unusable already, release its profile anyway
+                }
+            }
+            ResourceMonitor.getInstance().unregister(resources);
+            releaseProfile(profile, false);
             throw new RuntimeException("Driver initialization failed", e);
         }
-        
-        return driver;
+    }
+
+    /**
+     * Map a browser name to a supported browser
+     * @param browserName Browser name
+     * @return chrome or firefox
+     */
+    static String normalizeBrowser(String browserName) {
+        String browser = browserName.toLowerCase();
+        if (!browser.equals("chrome") && !browser.equals("firefox")) {
+            logger.warn("Browser '{}' not supported, defaulting to Chrome", browserName);
+            browser = "chrome";
+        }
+        return browser;
+    }
+
+    private static void releaseProfile(BrowserProfileTemplate.SessionProfile profile, boolean keepSeed) {
+        if (profile != null) {
+            BrowserProfileTemplate.forBrowser(profile.getBrowser()).release(profile, keepSeed);
+        }
+    }
+
+    /**
+     * Create the driver service of a browser on a free port
+     * @param browser Browser name (chrome/firefox)
+     * @param resolvedDriver Resolved driver binary
+     * @return Driver service, started by the driver constructor
+     */
+    private static DriverService createDriverService(String browser, DriverBinaryResolver.ResolvedDriver resolvedDriver) {
+        if (browser.equals("firefox")) {
+            return new GeckoDriverService.Builder()
+                .usingDriverExecutable(resolvedDriver.getPath().toFile())
+                .usingAnyFreePort()
+                .build();
+        }
+        return new ChromeDriverService.Builder()
+            .usingDriverExecutable(resolvedDriver.getPath().toFile())
+            .usingAnyFreePort()
+            .build();
     }
 
     /**
      * Create Chrome WebDriver instance
+     * @param service Chromedriver service
+     * @param profile Profile directory of the session
      * @return Chrome WebDriver instance
      */
-    private static WebDriver createChromeDriver() {
-        WebDriverManager.chromedriver().setup();
+    private static WebDriver createChromeDriver(ChromeDriverService service,
+                                                BrowserProfileTemplate.SessionProfile profile) {
         ChromeOptions options = new ChromeOptions();
         
         if (ConfigReader.isHeadless()) {
@@ -76,16 +271,28 @@ public class DriverFactory {
         options.addArguments("--disable-extensions");
         options.addArguments("--disable-web-security");
         options.addArguments("--allow-running-insecure-content");
+        if (profile.getDirectory() != null) {
+            options.addArguments("--user-data-dir=" + profile.getDirectory());
+            options.addArguments("--no-first-run");
+            options.addArguments("--no-default-browser-check");
+            Map<String, Object> prefs = new HashMap<>();
+            prefs.put("credentials_enable_service", false);
+            prefs.put("profile.password_manager_enabled", false);
+            options.setExperimentalOption("prefs", prefs);
+        }
+        applyProxy(options);
         
-        return new ChromeDriver(options);
+        return new ChromeDriver(service, options);
     }
 
     /**
      * Create Firefox WebDriver instance
+     * @param service Geckodriver service
+     * @param profile Profile directory of the session
      * @return Firefox WebDriver instance
      */
-    private static WebDriver createFirefoxDriver() {
-        WebDriverManager.firefoxdriver().setup();
+    private static WebDriver createFirefoxDriver(GeckoDriverService service,
+                                                 BrowserProfileTemplate.SessionProfile profile) {
         FirefoxOptions options = new FirefoxOptions();
         
         if (ConfigReader.isHeadless()) {
@@ -94,8 +301,83 @@ public class DriverFactory {
         
         options.addArguments("--width=1920");
         options.addArguments("--height=1080");
+        if (profile.getDirectory() != null) {
+            options.addArguments("-profile", profile.getDirectory().toString());
+            options.addPreference("browser.shell.checkDefaultBrowser", false);
+            options.addPreference("browser.startup.homepage_override.mstone", "ignore");
+            options.addPreference("datareporting.policy.dataSubmissionEnabled", false);
+            options.addPreference("browser.cache.disk.enable", true);
+        }
+
+        if (ConfigReader.isRequestBlockingEnabled()) {
+            RequestBlocker.applyFirefoxPreferences(options);
+        }
+        applyProxy(options);
         
-        return new FirefoxDriver(options);
+        return new FirefoxDriver(service, options);
+    }
+
+    /**
+     * Route the browser through the record/replay proxy when it is enabled
+     * @param options Browser options
+     */
+    private static void applyProxy(AbstractDriverOptions<?> options) {
+        if (ConfigReader.getProxyMode() == CachingProxy.Mode.OFF) {
+            return;
+        }
+        String address = CachingProxy.getInstance().getAddress();
+        Proxy proxy = new Proxy();
+        proxy.setHttpProxy(address);
+        proxy.setSslProxy(address);
+        options.setProxy(proxy);
+        options.setAcceptInsecureCerts(true);
+        logger.info("Routing browser traffic through caching proxy at {}", address);
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+    }
+
+    /**
+     * Get startup metrics of the current thread's driver
+     * @return Startup metrics or null if no driver was created on this thread
+     */
+    public static DriverStartupMetrics getStartupMetrics() {
+        return startupMetricsThreadLocal.get();
+    }
+
+    /**
+     * Get profile of the current thread's driver
+     * @return Session profile or null if no driver was created on this thread
+     */
+    public static BrowserProfileTemplate.SessionProfile getSessionProfile() {
+        return profileThreadLocal.get();
+    }
+
+    /**
+     * Get resource monitoring of the current thread's driver
+     * @return Monitored session or null if monitoring is disabled or the driver process is unknown
+     */
+    public static ResourceMonitor.Session getResourceSession() {
+        return resourceThreadLocal.get();
+    }
+
+    /**
+     * Get request blocker of the current thread's driver
+     * @return Request blocker or null if request blocking is disabled
+     */
+    public static RequestBlocker getRequestBlocker() {
+        return requestBlockerThreadLocal.get();
+    }
+
+    /**
+     * Get startup metrics of all drivers created in this JVM
+     * @return Startup metrics in creation order
+     */
+    public static List<DriverStartupMetrics> getAllStartupMetrics() {
+        synchronized (startupMetrics) {
+            return new ArrayList<>(startupMetrics);
+        }
     }
 
     /**
@@ -118,7 +400,13 @@ public class DriverFactory {
             } catch (Exception e) {
                 logger.error("Error while quitting driver", e);
             } finally {
+                ResourceMonitor.getInstance().unregister(resourceThreadLocal.get());
+                resourceThreadLocal.remove();
+                releaseProfile(profileThreadLocal.get(), true);
                 driverThreadLocal.remove();
+                startupMetricsThreadLocal.remove();
+                requestBlockerThreadLocal.remove();
+                profileThreadLocal.remove();
             }
         }
     }
@@ -0,0 +1,164 @@
+package utils;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Browser sessions launched ahead of the tests on background threads. The suite setup queues
+ * driver.pool.size launches per browser; {@link DriverFactory#createDriver(String)} takes a
+ * pooled session first, waiting only for the rest of its launch if it is still starting. Session
+ * state captured while a pooled session waited is injected when the session is taken.
+ */
+public class DriverPool {
+    private static final Logger logger = LogManager.getLogger(DriverPool.class);
+    private static final DriverPool instance = new DriverPool();
+
+    private final Map<String, Queue<Future<DriverFactory.LaunchedDriver>>> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger launched = new AtomicInteger();
+    private final AtomicInteger taken = new AtomicInteger();
+    private ExecutorService executor;
+    private volatile String warmupUrl;
+    private volatile boolean closed;
+
+    private DriverPool() {
+    }
+
+    public static DriverPool getInstance() {
+        return instance;
+    }
+
+    /**
+     * Start launching driver.pool.size sessions per browser in the background
+     * @param browsers Browsers used by the suite
+     * @param warmupUrl URL the sessions load once launched, usually the suite's first page, or
+     *                  null to leave them blank
+     */
+    public void prewarm(Collection<String> browsers, String warmupUrl) {
+        int size = ConfigReader.getDriverPoolSize();
+        if (size <= 0 || closed) {
+            return;
+        }
+        this.warmupUrl = warmupUrl;
+        for (String browserName : browsers) {
+            String browser = DriverFactory.normalizeBrowser(browserName);
+            for (int i = 0; i < size; i++) {
+                submit(browser);
+            }
+            logger.info("Pre-launching {} {} session(s)", size, browser);
+        }
+    }
+
+    /**
+     * Take a pre-launched session, waiting for it if its launch is still in progress
+     * @param browser Normalized browser name
+     * @return Launched session, or null if none is pooled or the pooled launch failed
+     */
+    DriverFactory.LaunchedDriver take(String browser) {
+        Queue<Future<DriverFactory.LaunchedDriver>> queue = sessions.get(browser);
+        Future<DriverFactory.LaunchedDriver> future = queue == null ? null : queue.poll();
+        if (future == null) {
+            return null;
+        }
+        if (ConfigReader.isDriverPoolRefill() && !closed) {
+            submit(browser);
+        }
+        try {
+            DriverFactory.LaunchedDriver session = future.get();
+            session.getDriver().getWindowHandle();
+            session.restoreCapturedState();
+            taken.incrementAndGet();
+            logger.info("Using pre-launched {} session", browser);
+            return session;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            quitWhenDone(future);
+            return null;
+        } catch (ExecutionException e) {
+            logger.warn("Pre-launched {} session failed to start, launching a new one: {}", browser,
+                e.getCause().getMessage());
+            return null;
+        } catch (Exception e) {
+            logger.warn("Pre-launched {} session is no longer usable, launching a new one: {}", browser, e.getMessage());
+            quitWhenDone(future);
+            return null;
+        }
+    }
+
+    /**
+     * Quit all sessions that were launched but never taken
+     */
+    public void shutdown() {
+        closed = true;
+        int unused = 0;
+        for (Queue<Future<DriverFactory.LaunchedDriver>> queue : sessions.values()) {
+            Future<DriverFactory.LaunchedDriver> future;
+            while ((future = queue.poll()) != null) {
+                quitWhenDone(future);
+                unused++;
+            }
+        }
+        synchronized (this) {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+        if (launched.get() > 0) {
+            logger.info("Driver pool closed - {} sessions launched, {} taken by tests, {} unused", launched.get(),
+                taken.get(), unused);
+        }
+    }
+
+    private void submit(String browser) {
+        sessions.computeIfAbsent(browser, key -> new ConcurrentLinkedQueue<>())
+            .add(getExecutor().submit(() -> launch(browser)));
+        launched.incrementAndGet();
+    }
+
+    private DriverFactory.LaunchedDriver launch(String browser) {
+        DriverFactory.LaunchedDriver session = DriverFactory.launchDriver(browser);
+        String url = warmupUrl;
+        if (url != null && ConfigReader.isDriverPoolWarmupNavigation()) {
+            try {
+                session.getDriver().get(url);
+            } catch (Exception e) {
+                logger.debug("Warm-up navigation of pooled {} session failed: {}", browser, e.getMessage());
+            }
+        }
+        logger.info("Pre-launched {} session ready: {}", browser, session.getMetrics());
+        return session;
+    }
+
+    private void quitWhenDone(Future<DriverFactory.LaunchedDriver> future) {
+        try {
+            future.get(ConfigReader.getDriverPoolShutdownTimeoutSeconds(), TimeUnit.SECONDS).quit();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.debug("Pooled session could not be quit: {}", e.getMessage());
+        }
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(ConfigReader.getDriverPoolThreads(), runnable -> {
+                Thread thread = new Thread(runnable, "driver-pool-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+}
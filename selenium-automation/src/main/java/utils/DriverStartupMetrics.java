@@ -0,0 +1,183 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Startup timings of a single driver session, split into binary resolution, profile preparation,
+ * browser/driver process spawn and first command latency, plus the time the test actually waited
+ * for the session and first contentful paint of the first page loaded by the session
+ */
+public class DriverStartupMetrics {
+    private final String browser;
+    private final String resolutionSource;
+    private final long resolutionMillis;
+    private final long spawnMillis;
+    private final long firstCommandMillis;
+    private final String profileMode;
+    private final long profileMillis;
+    private volatile Long firstPaintMillis;
+    private volatile boolean pooled;
+    private volatile long acquireMillis;
+
+    public DriverStartupMetrics(String browser, String resolutionSource, long resolutionMillis,
+                                long spawnMillis, long firstCommandMillis, String profileMode, long profileMillis) {
+        this.browser = browser;
+        this.resolutionSource = resolutionSource;
+        this.resolutionMillis = resolutionMillis;
+        this.spawnMillis = spawnMillis;
+        this.firstCommandMillis = firstCommandMillis;
+        this.profileMode = profileMode;
+        this.profileMillis = profileMillis;
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public String getResolutionSource() {
+        return resolutionSource;
+    }
+
+    public long getResolutionMillis() {
+        return resolutionMillis;
+    }
+
+    public long getSpawnMillis() {
+        return spawnMillis;
+    }
+
+    public long getFirstCommandMillis() {
+        return firstCommandMillis;
+    }
+
+    public String getProfileMode() {
+        return profileMode;
+    }
+
+    public long getProfileMillis() {
+        return profileMillis;
+    }
+
+    /**
+     * Check if the session was pre-launched by the driver pool
+     * @return true if the session came from the pool
+     */
+    public boolean isPooled() {
+        return pooled;
+    }
+
+    /**
+     * Get the time the test waited for its session: the full launch for a direct launch,
+     * only the remaining launch time for a pooled session
+     * @return Wait in milliseconds
+     */
+    public long getAcquireMillis() {
+        return acquireMillis;
+    }
+
+    /**
+     * Record how the session was handed to a test
+     * @param pooled true if the session came from the pool
+     * @param millis Time the test waited for the session
+     */
+    public void recordAcquire(boolean pooled, long millis) {
+        this.pooled = pooled;
+        this.acquireMillis = millis;
+    }
+
+    /**
+     * Get first contentful paint of the first page loaded by the session
+     * @return First paint in milliseconds, or null if no page was measured
+     */
+    public Long getFirstPaintMillis() {
+        return firstPaintMillis;
+    }
+
+    /**
+     * Record first contentful paint of the session's first measured page; later pages are ignored
+     * @param millis First contentful paint in milliseconds
+     */
+    public synchronized void recordFirstPaint(long millis) {
+        if (firstPaintMillis == null) {
+            firstPaintMillis = millis;
+        }
+    }
+
+    public long getTotalMillis() {
+        return resolutionMillis + profileMillis + spawnMillis + firstCommandMillis;
+    }
+
+    /**
+     * Average launch and first paint times per browser and profile mode, to compare sessions
+     * started from throwaway profiles with sessions started from a profile template
+     * @param all Startup metrics of all sessions
+     * @return Summary keyed by "browser/profileMode"
+     */
+    public static Map<String, Map<String, Object>> summarize(List<DriverStartupMetrics> all) {
+        Map<String, List<DriverStartupMetrics>> grouped = new TreeMap<>();
+        for (DriverStartupMetrics metrics : all) {
+            grouped.computeIfAbsent(metrics.browser + "/" + metrics.profileMode, key -> new ArrayList<>()).add(metrics);
+        }
+        Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+        grouped.forEach((key, sessions) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("sessions", sessions.size());
+            entry.put("avgProfileMillis", average(sessions, metrics -> (double) metrics.profileMillis));
+            entry.put("avgSpawnMillis", average(sessions, metrics -> (double) metrics.spawnMillis));
+            entry.put("avgLaunchMillis", average(sessions, metrics -> (double) metrics.getTotalMillis()));
+            entry.put("pooledSessions", sessions.stream().filter(DriverStartupMetrics::isPooled).count());
+            entry.put("avgAcquireMillis", average(sessions, metrics -> (double) metrics.acquireMillis));
+            entry.put("avgFirstPaintMillis", average(sessions,
+                metrics -> metrics.firstPaintMillis == null ? null : metrics.firstPaintMillis.doubleValue()));
+            summary.put(key, entry);
+        });
+        return summary;
+    }
+
+    private static Long average(List<DriverStartupMetrics> sessions,
+                                Function<DriverStartupMetrics, Double> value) {
+        double total = 0;
+        int count = 0;
+        for (DriverStartupMetrics metrics : sessions) {
+            Double sample = value.apply(metrics);
+            if (sample != null) {
+                total += sample;
+                count++;
+            }
+        }
+        return count == 0 ? null : Math.round(total / count);
+    }
+
+    /**
+     * Convert metrics to a map for JSON reports
+     * @return Metrics as an ordered map
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("browser", browser);
+        map.put("resolutionSource", resolutionSource);
+        map.put("resolutionMillis", resolutionMillis);
+        map.put("spawnMillis", spawnMillis);
+        map.put("firstCommandMillis", firstCommandMillis);
+        map.put("profileMode", profileMode);
+        map.put("profileMillis", profileMillis);
+        map.put("totalMillis", getTotalMillis());
+        map.put("firstPaintMillis", firstPaintMillis);
+        map.put("pooled", pooled);
+        map.put("acquireMillis", acquireMillis);
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s startup: resolution=%d ms (%s), profile=%d ms (%s), spawn=%d ms, first command=%d ms, "
+                + "total=%d ms, waited=%d ms (%s), first paint=%s ms", browser, resolutionMillis, resolutionSource,
+            profileMillis, profileMode, spawnMillis, firstCommandMillis, getTotalMillis(), acquireMillis,
+            pooled ? "pooled" : "direct", firstPaintMillis == null ? "-" : firstPaintMillis);
+    }
+}
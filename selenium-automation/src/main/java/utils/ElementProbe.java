@@ -0,0 +1,187 @@
+package utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Probe utility for optional elements (cookie banners, popups, dropdown options).
+ * Lookups run with the implicit wait dropped to zero so a miss returns immediately
+ * instead of blocking for the configured implicit wait.
+ */
+public class ElementProbe {
+    private static final Logger logger = LogManager.getLogger(ElementProbe.class);
+
+    private final WebDriver driver;
+
+    public ElementProbe(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Run an action with the implicit wait temporarily set to zero.
+     * The configured implicit wait is restored afterwards, even if the action fails.
+     * @param action Action to run
+     * @param <T> Result type
+     * @return Result of the action
+     */
+    public <T> T withoutImplicitWait(Supplier<T> action) {
+        int implicitWait = ConfigReader.getImplicitWait();
+        if (implicitWait <= 0) {
+            return action.get();
+        }
+
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        try {
+            return action.get();
+        } finally {
+            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
+        }
+    }
+
+    /**
+     * Check if an element is present right now, without waiting
+     * @param locator Element locator
+     * @return true if at least one element matches
+     */
+    public boolean isPresent(By locator) {
+        return !findAllNow(locator).isEmpty();
+    }
+
+    /**
+     * Find all elements matching the locator right now, without waiting
+     * @param locator Element locator
+     * @return Matching elements, empty if none
+     */
+    public List<WebElement> findAllNow(By locator) {
+        return withoutImplicitWait(() -> driver.findElements(locator));
+    }
+
+    /**
+     * Find the first displayed element among the locators, checked in order
+     * @param locators Candidate locators
+     * @return First displayed element, or null if none is displayed
+     */
+    public WebElement findFirstDisplayed(By... locators) {
+        for (By locator : presentLocators(locators)) {
+            for (WebElement element : findAllNow(locator)) {
+                try {
+                    if (element.isDisplayed()) {
+                        return element;
+                    }
+                } catch (Exception ignored) {
+                    // Element went stale between lookup and check, try the next one
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Determine which of the locators are present right now using a single script call.
+     * Locators that cannot be expressed in the browser are checked with zero-wait lookups.
+     * @param locators Candidate locators
+     * @return Present locators, in the order given
+     */
+    public List<By> presentLocators(By... locators) {
+        if (locators.length == 0) {
+            return Collections.emptyList();
+        }
+
+        List<Map<String, Object>> specs = new ArrayList<>();
+        for (By locator : locators) {
+            Map<String, Object> spec = toScriptSpec(locator);
+            if (spec == null || !(driver instanceof JavascriptExecutor)) {
+                return presentLocatorsOneByOne(locators);
+            }
+            specs.add(spec);
+        }
+
+        try {
+            Object result = PageScripts.call(driver, "element-presence", specs);
+            List<By> present = new ArrayList<>();
+            List<?> flags = (List<?>) result;
+            for (int i = 0; i < locators.length; i++) {
+                if (Boolean.TRUE.equals(flags.get(i))) {
+                    present.add(locators[i]);
+                }
+            }
+            logger.debug("Present locators: {} of {}", present.size(), locators.length);
+            return present;
+        } catch (Exception e) {
+            logger.debug("Batched presence script failed, falling back to lookups: {}", e.getMessage());
+            return presentLocatorsOneByOne(locators);
+        }
+    }
+
+    /**
+     * Find the first locator that is present right now
+     * @param locators Candidate locators
+     * @return First present locator, or null if none is present
+     */
+    public By firstPresent(By... locators) {
+        List<By> present = presentLocators(locators);
+        return present.isEmpty() ? null : present.get(0);
+    }
+
+    private List<By> presentLocatorsOneByOne(By... locators) {
+        return withoutImplicitWait(() -> {
+            List<By> present = new ArrayList<>();
+            for (By locator : locators) {
+                if (!driver.findElements(locator).isEmpty()) {
+                    present.add(locator);
+                }
+            }
+            return present;
+        });
+    }
+
+    /**
+     * Convert a locator to its W3C strategy/value pair for evaluation in the browser
+     * @param locator Element locator
+     * @return Map with "using" and "value", or null if the locator is not remotable
+     */
+    static Map<String, Object> toScriptSpec(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        if (!(parameters.value() instanceof String)) {
+            return null;
+        }
+        Map<String, Object> spec = new HashMap<>();
+        spec.put("using", parameters.using());
+        spec.put("value", parameters.value());
+        return spec;
+    }
+
+    /**
+     * Convenience factory for a list of CSS locators
+     * @param selectors CSS selectors
+     * @return Locators in the same order
+     */
+    public static By[] css(String... selectors) {
+        return Arrays.stream(selectors).map(By::cssSelector).toArray(By[]::new);
+    }
+
+    /**
+     * Convenience factory for a list of XPath locators
+     * @param expressions XPath expressions
+     * @return Locators in the same order
+     */
+    public static By[] xpath(String... expressions) {
+        return Arrays.stream(expressions).map(By::xpath).toArray(By[]::new);
+    }
+}
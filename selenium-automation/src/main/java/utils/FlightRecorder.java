@@ -0,0 +1,306 @@
+package utils;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.imageio.ImageIO;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Keeps the last flight.recorder.steps steps of every test in memory: each state-changing
+ * command (click, typing, navigation, window switch) with its locator, timing, the URL and DOM
+ * hash it left the page in and optionally a screenshot, plus failed commands. Steps are fed by
+ * {@link CommandTimingListener}; page state is read through the undecorated driver so it does
+ * not show up in command metrics. Screenshots are downscaled when taken, so the buffer holds small
+ * images rather than full-resolution PNGs. Nothing is written unless the test fails, when the
+ * buffer is flushed through {@link ArtifactWriter}.
+ */
+public class FlightRecorder {
+    private static final Logger logger = LogManager.getLogger(FlightRecorder.class);
+    private static final FlightRecorder instance = new FlightRecorder();
+    private static final Json JSON = new Json();
+    private static final DateTimeFormatter FOLDER_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+    private static final int ERROR_LENGTH = 200;
+
+    // Commands that change what the page shows; other commands are only recorded when they fail
+    private static final Set<String> ACTIONS = new HashSet<>(Arrays.asList(
+        "WebElement.click", "WebElement.submit", "WebElement.sendKeys", "WebElement.clear", "WebDriver.get",
+        "WebDriver.close", "Navigation.to", "Navigation.back", "Navigation.forward", "Navigation.refresh",
+        "TargetLocator.window", "TargetLocator.newWindow"));
+
+    private final Map<String, Buffer> buffers = new ConcurrentHashMap<>();
+    private final ThreadLocal<Boolean> capturing = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    /**
+     * Recorded step
+     */
+    private static class Step {
+        private final int index;
+        private final String time = Instant.now().toString();
+        private final String action;
+        private final String locator;
+        private long micros;
+        private final String error;
+        private int repeats = 1;
+        private Map<String, Object> state;
+        private byte[] screenshot;
+
+        Step(int index, String action, String locator, long micros, String error) {
+            this.index = index;
+            this.action = action;
+            this.locator = locator;
+            this.micros = micros;
+            this.error = error;
+        }
+
+        boolean repeats(Step other) {
+            return error != null && error.equals(other.error) && action.equals(other.action)
+                && locator.equals(other.locator);
+        }
+
+        Map<String, Object> toMap(String screenshotFile) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("index", index);
+            map.put("time", time);
+            map.put("action", action);
+            map.put("locator", locator);
+            map.put("millis", Math.round(micros / 100.0) / 10.0);
+            if (repeats > 1) {
+                map.put("repeats", repeats);
+            }
+            if (error != null) {
+                map.put("error", error);
+            }
+            if (state != null) {
+                map.putAll(state);
+            }
+            if (screenshotFile != null) {
+                map.put("screenshot", screenshotFile);
+            }
+            return map;
+        }
+    }
+
+    /**
+     * Ring buffer of the steps of one test
+     */
+    private static class Buffer {
+        private final Deque<Step> steps = new ArrayDeque<>();
+        private int recorded;
+
+        synchronized void add(Step step, int capacity) {
+            Step last = steps.peekLast();
+            if (last != null && last.repeats(step)) {
+                last.repeats++;
+                last.micros += step.micros;
+                return;
+            }
+            steps.addLast(step);
+            recorded++;
+            while (steps.size() > capacity) {
+                steps.removeFirst();
+            }
+        }
+
+        synchronized int nextIndex() {
+            return recorded + 1;
+        }
+
+        synchronized List<Step> snapshot() {
+            return new ArrayList<>(steps);
+        }
+    }
+
+    private FlightRecorder() {
+    }
+
+    /**
+     * Get the shared flight recorder
+     * @return Flight recorder
+     */
+    public static FlightRecorder getInstance() {
+        return instance;
+    }
+
+    /**
+     * Record a completed command of the current test. Only state-changing commands become steps.
+     * @param command Command name, e.g. "WebElement.click"
+     * @param locator Locator the command targeted, or "-"
+     * @param micros Latency in microseconds
+     */
+    public void recordCommand(String command, String locator, long micros) {
+        if (!ACTIONS.contains(command) || !isRecording()) {
+            return;
+        }
+        Buffer buffer = getBuffer();
+        Step step = new Step(buffer.nextIndex(), command, locator, micros, null);
+        capture(step);
+        buffer.add(step, ConfigReader.getFlightRecorderSteps());
+    }
+
+    /**
+     * Record a failed command of the current test. Repeated identical failures, such as the
+     * lookups of a polling wait, are kept as one step with a repeat count.
+     * @param command Command name
+     * @param locator Locator the command targeted, or "-"
+     * @param micros Latency in microseconds
+     * @param error Failure
+     */
+    public void recordError(String command, String locator, long micros, Throwable error) {
+        if (!isRecording()) {
+            return;
+        }
+        Buffer buffer = getBuffer();
+        buffer.add(new Step(buffer.nextIndex(), command, locator, micros, describe(error)),
+            ConfigReader.getFlightRecorderSteps());
+    }
+
+    /**
+     * Flush the steps of a test if it failed and drop them otherwise
+     * @param testName Test method name
+     * @param failed true if the test failed
+     */
+    public void finishTest(String testName, boolean failed) {
+        if (failed) {
+            flush(testName);
+        } else {
+            buffers.remove(testName);
+        }
+    }
+
+    /**
+     * Write the buffered steps of a test to flight.recorder.path/&lt;test&gt;_&lt;time&gt;/ and drop
+     * them: steps.json and the step screenshots
+     * @param testName Test method name
+     * @return Directory the steps are written to, or null if nothing was recorded
+     */
+    public Path flush(String testName) {
+        Buffer buffer = buffers.remove(testName);
+        if (buffer == null) {
+            return null;
+        }
+        List<Step> steps = buffer.snapshot();
+        if (steps.isEmpty()) {
+            return null;
+        }
+        Path directory = Paths.get(ConfigReader.getFlightRecorderPath(),
+            testName + "_" + LocalDateTime.now().format(FOLDER_FORMAT));
+        List<Map<String, Object>> stepMaps = new ArrayList<>();
+        for (Step step : steps) {
+            String screenshotFile = null;
+            if (step.screenshot != null) {
+                Path screenshot = ArtifactWriter.getInstance().submitScreenshot(step.screenshot,
+                    directory.toString(), String.format("step-%03d", step.index));
+                // An identical screenshot of an earlier test is not written again, so refer to it
+                // relative to steps.json rather than by file name
+                screenshotFile = directory.toAbsolutePath().relativize(screenshot.toAbsolutePath())
+                    .toString().replace('\\', '/');
+            }
+            stepMaps.add(step.toMap(screenshotFile));
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("test", testName);
+        report.put("recordedSteps", buffer.nextIndex() - 1);
+        report.put("steps", stepMaps);
+        ArtifactWriter.getInstance().submit(directory.resolve("steps.json"),
+            JSON.toJson(report).getBytes(StandardCharsets.UTF_8));
+        logger.info("Flight recorder: last {} steps of {} written to {}", steps.size(), testName, directory);
+        return directory;
+    }
+
+    private boolean isRecording() {
+        return ConfigReader.isFlightRecorderEnabled() && !capturing.get()
+            && !"unattributed".equals(TestContext.getTestName());
+    }
+
+    private Buffer getBuffer() {
+        return buffers.computeIfAbsent(TestContext.getTestName(), key -> new Buffer());
+    }
+
+    /**
+     * Read URL, DOM hash and optionally a screenshot through the undecorated driver
+     */
+    @SuppressWarnings("unchecked")
+    private void capture(Step step) {
+        WebDriver driver = DriverFactory.getDriver();
+        if (driver == null) {
+            return;
+        }
+        WebDriver rawDriver = driver instanceof WrapsDriver ? ((WrapsDriver) driver).getWrappedDriver() : driver;
+        capturing.set(Boolean.TRUE);
+        try {
+            if (ConfigReader.isFlightRecorderDomHashEnabled()) {
+                Object state = PageScripts.call(rawDriver, "pageState");
+                if (state instanceof Map) {
+                    step.state = (Map<String, Object>) state;
+                }
+            } else {
+                step.state = new LinkedHashMap<>();
+                step.state.put("url", rawDriver.getCurrentUrl());
+            }
+            if (ConfigReader.isFlightRecorderScreenshotEnabled() && rawDriver instanceof TakesScreenshot) {
+                step.screenshot = downscale(((TakesScreenshot) rawDriver).getScreenshotAs(OutputType.BYTES));
+            }
+        } catch (Exception e) {
+            // Typically the document is unloading after a click that navigates
+            logger.debug("Flight recorder state not captured for {}: {}", step.action, e.getMessage());
+        } finally {
+            capturing.set(Boolean.FALSE);
+        }
+    }
+
+    private static String describe(Throwable error) {
+        String message = error.getMessage() == null ? "" : error.getMessage().split("\n", 2)[0];
+        String text = error.getClass().getSimpleName() + (message.isEmpty() ? "" : ": " + message);
+        return text.length() > ERROR_LENGTH ? text.substring(0, ERROR_LENGTH) + "..." : text;
+    }
+
+    private static byte[] downscale(byte[] png) {
+        int width = ConfigReader.getFlightRecorderScreenshotWidth();
+        try {
+            BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+            if (source == null || width <= 0 || source.getWidth() <= width) {
+                return png;
+            }
+            int height = Math.max(1, source.getHeight() * width / source.getWidth());
+            BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = scaled.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+            graphics.dispose();
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            ImageIO.write(scaled, "png", output);
+            return output.toByteArray();
+        } catch (IOException e) {
+            logger.debug("Screenshot not downscaled: {}", e.getMessage());
+            return png;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Hashing utility class for content fingerprints
+ */
+public class Hashing {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private Hashing() {
+    }
+
+    /**
+     * Get SHA-256 of data as lower-case hex
+     * @param data Data to hash
+     * @return Hex digest
+     */
+    public static String sha256Hex(byte[] data) {
+        MessageDigest digest = newSha256();
+        return toHex(digest.digest(data));
+    }
+
+    /**
+     * Get SHA-256 of a file as lower-case hex
+     * @param path File to hash
+     * @return Hex digest
+     * @throws IOException if the file cannot be read
+     */
+    public static String sha256Hex(Path path) throws IOException {
+        MessageDigest digest = newSha256();
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xf];
+        }
+        return new String(hex);
+    }
+}
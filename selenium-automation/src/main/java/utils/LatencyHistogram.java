@@ -0,0 +1,92 @@
+package utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fixed-bucket latency histogram with count, total and max; percentiles are estimated
+ * from bucket upper bounds
+ */
+public class LatencyHistogram {
+    private static final long[] BUCKET_BOUNDS_MILLIS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private final long[] buckets = new long[BUCKET_BOUNDS_MILLIS.length + 1];
+    private long count;
+    private long totalMicros;
+    private long maxMicros;
+
+    /**
+     * Record a sample
+     * @param micros Latency in microseconds
+     */
+    public synchronized void record(long micros) {
+        int index = 0;
+        while (index < BUCKET_BOUNDS_MILLIS.length && micros > BUCKET_BOUNDS_MILLIS[index] * 1000) {
+            index++;
+        }
+        buckets[index]++;
+        count++;
+        totalMicros += micros;
+        maxMicros = Math.max(maxMicros, micros);
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized double getTotalMillis() {
+        return totalMicros / 1000.0;
+    }
+
+    public synchronized double getMaxMillis() {
+        return maxMicros / 1000.0;
+    }
+
+    /**
+     * Estimate a percentile as the upper bound of the bucket containing it
+     * @param percentile Percentile between 0 and 100
+     * @return Estimated latency in milliseconds, capped at the observed max
+     */
+    public synchronized double getPercentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(count * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                double bound = i < BUCKET_BOUNDS_MILLIS.length ? BUCKET_BOUNDS_MILLIS[i] : Double.MAX_VALUE;
+                return Math.min(bound, getMaxMillis());
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * Convert to a report map
+     * @return Summary and non-empty buckets keyed by upper bound
+     */
+    public synchronized Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", count);
+        map.put("totalMillis", round(getTotalMillis()));
+        map.put("meanMillis", round(count == 0 ? 0 : getTotalMillis() / count));
+        map.put("p50Millis", round(getPercentileMillis(50)));
+        map.put("p95Millis", round(getPercentileMillis(95)));
+        map.put("maxMillis", round(getMaxMillis()));
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] > 0) {
+                histogram.put(i < BUCKET_BOUNDS_MILLIS.length ? "<=" + BUCKET_BOUNDS_MILLIS[i] : ">"
+                    + BUCKET_BOUNDS_MILLIS[BUCKET_BOUNDS_MILLIS.length - 1], buckets[i]);
+            }
+        }
+        map.put("histogram", histogram);
+        return map;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
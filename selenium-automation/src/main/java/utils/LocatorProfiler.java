@@ -0,0 +1,192 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+
+/**
+ * Profiling mode (locator.profiler.enabled) that measures what the locators of the page objects
+ * cost inside the browser. Every element lookup seen by {@link CommandTimingListener} is counted,
+ * and the first locator.profiler.samples lookups of each locator per page object are repeated by
+ * a script against the live DOM, or the element the lookup was scoped to, timing the evaluation
+ * and counting matched nodes. At suite end the locators are ranked by evaluation time in
+ * locator-profile.json.
+ */
+public class LocatorProfiler {
+    private static final Logger logger = LogManager.getLogger(LocatorProfiler.class);
+    private static final LocatorProfiler instance = new LocatorProfiler();
+
+    private final Map<String, LocatorStats> locators = new ConcurrentHashMap<>();
+
+    /**
+     * Lookups and in-browser timings of one locator on one page object
+     */
+    public static class LocatorStats {
+        private final String locator;
+        private final String page;
+        private final String scope;
+        private long lookups;
+        private long failedLookups;
+        private final List<Double> micros = new ArrayList<>();
+        private int maxMatched;
+        private String error;
+
+        LocatorStats(String locator, String page, String scope) {
+            this.locator = locator;
+            this.page = page;
+            this.scope = scope;
+        }
+
+        synchronized boolean countLookup(boolean failed) {
+            lookups++;
+            if (failed) {
+                failedLookups++;
+            }
+            return micros.size() + (error != null ? 1 : 0) < ConfigReader.getLocatorProfilerSamples();
+        }
+
+        synchronized void addProfile(double evaluationMicros, int matched, String profileError) {
+            if (profileError != null) {
+                error = profileError;
+                return;
+            }
+            micros.add(evaluationMicros);
+            maxMatched = Math.max(maxMatched, matched);
+        }
+
+        synchronized double getMedianMicros() {
+            if (micros.isEmpty()) {
+                return 0;
+            }
+            List<Double> sorted = new ArrayList<>(micros);
+            Collections.sort(sorted);
+            int middle = sorted.size() / 2;
+            return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+        }
+
+        /**
+         * Convert to a report map
+         * @return Locator, page, lookup counts, evaluation times and matched nodes
+         */
+        public synchronized Map<String, Object> toMap() {
+            double median = getMedianMicros();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("locator", locator);
+            map.put("page", page);
+            map.put("scope", scope);
+            map.put("lookups", lookups);
+            map.put("failedLookups", failedLookups);
+            map.put("profiles", micros.size());
+            map.put("medianMicros", round(median));
+            map.put("maxMicros", round(micros.isEmpty() ? 0 : Collections.max(micros)));
+            // Browser-side evaluation time of all lookups, without the WebDriver round trips
+            map.put("estimatedTotalMillis", round(median * lookups / 1000));
+            map.put("maxMatched", maxMatched);
+            if (error != null) {
+                map.put("error", error);
+            }
+            return map;
+        }
+    }
+
+    private LocatorProfiler() {
+    }
+
+    /**
+     * Get the shared locator profiler
+     * @return Locator profiler
+     */
+    public static LocatorProfiler getInstance() {
+        return instance;
+    }
+
+    /**
+     * Count an element lookup and profile its locator if it has fewer than locator.profiler.samples
+     * profiles on the current page object
+     * @param target Driver or element the lookup was issued on, as passed to the listener
+     * @param locator Locator of the lookup
+     * @param failed true if the lookup found no element
+     */
+    public void recordLookup(Object target, By locator, boolean failed) {
+        if (!ConfigReader.isLocatorProfilerEnabled()) {
+            return;
+        }
+        Map<String, Object> spec = ElementProbe.toScriptSpec(locator);
+        WebElement context = target instanceof WebElement ? (WebElement) target : null;
+        String page = TestContext.getPage();
+        String scope = context != null ? "element" : "document";
+        LocatorStats stats = locators.computeIfAbsent(page + "|" + scope + "|" + locator,
+            key -> new LocatorStats(locator.toString(), page, scope));
+        if (!stats.countLookup(failed) || spec == null) {
+            return;
+        }
+        WebDriver driver = rawDriver(target);
+        if (driver == null) {
+            return;
+        }
+        try {
+            Map<?, ?> result = (Map<?, ?>) PageScripts.call(driver, "locator-profile", spec, context,
+                ConfigReader.getLocatorProfilerBudgetMillis());
+            stats.addProfile(((Number) result.get("micros")).doubleValue(), ((Number) result.get("matched")).intValue(),
+                (String) result.get("error"));
+        } catch (Exception e) {
+            // Typically the element went stale or the document is unloading
+            logger.debug("Locator {} not profiled: {}", locator, e.getMessage());
+        }
+    }
+
+    /**
+     * Log the slowest locators and write locator-profile.json, ranked by median evaluation time
+     */
+    public void writeReport() {
+        if (locators.isEmpty()) {
+            return;
+        }
+        List<LocatorStats> ranked = new ArrayList<>(locators.values());
+        ranked.sort(Comparator.comparingDouble(LocatorStats::getMedianMicros).reversed());
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (LocatorStats stats : ranked) {
+            entries.add(stats.toMap());
+        }
+
+        int top = Math.min(ConfigReader.getLocatorProfilerTopN(), entries.size());
+        logger.info("Slowest {} of {} profiled locators:", top, entries.size());
+        for (Map<String, Object> entry : entries.subList(0, top)) {
+            logger.info("  {} us x {} lookups, {} nodes - {} on {} ({})", entry.get("medianMicros"),
+                entry.get("lookups"), entry.get("maxMatched"), entry.get("locator"), entry.get("page"), entry.get("scope"));
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("budgetMillis", ConfigReader.getLocatorProfilerBudgetMillis());
+        report.put("locators", entries);
+        ReportWriter.writeJson("locator-profile.json", report);
+    }
+
+    /**
+     * Driver to run the profiling script on without passing through the listener again
+     */
+    private static WebDriver rawDriver(Object target) {
+        if (target instanceof WebDriver) {
+            return (WebDriver) target;
+        }
+        if (target instanceof WrapsDriver) {
+            return ((WrapsDriver) target).getWrappedDriver();
+        }
+        WebDriver driver = DriverFactory.getDriver();
+        return driver instanceof WrapsDriver ? ((WrapsDriver) driver).getWrappedDriver() : driver;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
@@ -0,0 +1,158 @@
+package utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+
+/**
+ * Executes tests' navigation paths on one browser so shared prefixes run only once.
+ * Paths are merged into a trie of {@link NavigationStep}s. Every tab is parked at the trie node it
+ * reached; a later path continues from the deepest node that still has a parked tab, or opens a tab
+ * at the deepest restorable checkpoint URL, whichever skips more steps. Tabs used by a test that
+ * changed the page state are marked dirty and recycled for checkpoint restores.
+ */
+public class NavigationScheduler {
+    private static final Logger logger = LogManager.getLogger(NavigationScheduler.class);
+
+    private final WebDriver driver;
+    private final Node root = new Node(null);
+    private final Deque<String> spareHandles = new ArrayDeque<>();
+    private String currentHandle;
+    private Node currentNode;
+    private int requestedSteps;
+    private int executedSteps;
+    private int checkpointRestores;
+
+    private static class Node {
+        private final NavigationStep step;
+        private final Map<String, Node> children = new LinkedHashMap<>();
+        private final Deque<String> parkedHandles = new ArrayDeque<>();
+        private String checkpointUrl;
+
+        Node(NavigationStep step) {
+            this.step = step;
+        }
+    }
+
+    public NavigationScheduler(WebDriver driver) {
+        this.driver = driver;
+        root.parkedHandles.add(driver.getWindowHandle());
+    }
+
+    /**
+     * Bring a tab to the end of the given path, reusing the longest already executed prefix
+     * @param path Navigation steps from a fresh browser to the page the test needs
+     */
+    public void navigate(NavigationStep... path) {
+        requestedSteps += path.length;
+
+        List<Node> nodes = new ArrayList<>();
+        nodes.add(root);
+        Node node = root;
+        for (NavigationStep step : path) {
+            node = node.children.computeIfAbsent(step.getName(), name -> new Node(step));
+            nodes.add(node);
+        }
+
+        int parked = 0;
+        int checkpoint = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            if (!nodes.get(i).parkedHandles.isEmpty()) {
+                parked = i;
+            }
+            if (nodes.get(i).checkpointUrl != null) {
+                checkpoint = i;
+            }
+        }
+
+        int start;
+        String handle;
+        if (checkpoint > parked) {
+            handle = takeSpareTab();
+            start = checkpoint;
+            driver.get(nodes.get(checkpoint).checkpointUrl);
+            checkpointRestores++;
+            logger.info("Restored checkpoint '{}' in a separate tab", nodes.get(checkpoint).step);
+        } else if (!nodes.get(parked).parkedHandles.isEmpty()) {
+            handle = nodes.get(parked).parkedHandles.poll();
+            driver.switchTo().window(handle);
+            start = parked;
+        } else {
+            handle = takeSpareTab();
+            start = 0;
+        }
+        if (start > 0) {
+            logger.info("Skipping shared prefix of {} steps, resuming after '{}'", start, nodes.get(start).step);
+        }
+
+        try {
+            for (int i = start + 1; i < nodes.size(); i++) {
+                Node next = nodes.get(i);
+                logger.info("Navigation step: {}", next.step);
+                next.step.perform(driver);
+                executedSteps++;
+                if (next.step.isRestorable()) {
+                    next.checkpointUrl = driver.getCurrentUrl();
+                }
+            }
+        } catch (RuntimeException e) {
+            spareHandles.add(handle);
+            currentHandle = null;
+            throw e;
+        }
+
+        Node target = nodes.get(nodes.size() - 1);
+        target.parkedHandles.add(handle);
+        currentHandle = handle;
+        currentNode = target;
+    }
+
+    /**
+     * Mark the current tab as changed by the test so no later path resumes from it
+     */
+    public void markDirty() {
+        if (currentHandle != null) {
+            currentNode.parkedHandles.remove(currentHandle);
+            spareHandles.add(currentHandle);
+            currentHandle = null;
+        }
+    }
+
+    public int getRequestedSteps() {
+        return requestedSteps;
+    }
+
+    public int getExecutedSteps() {
+        return executedSteps;
+    }
+
+    public int getCheckpointRestores() {
+        return checkpointRestores;
+    }
+
+    private String takeSpareTab() {
+        while (!spareHandles.isEmpty()) {
+            String handle = spareHandles.poll();
+            if (driver.getWindowHandles().contains(handle)) {
+                driver.switchTo().window(handle);
+                return handle;
+            }
+        }
+        driver.switchTo().newWindow(WindowType.TAB);
+        return driver.getWindowHandle();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("executed %d of %d requested navigation steps (%d checkpoint restores)",
+            executedSteps, requestedSteps, checkpointRestores);
+    }
+}
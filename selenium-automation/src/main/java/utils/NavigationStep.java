@@ -0,0 +1,45 @@
+package utils;
+
+import java.util.function.Consumer;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Reusable navigation step shared by tests through the {@link NavigationScheduler}.
+ * Steps are identified by name; a restorable step leaves the browser in a state that is fully
+ * described by its URL, so later tests can resume from there with a single navigation.
+ */
+public class NavigationStep {
+    private final String name;
+    private final boolean restorable;
+    private final Consumer<WebDriver> action;
+
+    /**
+     * Create a navigation step
+     * @param name Unique step name
+     * @param restorable true if the resulting state can be restored by loading the resulting URL
+     * @param action Navigation to perform on the current tab
+     */
+    public NavigationStep(String name, boolean restorable, Consumer<WebDriver> action) {
+        this.name = name;
+        this.restorable = restorable;
+        this.action = action;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isRestorable() {
+        return restorable;
+    }
+
+    void perform(WebDriver driver) {
+        action.accept(driver);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,146 @@
+package utils;
+
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+
+/**
+ * Collects Navigation Timing, Resource Timing, FCP, LCP, CLS and long-task data of each loaded
+ * document, stores the samples of the run and checks them against {@link PerformanceBudget}
+ */
+public class PagePerformanceCollector {
+    private static final Logger logger = LogManager.getLogger(PagePerformanceCollector.class);
+    private static final String RUN_ID = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+    private static final List<Map<String, Object>> samples = Collections.synchronizedList(new ArrayList<>());
+    private static final Map<WebDriver, Set<Object>> collectedDocuments = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final WebDriver driver;
+
+    public PagePerformanceCollector(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Install the long-task observer on every new document. Long tasks are not buffered by the
+     * browser, so without it only tasks after collection starts would be seen. Chrome only.
+     * @param driver Undecorated WebDriver instance
+     */
+    public static void install(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            return;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            Map<String, Object> params = new HashMap<>();
+            params.put("source", Scripts.load("long-task-observer"));
+            devTools.send(new Command<>("Page.addScriptToEvaluateOnNewDocument", params));
+        } catch (Exception e) {
+            logger.warn("Failed to install long-task observer: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Collect performance data of the current document once and check it against the budgets
+     * @param page Page name the data is stored under
+     * @return Collected sample, or null if disabled, already collected or unavailable
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> collect(String page) {
+        if (!ConfigReader.isPerformanceCollectionEnabled() || !(driver instanceof JavascriptExecutor)) {
+            return null;
+        }
+        Map<String, Object> data;
+        try {
+            data = (Map<String, Object>) PageScripts.callAsync(driver, "page-performance");
+        } catch (Exception e) {
+            logger.warn("Failed to collect page performance for {}: {}", page, e.getMessage());
+            return null;
+        }
+        if (data == null) {
+            return null;
+        }
+        Set<Object> documents = collectedDocuments.computeIfAbsent(driver,
+            key -> Collections.synchronizedSet(new HashSet<>()));
+        if (!documents.add(data.get("timeOrigin"))) {
+            logger.debug("Performance of {} already collected for this document", page);
+            return null;
+        }
+
+        String browser = getBrowserName();
+        Map<String, Object> metrics = (Map<String, Object>) data.get("metrics");
+        Map<String, Object> sample = new LinkedHashMap<>();
+        sample.put("run", RUN_ID);
+        sample.put("test", TestContext.getTestName());
+        sample.put("page", page);
+        sample.put("browser", browser);
+        sample.put("url", data.get("url"));
+        sample.put("metrics", metrics);
+        sample.put("resourcesByType", data.get("resourcesByType"));
+        sample.put("slowestResources", data.get("slowestResources"));
+
+        DriverStartupMetrics startup = DriverFactory.getStartupMetrics();
+        if (startup != null && metrics.get("fcpMs") instanceof Number) {
+            startup.recordFirstPaint(Math.round(((Number) metrics.get("fcpMs")).doubleValue()));
+        }
+
+        List<String> violations = PerformanceBudget.check(page, browser, metrics);
+        sample.put("violations", violations);
+        samples.add(sample);
+
+        logger.info("Page performance {} [{}] - TTFB: {} ms, FCP: {} ms, LCP: {} ms, CLS: {}, load: {} ms, "
+                + "long tasks: {} ({} ms), {} resources, {} bytes", page, browser, metrics.get("ttfbMs"),
+            metrics.get("fcpMs"), metrics.get("lcpMs"), metrics.get("cls"), metrics.get("loadMs"),
+            metrics.get("longTaskCount"), metrics.get("longTaskTotalMs"), metrics.get("resourceCount"),
+            metrics.get("transferBytes"));
+        if (!violations.isEmpty()) {
+            violations.forEach(violation -> logger.warn("Performance budget violation: {}", violation));
+            PerformanceBudget.recordViolations(violations);
+        }
+        return sample;
+    }
+
+    /**
+     * Write the samples of this run to the report directory and the run history,
+     * and update the baseline when performance.baseline.update is set
+     */
+    public static void writeReport() {
+        List<Map<String, Object>> runSamples;
+        synchronized (samples) {
+            runSamples = new ArrayList<>(samples);
+        }
+        if (runSamples.isEmpty()) {
+            return;
+        }
+        ReportWriter.writeJson("page-performance.json", runSamples);
+        ReportWriter.writeJson(Paths.get(ConfigReader.getPerformanceHistoryPath(), "run_" + RUN_ID + ".json"), runSamples);
+        if (ConfigReader.isPerformanceBaselineUpdate()) {
+            PerformanceBudget.updateBaseline(runSamples);
+        }
+    }
+
+    private String getBrowserName() {
+        if (driver instanceof HasCapabilities) {
+            return ((HasCapabilities) driver).getCapabilities().getBrowserName();
+        }
+        return "unknown";
+    }
+}
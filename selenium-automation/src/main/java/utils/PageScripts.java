@@ -0,0 +1,140 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+
+/**
+ * Invokes browser-side helpers of the js/insider-helpers.js bundle by name. The bundle is installed
+ * on every new document through DevTools where available (Chrome); elsewhere, or in documents
+ * loaded before installation, the first call that finds no helpers injects the bundle together
+ * with the call. Afterwards a call only sends a short dispatch stub and its arguments.
+ */
+public class PageScripts {
+    private static final Logger logger = LogManager.getLogger(PageScripts.class);
+
+    // Script resources bundled as helpers under their resource name
+    private static final List<String> BUNDLED_SCRIPTS = Collections.unmodifiableList(Arrays.asList(
+        "composite-condition", "element-presence", "job-stream", "locator-profile", "observe-condition",
+        "page-performance", "select-option"));
+    private static final String MISSING = "__insider_missing__";
+    private static final String CALL =
+        "var h = window.__insider, a = [].slice.call(arguments, 1);"
+        + "return h ? h.call(arguments[0], a) : '" + MISSING + "';";
+    private static final String CALL_ASYNC =
+        "var h = window.__insider, a = [].slice.call(arguments, 1);"
+        + "if (h) { h.call(arguments[0], a); } else { a[a.length - 1]('" + MISSING + "'); }";
+
+    private static final AtomicLong calls = new AtomicLong();
+    private static final AtomicLong injections = new AtomicLong();
+    private static volatile String bundle;
+
+    private PageScripts() {
+    }
+
+    /**
+     * Install the helper bundle on every new document of a driver. Chrome only; other browsers
+     * get the bundle injected by their first call in each document.
+     * @param driver Undecorated WebDriver instance
+     */
+    public static void install(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            return;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            Map<String, Object> params = new HashMap<>();
+            params.put("source", getBundle());
+            devTools.send(new Command<>("Page.addScriptToEvaluateOnNewDocument", params));
+        } catch (Exception e) {
+            logger.warn("Failed to install page script helpers, injecting them on demand: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Call a synchronous helper
+     * @param driver WebDriver instance
+     * @param name Helper name, e.g. "select-option" or "click"
+     * @param args Helper arguments (elements, maps, lists and primitives)
+     * @return Helper result as returned by executeScript
+     */
+    public static Object call(WebDriver driver, String name, Object... args) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        Object[] callArgs = withName(name, args);
+        calls.incrementAndGet();
+        Object result = js.executeScript(CALL, callArgs);
+        if (MISSING.equals(result)) {
+            injections.incrementAndGet();
+            logger.debug("Injecting page script helpers for {}", name);
+            result = js.executeScript(getBundle() + "\n" + CALL, callArgs);
+        }
+        return result;
+    }
+
+    /**
+     * Call an asynchronous helper, which receives the WebDriver callback as its last argument
+     * @param driver WebDriver instance
+     * @param name Helper name, e.g. "observe-condition"
+     * @param args Helper arguments (elements, maps, lists and primitives)
+     * @return Value the helper passed to the callback
+     */
+    public static Object callAsync(WebDriver driver, String name, Object... args) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        Object[] callArgs = withName(name, args);
+        calls.incrementAndGet();
+        Object result = js.executeAsyncScript(CALL_ASYNC, callArgs);
+        if (MISSING.equals(result)) {
+            injections.incrementAndGet();
+            logger.debug("Injecting page script helpers for {}", name);
+            result = js.executeAsyncScript(getBundle() + "\n" + CALL_ASYNC, callArgs);
+        }
+        return result;
+    }
+
+    /**
+     * Get the helper bundle with all bundled script resources, built once
+     * @return Bundle source
+     */
+    public static String getBundle() {
+        if (bundle == null) {
+            StringBuilder scripts = new StringBuilder();
+            for (String name : BUNDLED_SCRIPTS) {
+                scripts.append("scripts['").append(name).append("'] = function () {\n")
+                    .append(Scripts.load(name))
+                    .append("\n};\n");
+            }
+            bundle = Scripts.load("insider-helpers").replace("/*SCRIPTS*/", scripts.toString());
+        }
+        return bundle;
+    }
+
+    /**
+     * Log how many helper calls were made and how many of them had to inject the bundle
+     */
+    public static void logStatistics() {
+        if (calls.get() > 0) {
+            logger.info("Page script helpers: {} calls, {} bundle injections of {} KB", calls.get(),
+                injections.get(), getBundle().length() / 1024);
+        }
+    }
+
+    private static Object[] withName(String name, Object[] args) {
+        List<Object> callArgs = new ArrayList<>(args.length + 1);
+        callArgs.add(name);
+        callArgs.addAll(Arrays.asList(args));
+        return callArgs.toArray();
+    }
+}
@@ -0,0 +1,160 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Page performance budgets: absolute limits per metric (performance.budget.&lt;metric&gt;) and
+ * regression limits against a stored per-page, per-browser baseline. Violations are collected
+ * per test thread and turned into test failures by the PerformanceBudgetListener.
+ */
+public class PerformanceBudget {
+    private static final Logger logger = LogManager.getLogger(PerformanceBudget.class);
+    private static final Json JSON = new Json();
+    private static final ThreadLocal<List<String>> violations = ThreadLocal.withInitial(ArrayList::new);
+    private static Map<String, Map<String, Object>> baseline;
+
+    private PerformanceBudget() {
+    }
+
+    /**
+     * Check page metrics against the absolute budgets and the baseline
+     * @param page Page name
+     * @param browser Browser name
+     * @param metrics Collected metrics
+     * @return Violations, empty if the page is within budget
+     */
+    public static List<String> check(String page, String browser, Map<String, Object> metrics) {
+        List<String> found = new ArrayList<>();
+        Map<String, Object> pageBaseline = getBaseline().get(baselineKey(page, browser));
+        double regressionPercent = ConfigReader.getPerformanceRegressionPercent();
+        double minDeltaMs = ConfigReader.getPerformanceRegressionMinDeltaMs();
+
+        metrics.forEach((metric, value) -> {
+            if (!(value instanceof Number)) {
+                return;
+            }
+            double actual = ((Number) value).doubleValue();
+            Double budget = ConfigReader.getPerformanceBudget(metric);
+            if (budget != null && actual > budget) {
+                found.add(String.format("%s %s=%s exceeds budget %s", page, metric, value, budget));
+            }
+            Object baselineValue = pageBaseline == null ? null : pageBaseline.get(metric);
+            if (metric.endsWith("Ms") && baselineValue instanceof Number) {
+                double expected = ((Number) baselineValue).doubleValue();
+                double limit = expected * (1 + regressionPercent / 100);
+                if (actual > limit && actual - expected >= minDeltaMs) {
+                    found.add(String.format("%s %s=%s regressed more than %s%% over baseline %s",
+                        page, metric, value, regressionPercent, baselineValue));
+                }
+            }
+        });
+        return found;
+    }
+
+    /**
+     * Record violations for the test running on the current thread
+     * @param pageViolations Violations found on a page
+     */
+    public static void recordViolations(List<String> pageViolations) {
+        violations.get().addAll(pageViolations);
+    }
+
+    /**
+     * Get and clear the violations recorded on the current thread
+     * @return Recorded violations
+     */
+    public static List<String> drainViolations() {
+        List<String> recorded = new ArrayList<>(violations.get());
+        violations.remove();
+        return recorded;
+    }
+
+    /**
+     * Clear the violations recorded on the current thread
+     */
+    public static void reset() {
+        violations.remove();
+    }
+
+    /**
+     * Replace the baseline with the median of each metric per page and browser
+     * @param samples Page performance samples of this run
+     */
+    @SuppressWarnings("unchecked")
+    public static synchronized void updateBaseline(List<Map<String, Object>> samples) {
+        Map<String, Map<String, List<Double>>> valuesByPage = new TreeMap<>();
+        for (Map<String, Object> sample : samples) {
+            String key = baselineKey((String) sample.get("page"), (String) sample.get("browser"));
+            Map<String, List<Double>> values = valuesByPage.computeIfAbsent(key, k -> new TreeMap<>());
+            ((Map<String, Object>) sample.get("metrics")).forEach((metric, value) -> {
+                if (value instanceof Number) {
+                    values.computeIfAbsent(metric, k -> new ArrayList<>()).add(((Number) value).doubleValue());
+                }
+            });
+        }
+
+        Map<String, Map<String, Object>> updated = new TreeMap<>(getBaseline());
+        valuesByPage.forEach((key, values) -> {
+            Map<String, Object> medians = new LinkedHashMap<>();
+            values.forEach((metric, list) -> medians.put(metric, median(list)));
+            updated.put(key, medians);
+        });
+
+        Path baselineFile = Paths.get(ConfigReader.getPerformanceBaselineFile());
+        try {
+            Path parent = baselineFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Files.write(baselineFile, JSON.toJson(updated).getBytes(StandardCharsets.UTF_8));
+            baseline = updated;
+            logger.info("Performance baseline updated for {} pages: {}", valuesByPage.size(), baselineFile);
+        } catch (IOException e) {
+            logger.error("Failed to write performance baseline: {}", baselineFile, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static synchronized Map<String, Map<String, Object>> getBaseline() {
+        if (baseline == null) {
+            baseline = new HashMap<>();
+            Path baselineFile = Paths.get(ConfigReader.getPerformanceBaselineFile());
+            if (Files.exists(baselineFile)) {
+                try {
+                    String content = new String(Files.readAllBytes(baselineFile), StandardCharsets.UTF_8);
+                    Map<String, Object> serialized = JSON.toType(content, Json.MAP_TYPE);
+                    serialized.forEach((key, value) -> baseline.put(key, (Map<String, Object>) value));
+                    logger.info("Loaded performance baseline for {} pages from {}", baseline.size(), baselineFile);
+                } catch (Exception e) {
+                    logger.warn("Failed to read performance baseline {}: {}", baselineFile, e.getMessage());
+                }
+            }
+        }
+        return baseline;
+    }
+
+    private static String baselineKey(String page, String browser) {
+        return page + "|" + browser;
+    }
+
+    private static double median(List<Double> values) {
+        List<Double> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int middle = sorted.size() / 2;
+        double median = sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+        return Math.round(median * 1000) / 1000.0;
+    }
+}
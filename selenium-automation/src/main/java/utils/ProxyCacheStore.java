@@ -0,0 +1,257 @@
+package utils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Indexed on-disk store of recorded HTTP responses used by {@link CachingProxy}.
+ * Responses are keyed by method, normalized URL and request body hash; bodies are
+ * stored content-addressed so identical payloads are written once.
+ */
+public class ProxyCacheStore {
+    private static final Logger logger = LogManager.getLogger(ProxyCacheStore.class);
+    private static final Json JSON = new Json();
+    private static final String INDEX_FILE = "index.json";
+    private static final String BODIES_DIR = "bodies";
+    private static final int INDEX_SAVE_INTERVAL = 25;
+
+    private final Path root;
+    private final Set<String> ignoredParams;
+    private final Map<String, Entry> index = new ConcurrentHashMap<>();
+    private final AtomicInteger unsavedEntries = new AtomicInteger();
+
+    /**
+     * Recorded response
+     */
+    public static class Entry {
+        private final String method;
+        private final String url;
+        private final int status;
+        private final List<String[]> headers;
+        private final String bodyHash;
+        private final String recordedAt;
+
+        Entry(String method, String url, int status, List<String[]> headers, String bodyHash, String recordedAt) {
+            this.method = method;
+            this.url = url;
+            this.status = status;
+            this.headers = headers;
+            this.bodyHash = bodyHash;
+            this.recordedAt = recordedAt;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public List<String[]> getHeaders() {
+            return headers;
+        }
+
+        Map<String, Object> toMap() {
+            List<Map<String, String>> headerList = new ArrayList<>();
+            for (String[] header : headers) {
+                Map<String, String> headerMap = new LinkedHashMap<>();
+                headerMap.put("name", header[0]);
+                headerMap.put("value", header[1]);
+                headerList.add(headerMap);
+            }
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("method", method);
+            map.put("url", url);
+            map.put("status", status);
+            map.put("headers", headerList);
+            map.put("body", bodyHash);
+            map.put("recordedAt", recordedAt);
+            return map;
+        }
+
+        @SuppressWarnings("unchecked")
+        static Entry fromMap(Map<String, Object> map) {
+            List<String[]> headers = new ArrayList<>();
+            for (Object header : (List<Object>) map.get("headers")) {
+                Map<String, Object> headerMap = (Map<String, Object>) header;
+                headers.add(new String[] {(String) headerMap.get("name"), (String) headerMap.get("value")});
+            }
+            return new Entry((String) map.get("method"), (String) map.get("url"),
+                ((Number) map.get("status")).intValue(), headers, (String) map.get("body"),
+                (String) map.get("recordedAt"));
+        }
+    }
+
+    public ProxyCacheStore(Path root, Set<String> ignoredParams) {
+        this.root = root;
+        this.ignoredParams = ignoredParams;
+        load();
+    }
+
+    /**
+     * Build the cache key of a request
+     * @param method HTTP method
+     * @param url Absolute request URL
+     * @param body Request body, may be empty
+     * @return Cache key
+     * @throws IllegalArgumentException If the URL cannot be parsed or has no host
+     */
+    public String key(String method, String url, byte[] body) {
+        StringBuilder key = new StringBuilder(method.toUpperCase()).append(' ').append(normalizeUrl(url));
+        if (body != null && body.length > 0) {
+            key.append(" #").append(Hashing.sha256Hex(body));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Look up a recorded response
+     * @param key Cache key
+     * @return Recorded entry, or null on a miss
+     */
+    public Entry get(String key) {
+        return index.get(key);
+    }
+
+    /**
+     * Read the body of a recorded response
+     * @param entry Recorded entry
+     * @return Body bytes
+     * @throws IOException if the body file cannot be read
+     */
+    public byte[] readBody(Entry entry) throws IOException {
+        return Files.readAllBytes(root.resolve(BODIES_DIR).resolve(entry.bodyHash));
+    }
+
+    /**
+     * Record a response
+     * @param key Cache key
+     * @param method HTTP method
+     * @param url Absolute request URL
+     * @param status Response status
+     * @param headers Response headers as name/value pairs
+     * @param body Response body
+     */
+    public void put(String key, String method, String url, int status, List<String[]> headers, byte[] body) {
+        String bodyHash = Hashing.sha256Hex(body);
+        try {
+            Path bodyFile = root.resolve(BODIES_DIR).resolve(bodyHash);
+            if (!Files.exists(bodyFile)) {
+                Files.createDirectories(bodyFile.getParent());
+                Path tempFile = Files.createTempFile(bodyFile.getParent(), bodyHash, ".tmp");
+                Files.write(tempFile, body);
+                Files.move(tempFile, bodyFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to store response body for {} {}: {}", method, url, e.getMessage());
+            return;
+        }
+
+        index.put(key, new Entry(method, url, status, headers, bodyHash, Instant.now().toString()));
+        if (unsavedEntries.incrementAndGet() >= INDEX_SAVE_INTERVAL) {
+            save();
+        }
+    }
+
+    /**
+     * Get number of recorded responses
+     * @return Index size
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Persist the index to disk
+     */
+    public synchronized void save() {
+        unsavedEntries.set(0);
+        Map<String, Object> serialized = new TreeMap<>();
+        index.forEach((key, entry) -> serialized.put(key, entry.toMap()));
+        try {
+            Files.createDirectories(root);
+            Path tempFile = Files.createTempFile(root, "index", ".tmp");
+            Files.write(tempFile, JSON.toJson(serialized).getBytes(StandardCharsets.UTF_8));
+            Files.move(tempFile, root.resolve(INDEX_FILE), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.error("Failed to save proxy cache index: {}", root.resolve(INDEX_FILE), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void load() {
+        Path indexFile = root.resolve(INDEX_FILE);
+        if (!Files.exists(indexFile)) {
+            return;
+        }
+        try {
+            String content = new String(Files.readAllBytes(indexFile), StandardCharsets.UTF_8);
+            Map<String, Object> serialized = JSON.toType(content, Json.MAP_TYPE);
+            serialized.forEach((key, value) -> index.put(key, Entry.fromMap((Map<String, Object>) value)));
+            logger.info("Loaded {} recorded responses from {}", index.size(), indexFile);
+        } catch (Exception e) {
+            logger.error("Failed to load proxy cache index, starting empty: {}", indexFile, e);
+        }
+    }
+
+    /**
+     * Normalize a URL for cache lookups: lower-case scheme and host, drop the fragment,
+     * remove volatile query parameters (cache busters, timestamps) and sort the rest
+     * @param url Absolute URL
+     * @return Normalized URL
+     * @throws IllegalArgumentException If the URL cannot be parsed or has no host
+     */
+    String normalizeUrl(String url) {
+        URI uri = URI.create(url);
+        // Server-based parsing fails quietly for hosts such as "my_host", leaving no host behind
+        if (uri.getScheme() == null || uri.getHost() == null) {
+            throw new IllegalArgumentException("Not an absolute URL with a host: " + url);
+        }
+        StringBuilder normalized = new StringBuilder();
+        normalized.append(uri.getScheme().toLowerCase()).append("://").append(uri.getHost().toLowerCase());
+        if (uri.getPort() != -1) {
+            normalized.append(':').append(uri.getPort());
+        }
+        normalized.append(uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath());
+
+        String query = uri.getRawQuery();
+        if (query != null && !query.isEmpty()) {
+            List<String> params = new ArrayList<>();
+            for (String param : query.split("&")) {
+                String name = param.contains("=") ? param.substring(0, param.indexOf('=')) : param;
+                if (!ignoredParams.contains(name)) {
+                    params.add(param);
+                }
+            }
+            Collections.sort(params);
+            if (!params.isEmpty()) {
+                normalized.append('?').append(String.join("&", params));
+            }
+        }
+        return normalized.toString();
+    }
+}
@@ -0,0 +1,50 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Report writer utility class for JSON reports, by default under the configured report path
+ */
+public class ReportWriter {
+    private static final Logger logger = LogManager.getLogger(ReportWriter.class);
+    private static final Json JSON = new Json();
+
+    private ReportWriter() {
+    }
+
+    /**
+     * Serialize data to JSON and write it to a report file
+     * @param fileName Report file name
+     * @param data Report data (maps, lists and primitives)
+     * @return Report file path, or null if writing failed
+     */
+    public static Path writeJson(String fileName, Object data) {
+        return writeJson(Paths.get(ConfigReader.getReportPath(), fileName), data);
+    }
+
+    /**
+     * Serialize data to JSON and write it to the given file
+     * @param reportFile Report file path
+     * @param data Report data (maps, lists and primitives)
+     * @return Report file path, or null if writing failed
+     */
+    public static Path writeJson(Path reportFile, Object data) {
+        try {
+            Files.createDirectories(reportFile.toAbsolutePath().getParent());
+            Files.write(reportFile, JSON.toJson(data).getBytes(StandardCharsets.UTF_8));
+            logger.info("Report written: {}", reportFile);
+            return reportFile;
+        } catch (IOException e) {
+            logger.error("Failed to write report: {}", reportFile, e);
+            return null;
+        }
+    }
+}
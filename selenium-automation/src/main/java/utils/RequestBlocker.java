@@ -0,0 +1,273 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Optional request filtering layer that blocks third-party URL patterns and resource types
+ * (analytics, chat widgets, fonts, video) which the assertions do not need.
+ * Chrome uses DevTools network interception and reports requests and bytes saved;
+ * Firefox falls back to preferences and tracking protection without per-request counts.
+ */
+public class RequestBlocker {
+    private static final Logger logger = LogManager.getLogger(RequestBlocker.class);
+
+    private final String browser;
+    private final boolean measured;
+    private final Map<String, AtomicLong> blockedByType = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> loadedBytesByType = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> loadedCountByType = new ConcurrentHashMap<>();
+    private final Map<String, String> requestTypes = new ConcurrentHashMap<>();
+    private final Set<String> fetchBlockedRequests = ConcurrentHashMap.newKeySet();
+
+    private RequestBlocker(String browser, boolean measured) {
+        this.browser = browser;
+        this.measured = measured;
+    }
+
+    /**
+     * Copy the current counters, e.g. at the start of a test on a reused session
+     * @return Detached statistics that no longer change
+     */
+    public RequestBlocker snapshot() {
+        RequestBlocker copy = new RequestBlocker(browser, measured);
+        copyCounters(blockedByType, copy.blockedByType, null);
+        copyCounters(loadedBytesByType, copy.loadedBytesByType, null);
+        copyCounters(loadedCountByType, copy.loadedCountByType, null);
+        return copy;
+    }
+
+    /**
+     * Get the statistics gathered since a snapshot of this session
+     * @param start Snapshot taken earlier with {@link #snapshot()}
+     * @return Detached statistics of the requests after the snapshot
+     */
+    public RequestBlocker since(RequestBlocker start) {
+        RequestBlocker delta = new RequestBlocker(browser, measured);
+        copyCounters(blockedByType, delta.blockedByType, start.blockedByType);
+        copyCounters(loadedBytesByType, delta.loadedBytesByType, start.loadedBytesByType);
+        copyCounters(loadedCountByType, delta.loadedCountByType, start.loadedCountByType);
+        return delta;
+    }
+
+    private static void copyCounters(Map<String, AtomicLong> from, Map<String, AtomicLong> to,
+                                     Map<String, AtomicLong> minus) {
+        from.forEach((type, count) -> {
+            AtomicLong earlier = minus != null ? minus.get(type) : null;
+            long value = count.get() - (earlier != null ? earlier.get() : 0);
+            if (value > 0) {
+                to.put(type, new AtomicLong(value));
+            }
+        });
+    }
+
+    /**
+     * Apply Firefox preferences that block fonts, media and tracking scripts.
+     * Must be called while building the options, before the browser starts.
+     * @param options Firefox options
+     */
+    public static void applyFirefoxPreferences(FirefoxOptions options) {
+        List<String> resourceTypes = ConfigReader.getBlockedResourceTypes();
+        if (resourceTypes.contains("Font")) {
+            options.addPreference("browser.display.use_document_fonts", 0);
+        }
+        if (resourceTypes.contains("Media")) {
+            options.addPreference("media.autoplay.default", 5);
+            options.addPreference("media.autoplay.blocking_policy", 2);
+        }
+        if (resourceTypes.contains("Image")) {
+            options.addPreference("permissions.default.image", 2);
+        }
+        if (!ConfigReader.getBlockedUrlPatterns().isEmpty()) {
+            options.addPreference("privacy.trackingprotection.enabled", true);
+            options.addPreference("privacy.trackingprotection.socialtracking.enabled", true);
+        }
+        logger.info("Applied Firefox request blocking preferences for resource types: {}", resourceTypes);
+    }
+
+    /**
+     * Attach request blocking to a started driver
+     * @param driver WebDriver instance
+     * @param browser Browser name (chrome/firefox)
+     * @return Request blocker holding the statistics for this session
+     */
+    public static RequestBlocker attach(WebDriver driver, String browser) {
+        if (!(driver instanceof HasDevTools)) {
+            logger.info("DevTools not available for {}, relying on browser preferences for request blocking", browser);
+            return new RequestBlocker(browser, false);
+        }
+
+        RequestBlocker blocker = new RequestBlocker(browser, true);
+        try {
+            blocker.enableDevToolsBlocking(((HasDevTools) driver).getDevTools());
+            return blocker;
+        } catch (Exception e) {
+            logger.warn("Failed to enable DevTools request blocking for {}: {}", browser, e.getMessage());
+            return new RequestBlocker(browser, false);
+        }
+    }
+
+    private void enableDevToolsBlocking(DevTools devTools) {
+        List<String> urlPatterns = ConfigReader.getBlockedUrlPatterns();
+        List<String> resourceTypes = ConfigReader.getBlockedResourceTypes();
+
+        devTools.createSessionIfThereIsNotOne();
+
+        devTools.addListener(event("Network.responseReceived"), params ->
+            requestTypes.put(String.valueOf(params.get("requestId")), String.valueOf(params.get("type"))));
+
+        devTools.addListener(event("Network.loadingFinished"), params -> {
+            String type = requestTypes.remove(String.valueOf(params.get("requestId")));
+            if (type != null) {
+                long bytes = ((Number) params.getOrDefault("encodedDataLength", 0)).longValue();
+                loadedBytesByType.computeIfAbsent(type, k -> new AtomicLong()).addAndGet(bytes);
+                loadedCountByType.computeIfAbsent(type, k -> new AtomicLong()).incrementAndGet();
+            }
+        });
+
+        devTools.addListener(event("Network.loadingFailed"), params -> {
+            String requestId = String.valueOf(params.get("requestId"));
+            if (params.containsKey("blockedReason") && !fetchBlockedRequests.remove(requestId)) {
+                countBlocked(String.valueOf(params.get("type")));
+            }
+        });
+
+        devTools.send(new Command<>("Network.enable", new HashMap<>()));
+        if (!urlPatterns.isEmpty()) {
+            Map<String, Object> params = new HashMap<>();
+            params.put("urls", urlPatterns);
+            devTools.send(new Command<>("Network.setBlockedURLs", params));
+        }
+
+        if (!resourceTypes.isEmpty()) {
+            devTools.addListener(event("Fetch.requestPaused"), params -> {
+                Object networkId = params.get("networkId");
+                if (networkId != null) {
+                    fetchBlockedRequests.add(String.valueOf(networkId));
+                }
+                countBlocked(String.valueOf(params.get("resourceType")));
+
+                Map<String, Object> failParams = new HashMap<>();
+                failParams.put("requestId", params.get("requestId"));
+                failParams.put("errorReason", "BlockedByClient");
+                devTools.send(new Command<>("Fetch.failRequest", failParams));
+            });
+
+            List<Map<String, Object>> fetchPatterns = new ArrayList<>();
+            for (String resourceType : resourceTypes) {
+                Map<String, Object> pattern = new HashMap<>();
+                pattern.put("urlPattern", "*");
+                pattern.put("resourceType", resourceType);
+                pattern.put("requestStage", "Request");
+                fetchPatterns.add(pattern);
+            }
+            Map<String, Object> params = new HashMap<>();
+            params.put("patterns", fetchPatterns);
+            devTools.send(new Command<>("Fetch.enable", params));
+        }
+
+        logger.info("DevTools request blocking enabled for {} - URL patterns: {}, resource types: {}",
+            browser, urlPatterns, resourceTypes);
+    }
+
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+
+    private void countBlocked(String type) {
+        blockedByType.computeIfAbsent(type, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Check if per-request statistics are available for this session
+     * @return true if requests and bytes are measured
+     */
+    public boolean isMeasured() {
+        return measured;
+    }
+
+    /**
+     * Get number of blocked requests
+     * @return Blocked request count
+     */
+    public long getBlockedRequests() {
+        return sum(blockedByType);
+    }
+
+    /**
+     * Get number of bytes transferred by requests that were not blocked
+     * @return Loaded bytes
+     */
+    public long getLoadedBytes() {
+        return sum(loadedBytesByType);
+    }
+
+    /**
+     * Estimate bytes saved by blocking, using the average transfer size of loaded
+     * requests of the same resource type (or of all types if none was loaded)
+     * @return Estimated bytes saved
+     */
+    public long getEstimatedBytesSaved() {
+        long loadedCount = sum(loadedCountByType);
+        double overallAverage = loadedCount == 0 ? 0 : (double) getLoadedBytes() / loadedCount;
+
+        double saved = 0;
+        for (Map.Entry<String, AtomicLong> entry : blockedByType.entrySet()) {
+            AtomicLong typeCount = loadedCountByType.get(entry.getKey());
+            AtomicLong typeBytes = loadedBytesByType.get(entry.getKey());
+            double average = typeCount != null && typeCount.get() > 0
+                ? (double) typeBytes.get() / typeCount.get()
+                : overallAverage;
+            saved += average * entry.getValue().get();
+        }
+        return Math.round(saved);
+    }
+
+    /**
+     * Convert statistics to a map for reports
+     * @return Statistics as an ordered map
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("browser", browser);
+        map.put("measured", measured);
+        if (measured) {
+            Map<String, Long> byType = new LinkedHashMap<>();
+            blockedByType.forEach((type, count) -> byType.put(type, count.get()));
+            map.put("blockedRequests", getBlockedRequests());
+            map.put("blockedByType", byType);
+            map.put("loadedBytes", getLoadedBytes());
+            map.put("estimatedBytesSaved", getEstimatedBytesSaved());
+        }
+        return map;
+    }
+
+    private static long sum(Map<String, AtomicLong> counters) {
+        return counters.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    @Override
+    public String toString() {
+        if (!measured) {
+            return String.format("%s request blocking: preferences only, no per-request statistics", browser);
+        }
+        return String.format("%s request blocking: %d requests blocked, ~%d KB saved, %d KB loaded",
+            browser, getBlockedRequests(), getEstimatedBytesSaved() / 1024, getLoadedBytes() / 1024);
+    }
+}
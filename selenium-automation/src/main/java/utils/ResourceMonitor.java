@@ -0,0 +1,281 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Samples memory (RSS from /proc) and CPU time of each driver's process tree - the driver
+ * service, the browser and its renderer/content processes - on a schedule. Samples are
+ * attributed to the test currently using the session, and sessions whose tree grows past
+ * resource.recycle.rss.mb are flagged so the driver can be recycled between tests.
+ */
+public class ResourceMonitor {
+    private static final Logger logger = LogManager.getLogger(ResourceMonitor.class);
+    private static final ResourceMonitor instance = new ResourceMonitor();
+    private static final Path PROC = Paths.get("/proc");
+
+    private final Set<Session> sessions = ConcurrentHashMap.newKeySet();
+    private final List<Map<String, Object>> testUsage = Collections.synchronizedList(new ArrayList<>());
+    private ScheduledExecutorService sampler;
+
+    /**
+     * Resource usage of one driver session
+     */
+    public static class Session {
+        private final String browser;
+        private final long pid;
+        private final Map<Long, Long> cpuMillisByPid = new ConcurrentHashMap<>();
+        private volatile String testName = "pool";
+        private volatile long rssKb;
+        private volatile int processCount;
+        private long testStartNanos;
+        private long testStartCpuMillis;
+        private long testPeakRssKb;
+        private long testRssTotalKb;
+        private int testSamples;
+
+        Session(String browser, long pid) {
+            this.browser = browser;
+            this.pid = pid;
+            this.testStartNanos = System.nanoTime();
+        }
+
+        public String getBrowser() {
+            return browser;
+        }
+
+        public long getPid() {
+            return pid;
+        }
+
+        /**
+         * Get RSS of the process tree at the last sample
+         * @return RSS in megabytes
+         */
+        public long getRssMb() {
+            return rssKb / 1024;
+        }
+
+        public int getProcessCount() {
+            return processCount;
+        }
+
+        /**
+         * Check if the process tree has grown past the recycle threshold
+         * @return true if the session should be recycled
+         */
+        public boolean isOverThreshold() {
+            long threshold = ConfigReader.getResourceRecycleRssMb();
+            return threshold > 0 && getRssMb() >= threshold;
+        }
+
+        /**
+         * Attribute following samples to a test
+         * @param name Test name
+         */
+        public synchronized void beginTest(String name) {
+            sample();
+            testName = name;
+            testStartNanos = System.nanoTime();
+            testStartCpuMillis = getCpuMillis();
+            testPeakRssKb = rssKb;
+            testRssTotalKb = 0;
+            testSamples = 0;
+        }
+
+        /**
+         * Take a final sample and summarize the usage since {@link #beginTest(String)}
+         * @return Usage of the current test as a report map
+         */
+        public synchronized Map<String, Object> endTest() {
+            sample();
+            long wallMillis = Math.max(1, Duration.ofNanos(System.nanoTime() - testStartNanos).toMillis());
+            long cpuMillis = getCpuMillis() - testStartCpuMillis;
+            Map<String, Object> usage = new LinkedHashMap<>();
+            usage.put("test", testName);
+            usage.put("browser", browser);
+            usage.put("pid", pid);
+            usage.put("processes", processCount);
+            usage.put("rssMb", getRssMb());
+            usage.put("peakRssMb", testPeakRssKb / 1024);
+            usage.put("avgRssMb", testSamples == 0 ? getRssMb() : testRssTotalKb / testSamples / 1024);
+            usage.put("cpuMillis", cpuMillis);
+            usage.put("cpuPercent", Math.round(cpuMillis * 1000.0 / wallMillis) / 10.0);
+            usage.put("wallMillis", wallMillis);
+            usage.put("samples", testSamples);
+            return usage;
+        }
+
+        /**
+         * Read RSS and CPU time of every live process in the tree
+         */
+        synchronized void sample() {
+            Optional<ProcessHandle> root = ProcessHandle.of(pid);
+            if (!root.isPresent() || !root.get().isAlive()) {
+                return;
+            }
+            List<ProcessHandle> tree;
+            try (Stream<ProcessHandle> descendants = root.get().descendants()) {
+                tree = Stream.concat(Stream.of(root.get()), descendants).collect(Collectors.toList());
+            }
+            long totalRssKb = 0;
+            for (ProcessHandle process : tree) {
+                totalRssKb += readRssKb(process.pid());
+                process.info().totalCpuDuration()
+                    .ifPresent(cpu -> cpuMillisByPid.put(process.pid(), cpu.toMillis()));
+            }
+            rssKb = totalRssKb;
+            processCount = tree.size();
+            testPeakRssKb = Math.max(testPeakRssKb, totalRssKb);
+            testRssTotalKb += totalRssKb;
+            testSamples++;
+        }
+
+        /**
+         * CPU time of all processes seen so far; exited processes keep their last value
+         */
+        private long getCpuMillis() {
+            return cpuMillisByPid.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s pid %d: %d processes, %d MB RSS", browser, pid, processCount, getRssMb());
+        }
+    }
+
+    private ResourceMonitor() {
+    }
+
+    public static ResourceMonitor getInstance() {
+        return instance;
+    }
+
+    /**
+     * Find the driver service process started by this JVM for a port
+     * @param port Port the driver service listens on
+     * @return Process id, or -1 if it cannot be determined
+     */
+    public static long findDriverProcess(int port) {
+        Pattern portArgument = Pattern.compile("--port[= ]" + port + "\\b");
+        try (Stream<ProcessHandle> children = ProcessHandle.current().children()) {
+            return children
+                .filter(process -> process.info().arguments()
+                    .map(args -> portArgument.matcher(String.join(" ", args)).find())
+                    .orElse(false))
+                .mapToLong(ProcessHandle::pid)
+                .findFirst()
+                .orElse(-1);
+        }
+    }
+
+    /**
+     * Start monitoring the process tree of a driver session
+     * @param browser Browser name
+     * @param pid Process id of the driver service
+     * @return Monitored session, or null if monitoring is disabled or the process is unknown
+     */
+    public Session register(String browser, long pid) {
+        if (!ConfigReader.isResourceMonitorEnabled() || pid < 0) {
+            return null;
+        }
+        Session session = new Session(browser, pid);
+        sessions.add(session);
+        startSampler();
+        return session;
+    }
+
+    /**
+     * Stop monitoring a session
+     * @param session Monitored session, may be null
+     */
+    public void unregister(Session session) {
+        if (session != null) {
+            sessions.remove(session);
+        }
+    }
+
+    /**
+     * Store the usage of a finished test for the report
+     * @param usage Usage returned by {@link Session#endTest()}
+     */
+    public void recordTestUsage(Map<String, Object> usage) {
+        testUsage.add(usage);
+    }
+
+    /**
+     * Write per-test resource usage to resource-usage.json
+     */
+    public void writeReport() {
+        List<Map<String, Object>> usage;
+        synchronized (testUsage) {
+            usage = new ArrayList<>(testUsage);
+        }
+        if (!usage.isEmpty()) {
+            ReportWriter.writeJson("resource-usage.json", usage);
+        }
+    }
+
+    private synchronized void startSampler() {
+        if (sampler != null) {
+            return;
+        }
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "resource-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = ConfigReader.getResourceMonitorIntervalMillis();
+        sampler.scheduleWithFixedDelay(this::sampleAll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private void sampleAll() {
+        for (Session session : sessions) {
+            try {
+                boolean wasOver = session.isOverThreshold();
+                session.sample();
+                if (!wasOver && session.isOverThreshold()) {
+                    logger.warn("{} [{}] crossed {} MB RSS, it will be recycled after the test", session,
+                        session.testName, ConfigReader.getResourceRecycleRssMb());
+                }
+            } catch (Exception e) {
+                logger.debug("Failed to sample {}: {}", session, e.getMessage());
+            }
+        }
+    }
+
+    private static long readRssKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(PROC.resolve(Long.toString(pid)).resolve("status"),
+                    StandardCharsets.UTF_8)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // No /proc (non-Linux agent) or the process just exited
+        }
+        return 0;
+    }
+}
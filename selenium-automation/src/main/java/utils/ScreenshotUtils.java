@@ -1,11 +1,9 @@
 package utils;
 
-import java.io.File;
-import java.io.IOException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.OutputType;
@@ -13,11 +11,13 @@ import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 
 /**
- * Screenshot utility class for capturing screenshots
+ * Screenshot utility class for capturing screenshots.
+ * Screenshots are captured as bytes on the calling thread and written by {@link ArtifactWriter}
+ * in the background, so the returned path may not exist until the writer is flushed.
  */
 public class ScreenshotUtils {
     private static final Logger logger = LogManager.getLogger(ScreenshotUtils.class);
-    private static final String SCREENSHOT_FORMAT = "yyyy-MM-dd_HH-mm-ss";
+    private static final DateTimeFormatter SCREENSHOT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
 
     /**
      * Capture screenshot and save to file
@@ -26,34 +26,8 @@ public class ScreenshotUtils {
      * @return Screenshot file path
      */
     public static String captureScreenshot(WebDriver driver, String testName) {
-        String screenshotPath = null;
-        
-        try {
-            String screenshotDir = ConfigReader.getScreenshotPath();
-            File directory = new File(screenshotDir);
-            if (!directory.exists()) {
-                directory.mkdirs();
-            }
-            
-            String timestamp = new SimpleDateFormat(SCREENSHOT_FORMAT).format(new Date());
-            String fileName = testName + "_" + timestamp + ".png";
-            screenshotPath = screenshotDir + fileName;
-            
-            TakesScreenshot takesScreenshot = (TakesScreenshot) driver;
-            File sourceFile = takesScreenshot.getScreenshotAs(OutputType.FILE);
-            File destFile = new File(screenshotPath);
-            
-            FileUtils.copyFile(sourceFile, destFile);
-            
-            logger.info("Screenshot captured successfully: {}", screenshotPath);
-            
-        } catch (IOException e) {
-            logger.error("Failed to capture screenshot for test: {}", testName, e);
-        } catch (Exception e) {
-            logger.error("Unexpected error while capturing screenshot for test: {}", testName, e);
-        }
-        
-        return screenshotPath;
+        String timestamp = LocalDateTime.now().format(SCREENSHOT_FORMAT);
+        return captureScreenshotWithCustomName(driver, testName + "_" + timestamp);
     }
 
     /**
@@ -66,24 +40,13 @@ public class ScreenshotUtils {
         String screenshotPath = null;
         
         try {
-            String screenshotDir = ConfigReader.getScreenshotPath();
-            File directory = new File(screenshotDir);
-            if (!directory.exists()) {
-                directory.mkdirs();
-            }
-            
-            screenshotPath = screenshotDir + fileName + ".png";
-            
-            TakesScreenshot takesScreenshot = (TakesScreenshot) driver;
-            File sourceFile = takesScreenshot.getScreenshotAs(OutputType.FILE);
-            File destFile = new File(screenshotPath);
-            
-            FileUtils.copyFile(sourceFile, destFile);
+            byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            Path target = ArtifactWriter.getInstance()
+                .submitScreenshot(screenshot, ConfigReader.getScreenshotPath(), fileName);
+            screenshotPath = target.toString();
             
             logger.info("Screenshot captured successfully: {}", screenshotPath);
             
-        } catch (IOException e) {
-            logger.error("Failed to capture screenshot with filename: {}", fileName, e);
         } catch (Exception e) {
             logger.error("Unexpected error while capturing screenshot with filename: {}", fileName, e);
         }
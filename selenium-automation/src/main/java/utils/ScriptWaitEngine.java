@@ -0,0 +1,127 @@
+package utils;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Wait engine that resolves conditions inside the browser with a MutationObserver and
+ * requestAnimationFrame watcher via executeAsyncScript. A wait costs one round trip and returns
+ * as soon as the condition holds, instead of polling over the wire every 500 ms.
+ */
+public class ScriptWaitEngine {
+    private static final Logger logger = LogManager.getLogger(ScriptWaitEngine.class);
+    private static final Duration DEFAULT_SCRIPT_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration SCRIPT_TIMEOUT_MARGIN = Duration.ofSeconds(2);
+    private static final Map<WebDriver, Duration> scriptTimeouts = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Set<WebDriver> unsupportedDrivers = Collections.newSetFromMap(
+        Collections.synchronizedMap(new WeakHashMap<>()));
+
+    /**
+     * Signals that the condition could not be evaluated in the browser and the caller should poll instead
+     */
+    public static class ScriptUnavailableException extends RuntimeException {
+        ScriptUnavailableException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    private final WebDriver driver;
+
+    public ScriptWaitEngine(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Check if a locator can be waited for in the browser
+     * @param locator Element locator, may be null when waiting on an element
+     * @return true if scripting is available for this driver and locator
+     */
+    public boolean supports(By locator) {
+        // A tab-multiplexed driver would hold the shared browser for the whole async wait
+        return driver instanceof JavascriptExecutor
+            && !(driver instanceof TabMultiplexer.TabContext)
+            && !unsupportedDrivers.contains(driver)
+            && (locator == null || ElementProbe.toScriptSpec(locator) != null);
+    }
+
+    /**
+     * Wait in the browser until a condition holds
+     * @param condition Condition name (present, visible, clickable, text, invisible, count)
+     * @param locator Element locator, or null when element is given
+     * @param element Element to watch, or null when locator is given
+     * @param text Expected text for the text condition
+     * @param count Minimum element count for the count condition
+     * @param timeout Maximum time to wait
+     * @return Result map; contains "element" for element conditions and "count" for the count condition
+     * @throws TimeoutException if the condition does not hold within the timeout
+     * @throws ScriptUnavailableException if the condition cannot be evaluated in the browser
+     */
+    public Map<String, Object> await(String condition, By locator, WebElement element, String text, int count,
+                                     Duration timeout) {
+        Map<String, Object> spec = new HashMap<>();
+        spec.put("condition", condition);
+        spec.put("locator", locator == null ? null : ElementProbe.toScriptSpec(locator));
+        spec.put("element", element);
+        spec.put("text", text);
+        spec.put("count", count);
+        spec.put("timeoutMs", timeout.toMillis());
+
+        ensureScriptTimeout(timeout.plus(SCRIPT_TIMEOUT_MARGIN));
+
+        Object result;
+        try {
+            result = PageScripts.callAsync(driver, "observe-condition", spec);
+        } catch (ScriptTimeoutException e) {
+            throw timeout(condition, locator, timeout);
+        } catch (UnsupportedCommandException e) {
+            unsupportedDrivers.add(driver);
+            throw new ScriptUnavailableException("Async scripts not supported by driver", e);
+        } catch (WebDriverException e) {
+            // Typically the document unloaded while the observer was installed
+            throw new ScriptUnavailableException("Observer wait interrupted: " + e.getMessage(), e);
+        }
+
+        if (!(result instanceof Map)) {
+            throw new ScriptUnavailableException("Unexpected observer result: " + result, null);
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> resultMap = (Map<String, Object>) result;
+        if (Boolean.TRUE.equals(resultMap.get("ok"))) {
+            return resultMap;
+        }
+        if (resultMap.containsKey("error")) {
+            throw new ScriptUnavailableException("Observer wait failed: " + resultMap.get("error"), null);
+        }
+        throw timeout(condition, locator, timeout);
+    }
+
+    private void ensureScriptTimeout(Duration required) {
+        Duration current = scriptTimeouts.getOrDefault(driver, DEFAULT_SCRIPT_TIMEOUT);
+        if (current.compareTo(required) < 0) {
+            driver.manage().timeouts().scriptTimeout(required);
+            scriptTimeouts.put(driver, required);
+            logger.debug("Raised script timeout to {} ms for observer waits", required.toMillis());
+        }
+    }
+
+    private static TimeoutException timeout(String condition, By locator, Duration timeout) {
+        return new TimeoutException(String.format(
+            "Expected condition failed: waiting for %s of %s (tried for %d ms with observer engine)",
+            condition, locator == null ? "element" : locator, timeout.toMillis()));
+    }
+}
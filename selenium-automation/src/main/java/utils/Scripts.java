@@ -0,0 +1,38 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loader for browser-side JavaScript kept under src/main/resources/js
+ */
+public class Scripts {
+    private static final Map<String, String> cache = new ConcurrentHashMap<>();
+
+    private Scripts() {
+    }
+
+    /**
+     * Load a script by name, cached after the first read
+     * @param name Script name without extension, e.g. "observe-condition"
+     * @return Script source
+     */
+    public static String load(String name) {
+        return cache.computeIfAbsent(name, Scripts::read);
+    }
+
+    private static String read(String name) {
+        String resource = "/js/" + name + ".js";
+        try (InputStream inputStream = Scripts.class.getResourceAsStream(resource)) {
+            if (inputStream == null) {
+                throw new IllegalStateException("Script resource not found: " + resource);
+            }
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read script resource: " + resource, e);
+        }
+    }
+}
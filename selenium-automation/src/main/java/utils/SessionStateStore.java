@@ -0,0 +1,220 @@
+package utils;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Snapshot of cookies and local/session storage taken once consent was given and popups were
+ * dismissed. New drivers get the snapshot injected before their first navigation so the cookie
+ * banner and marketing popups do not show up again. Chrome restores through DevTools without a
+ * navigation; Firefox first loads a cheap same-origin URL to set cookies and storage.
+ */
+public class SessionStateStore {
+    private static final Logger logger = LogManager.getLogger(SessionStateStore.class);
+    private static final Json JSON = new Json();
+    private static final String READ_STORAGE_SCRIPT =
+        "var read = function (storage) { var items = {};"
+        + " for (var i = 0; i < storage.length; i++) { var key = storage.key(i); items[key] = storage.getItem(key); }"
+        + " return items; };"
+        + " return {origin: location.origin, localStorage: read(window.localStorage),"
+        + " sessionStorage: read(window.sessionStorage)};";
+    private static final String RESTORED_MARKER = "__insiderStateRestored";
+    private static final AtomicLong versions = new AtomicLong();
+    // Restore script registered per DevTools session, removed when a newer snapshot is restored
+    private static final Map<DevTools, String> restoreScripts = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static volatile Snapshot snapshot;
+
+    /**
+     * Cookies and web storage of one origin
+     */
+    public static class Snapshot {
+        private final String origin;
+        private final List<Cookie> cookies;
+        private final Map<String, String> localStorage;
+        private final Map<String, String> sessionStorage;
+        private final Instant capturedAt;
+        private final long version;
+
+        Snapshot(String origin, List<Cookie> cookies, Map<String, String> localStorage,
+                 Map<String, String> sessionStorage) {
+            this.origin = origin;
+            this.cookies = Collections.unmodifiableList(cookies);
+            this.localStorage = Collections.unmodifiableMap(localStorage);
+            this.sessionStorage = Collections.unmodifiableMap(sessionStorage);
+            this.capturedAt = Instant.now();
+            this.version = versions.incrementAndGet();
+        }
+
+        public String getOrigin() {
+            return origin;
+        }
+
+        public List<Cookie> getCookies() {
+            return cookies;
+        }
+
+        public Instant getCapturedAt() {
+            return capturedAt;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s - %d cookies, %d localStorage and %d sessionStorage items", origin,
+                cookies.size(), localStorage.size(), sessionStorage.size());
+        }
+    }
+
+    private SessionStateStore() {
+    }
+
+    /**
+     * Get the shared snapshot
+     * @return Snapshot, or null if none was captured yet
+     */
+    public static Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Capture cookies and web storage of the current page and make them the shared snapshot
+     * @param driver WebDriver instance on a page of the origin to capture
+     * @return Captured snapshot, or null if reuse is disabled or capturing failed
+     */
+    @SuppressWarnings("unchecked")
+    public static Snapshot capture(WebDriver driver) {
+        if (!ConfigReader.isSessionStateReuseEnabled()) {
+            return null;
+        }
+        try {
+            Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript(READ_STORAGE_SCRIPT);
+            Map<String, String> sessionStorage = toStringMap((Map<String, Object>) storage.get("sessionStorage"));
+            sessionStorage.remove(RESTORED_MARKER);
+            Snapshot captured = new Snapshot((String) storage.get("origin"),
+                new ArrayList<>(driver.manage().getCookies()),
+                toStringMap((Map<String, Object>) storage.get("localStorage")), sessionStorage);
+            snapshot = captured;
+            logger.info("Session state captured: {}", captured);
+            return captured;
+        } catch (Exception e) {
+            logger.warn("Failed to capture session state: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Inject the shared snapshot into a new driver before its first navigation
+     * @param driver Undecorated WebDriver instance
+     * @return Restored snapshot, or null if none was restored
+     */
+    public static Snapshot restore(WebDriver driver) {
+        Snapshot current = snapshot;
+        if (current == null || !ConfigReader.isSessionStateReuseEnabled()) {
+            return null;
+        }
+        try {
+            if (driver instanceof HasDevTools) {
+                restoreWithDevTools(((HasDevTools) driver).getDevTools(), current);
+            } else {
+                restoreWithNavigation(driver, current);
+            }
+            logger.info("Session state restored: {}", current);
+            return current;
+        } catch (Exception e) {
+            logger.warn("Failed to restore session state, consent will be handled on the page: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static void restoreWithDevTools(DevTools devTools, Snapshot current) {
+        devTools.createSessionIfThereIsNotOne();
+
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        for (Cookie cookie : current.cookies) {
+            Map<String, Object> param = new LinkedHashMap<>();
+            param.put("name", cookie.getName());
+            param.put("value", cookie.getValue());
+            param.put("domain", cookie.getDomain());
+            param.put("path", cookie.getPath());
+            param.put("secure", cookie.isSecure());
+            param.put("httpOnly", cookie.isHttpOnly());
+            if (cookie.getExpiry() != null) {
+                param.put("expires", cookie.getExpiry().getTime() / 1000);
+            }
+            if (cookie.getSameSite() != null) {
+                param.put("sameSite", cookie.getSameSite());
+            }
+            cookies.add(param);
+        }
+        Map<String, Object> cookieParams = new HashMap<>();
+        cookieParams.put("cookies", cookies);
+        devTools.send(new Command<>("Network.setCookies", cookieParams));
+
+        Map<String, Object> scriptParams = new HashMap<>();
+        scriptParams.put("source", "if (location.origin === " + JSON.toJson(current.origin) + ") {"
+            + storageScript(current) + "}");
+        Map<String, Object> added = devTools.send(
+            new Command<Map<String, Object>>("Page.addScriptToEvaluateOnNewDocument", scriptParams, Map.class));
+
+        // Otherwise the script of the older snapshot keeps running first on every new document
+        String previous = restoreScripts.put(devTools, (String) added.get("identifier"));
+        if (previous != null) {
+            Map<String, Object> removeParams = new HashMap<>();
+            removeParams.put("identifier", previous);
+            devTools.send(new Command<>("Page.removeScriptToEvaluateOnNewDocument", removeParams));
+        }
+    }
+
+    private static void restoreWithNavigation(WebDriver driver, Snapshot current) {
+        driver.get(current.origin + ConfigReader.getSessionStateRestorePath());
+        String host = URI.create(current.origin).getHost();
+        for (Cookie cookie : current.cookies) {
+            String domain = cookie.getDomain();
+            if (domain != null && host.endsWith(domain.startsWith(".") ? domain.substring(1) : domain)) {
+                driver.manage().addCookie(cookie);
+            }
+        }
+        ((JavascriptExecutor) driver).executeScript(storageScript(current));
+    }
+
+    /**
+     * Build a script that writes the snapshot storage once per tab and snapshot; the marker holds
+     * the snapshot version so a newer snapshot is still written into a tab restored before
+     */
+    private static String storageScript(Snapshot current) {
+        String version = JSON.toJson(String.valueOf(current.version));
+        return "try { if (window.sessionStorage.getItem('" + RESTORED_MARKER + "') !== " + version + ") {"
+            + " var local = " + JSON.toJson(current.localStorage) + ";"
+            + " var session = " + JSON.toJson(current.sessionStorage) + ";"
+            + " Object.keys(local).forEach(function (key) { window.localStorage.setItem(key, local[key]); });"
+            + " Object.keys(session).forEach(function (key) { window.sessionStorage.setItem(key, session[key]); });"
+            + " window.sessionStorage.setItem('" + RESTORED_MARKER + "', " + version + "); } } catch (e) {}";
+    }
+
+    private static Map<String, String> toStringMap(Map<String, Object> values) {
+        Map<String, String> result = new LinkedHashMap<>();
+        if (values != null) {
+            values.forEach((key, value) -> result.put(key, String.valueOf(value)));
+        }
+        return result;
+    }
+}
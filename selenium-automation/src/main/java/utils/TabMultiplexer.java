@@ -0,0 +1,462 @@
+package utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.WrapsElement;
+
+/**
+ * Runs several tests concurrently in tabs of one browser instead of one browser per test.
+ * Each test gets a context driver bound to its own window handle. Contexts share the browser
+ * under a fair lock and switch to their handle before every command, so commands of different
+ * tests interleave but never run against the wrong tab. Page loads and implicit waits are
+ * awaited outside the lock, which is where the tests actually overlap.
+ * Meant for read-only checks that do not depend on window focus or open windows of their own.
+ */
+public class TabMultiplexer {
+    private static final Logger logger = LogManager.getLogger(TabMultiplexer.class);
+    private static final Map<String, TabMultiplexer> multiplexers = new ConcurrentHashMap<>();
+    private static final long POLL_MILLIS = 100;
+    private static final String NAVIGATION_MARKER = "__insiderTabNavigation";
+
+    private final String browser;
+    private final List<SharedBrowser> browsers = new ArrayList<>();
+    private final AtomicLong contextsOpened = new AtomicLong();
+
+    /**
+     * Implemented by context drivers handed out by the multiplexer
+     */
+    public interface TabContext {
+        /**
+         * Get the window handle the context currently runs in
+         * @return Window handle
+         */
+        String getContextHandle();
+    }
+
+    /**
+     * One browser instance shared by several contexts
+     */
+    private static final class SharedBrowser {
+        private final DriverFactory.LaunchedDriver launched;
+        private final WebDriver driver;
+        private final String homeHandle;
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private final Set<Context> contexts = ConcurrentHashMap.newKeySet();
+        private final AtomicLong commands = new AtomicLong();
+        private final AtomicLong switches = new AtomicLong();
+        private String currentHandle;
+        private int peakContexts;
+
+        SharedBrowser(DriverFactory.LaunchedDriver launched) {
+            this.launched = launched;
+            this.driver = launched.getDriver();
+            // Implicit waits are applied per context outside the lock
+            driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+            this.homeHandle = driver.getWindowHandle();
+            this.currentHandle = homeHandle;
+        }
+
+        <T> T execute(String handle, Callable<T> command) throws Throwable {
+            lock.lock();
+            try {
+                if (handle != null && !handle.equals(currentHandle)) {
+                    driver.switchTo().window(handle);
+                    currentHandle = handle;
+                    switches.incrementAndGet();
+                }
+                commands.incrementAndGet();
+                return command.call();
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Set<String> handlesOwnedByOthers(Context except) {
+            Set<String> owned = new LinkedHashSet<>();
+            owned.add(homeHandle);
+            for (Context context : contexts) {
+                if (context != except) {
+                    owned.addAll(context.ownedHandles);
+                }
+            }
+            return owned;
+        }
+    }
+
+    private TabMultiplexer(String browser) {
+        this.browser = browser;
+    }
+
+    /**
+     * Get the multiplexer of a browser
+     * @param browser Normalized browser name
+     * @return Tab multiplexer
+     */
+    public static TabMultiplexer forBrowser(String browser) {
+        return multiplexers.computeIfAbsent(browser, TabMultiplexer::new);
+    }
+
+    /**
+     * Open a new tab in a shared browser with free capacity, launching one when all are full
+     * @return Context driver bound to the new tab; quit() closes only the tab
+     */
+    public WebDriver openContext() {
+        SharedBrowser shared;
+        Context context;
+        synchronized (this) {
+            shared = browsers.stream()
+                .filter(candidate -> candidate.contexts.size() < ConfigReader.getTabMultiplexMaxTabs())
+                .findFirst()
+                .orElse(null);
+            if (shared == null) {
+                DriverFactory.LaunchedDriver launched = DriverPool.getInstance().take(browser);
+                shared = new SharedBrowser(launched != null ? launched : DriverFactory.launchDriver(browser));
+                browsers.add(shared);
+                logger.info("Launched shared {} browser #{} for tab-multiplexed tests", browser, browsers.size());
+            }
+            // Reserve the slot before the tab exists so concurrent callers respect the capacity
+            context = new Context(shared);
+            shared.contexts.add(context);
+            shared.peakContexts = Math.max(shared.peakContexts, shared.contexts.size());
+        }
+
+        SharedBrowser target = shared;
+        try {
+            String handle = target.execute(null, () -> {
+                target.driver.switchTo().newWindow(WindowType.TAB);
+                target.currentHandle = target.driver.getWindowHandle();
+                return target.currentHandle;
+            });
+            context.handle = handle;
+            context.ownedHandles.add(handle);
+        } catch (Throwable e) {
+            target.contexts.remove(context);
+            throw new RuntimeException("Failed to open tab in shared " + browser + " browser", e);
+        }
+        contextsOpened.incrementAndGet();
+        logger.info("Opened {} tab {} ({} tabs in use)", browser, context.handle, target.contexts.size());
+        return (WebDriver) Proxy.newProxyInstance(TabMultiplexer.class.getClassLoader(),
+            interfacesOf(target.driver.getClass(), TabContext.class), context);
+    }
+
+    /**
+     * Quit all shared browsers of all multiplexers
+     */
+    public static void shutdownAll() {
+        multiplexers.values().forEach(TabMultiplexer::shutdown);
+    }
+
+    private synchronized void shutdown() {
+        for (SharedBrowser shared : browsers) {
+            logger.info("Shared {} browser: peak {} concurrent tabs, {} commands, {} tab switches", browser,
+                shared.peakContexts, shared.commands.get(), shared.switches.get());
+            try {
+                shared.launched.quit();
+            } catch (Exception e) {
+                logger.warn("Failed to quit shared {} browser: {}", browser, e.getMessage());
+            }
+        }
+        if (!browsers.isEmpty()) {
+            logger.info("Tab multiplexer served {} {} tests with {} browser(s)", contextsOpened.get(), browser,
+                browsers.size());
+        }
+        browsers.clear();
+    }
+
+    /**
+     * Driver of one test: routes every call through the shared browser's lock after switching to
+     * the context's tab, and wraps returned elements, navigation and options the same way
+     */
+    private final class Context implements InvocationHandler {
+        private final SharedBrowser shared;
+        private final Set<String> ownedHandles = ConcurrentHashMap.newKeySet();
+        private volatile String handle;
+        private volatile Duration implicitWait = Duration.ofSeconds(ConfigReader.getImplicitWait());
+        private volatile boolean closed;
+
+        Context(SharedBrowser shared) {
+            this.shared = shared;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "TabContext(" + browser + ", " + handle + ")";
+                case "getContextHandle":
+                    return handle;
+                case "quit":
+                    close();
+                    return null;
+                case "get":
+                    navigate(String.valueOf(args[0]));
+                    return null;
+                case "findElement":
+                case "findElements":
+                    return wrap(proxy, find(shared.driver, method.getName().equals("findElement"), (By) args[0]));
+                case "close":
+                    execute(() -> {
+                        shared.driver.close();
+                        ownedHandles.remove(handle);
+                        shared.currentHandle = null;
+                        return null;
+                    });
+                    return null;
+                case "getWindowHandles":
+                    Set<String> handles = execute(() -> shared.driver.getWindowHandles());
+                    handles.removeAll(shared.handlesOwnedByOthers(this));
+                    ownedHandles.addAll(handles);
+                    return handles;
+                default:
+                    return wrap(proxy, execute(() -> method.invoke(shared.driver, unwrap(args))));
+            }
+        }
+
+        <T> T execute(Callable<T> command) throws Throwable {
+            if (closed) {
+                throw new IllegalStateException("Tab context " + handle + " was already quit");
+            }
+            return shared.execute(handle, command);
+        }
+
+        /**
+         * Start a navigation under the lock and wait for the new document outside of it. A URL that
+         * only changes the fragment of the current document loads no new document, so it does not
+         * set the marker and is not waited for.
+         */
+        void navigate(String url) throws Throwable {
+            Object newDocument = execute(() -> ((JavascriptExecutor) shared.driver).executeScript(
+                "var target = new URL(arguments[0], window.location.href).href;"
+                    + " var sameDocument = target.indexOf('#') >= 0"
+                    + " && target.split('#')[0] === window.location.href.split('#')[0];"
+                    + " if (!sameDocument) { window." + NAVIGATION_MARKER + " = true; }"
+                    + " window.location.href = target; return !sameDocument;", url));
+            if (Boolean.FALSE.equals(newDocument)) {
+                return;
+            }
+            long deadline = System.currentTimeMillis() + Duration.ofSeconds(ConfigReader.getExplicitWait()).toMillis();
+            while (true) {
+                Object loaded = null;
+                try {
+                    loaded = execute(() -> ((JavascriptExecutor) shared.driver).executeScript(
+                        "return !window." + NAVIGATION_MARKER + " && document.readyState === 'complete';"));
+                } catch (JavascriptException ignored) {
+                    // Document is being replaced, try again
+                }
+                if (Boolean.TRUE.equals(loaded)) {
+                    return;
+                }
+                if (System.currentTimeMillis() > deadline) {
+                    throw new TimeoutException("Page did not load in tab " + handle + ": " + url);
+                }
+                Thread.sleep(POLL_MILLIS);
+            }
+        }
+
+        /**
+         * Find elements with the context's implicit wait, polling outside the lock
+         */
+        Object find(SearchContext searchContext, boolean single, By by) throws Throwable {
+            long deadline = System.currentTimeMillis() + implicitWait.toMillis();
+            while (true) {
+                List<WebElement> found = execute(() -> searchContext.findElements(by));
+                if (!found.isEmpty()) {
+                    return single ? found.get(0) : found;
+                }
+                if (System.currentTimeMillis() >= deadline) {
+                    // Let the driver raise its own NoSuchElementException
+                    return single ? execute(() -> searchContext.findElement(by)) : found;
+                }
+                Thread.sleep(POLL_MILLIS);
+            }
+        }
+
+        void close() throws Throwable {
+            if (closed) {
+                return;
+            }
+            try {
+                shared.execute(null, () -> {
+                    Set<String> open = shared.driver.getWindowHandles();
+                    for (String owned : ownedHandles) {
+                        if (open.contains(owned)) {
+                            shared.driver.switchTo().window(owned);
+                            shared.driver.close();
+                        }
+                    }
+                    shared.driver.switchTo().window(shared.homeHandle);
+                    shared.currentHandle = shared.homeHandle;
+                    return null;
+                });
+            } finally {
+                closed = true;
+                shared.contexts.remove(this);
+                logger.info("Closed {} tab {} ({} tabs in use)", browser, handle, shared.contexts.size());
+            }
+        }
+
+        /**
+         * Wrap WebDriver API objects returned by a call so their calls go through this context too
+         */
+        Object wrap(Object contextProxy, Object result) {
+            if (result == null || result instanceof WebDriver) {
+                return result == null ? null : contextProxy;
+            }
+            if (result instanceof List) {
+                List<Object> wrapped = new ArrayList<>();
+                for (Object item : (List<?>) result) {
+                    wrapped.add(wrap(contextProxy, item));
+                }
+                return wrapped;
+            }
+            Class<?>[] interfaces = interfacesOf(result.getClass());
+            boolean seleniumApi = Arrays.stream(interfaces)
+                .anyMatch(type -> type.getName().startsWith("org.openqa.selenium."));
+            if (!seleniumApi || result instanceof String || result instanceof Collection || result instanceof Map) {
+                return result;
+            }
+            if (result instanceof WebElement && !(result instanceof WrapsElement)) {
+                interfaces = Arrays.copyOf(interfaces, interfaces.length + 1);
+                interfaces[interfaces.length - 1] = WrapsElement.class;
+            }
+            return Proxy.newProxyInstance(TabMultiplexer.class.getClassLoader(), interfaces,
+                new Nested(contextProxy, result));
+        }
+
+        /**
+         * Element, navigation, options and target locator calls of a context
+         */
+        private final class Nested implements InvocationHandler {
+            private final Object contextProxy;
+            private final Object target;
+
+            Nested(Object contextProxy, Object target) {
+                this.contextProxy = contextProxy;
+                this.target = target;
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0] || target.equals(unwrapOne(args[0]));
+                    case "hashCode":
+                        return target.hashCode();
+                    case "toString":
+                        return target.toString();
+                    case "getWrappedElement":
+                        return target instanceof WrapsElement ? ((WrapsElement) target).getWrappedElement() : target;
+                    case "implicitlyWait":
+                        implicitWait = args[0] instanceof Duration ? (Duration) args[0]
+                            : Duration.ofMillis(((TimeUnit) args[1]).toMillis((Long) args[0]));
+                        return proxy;
+                    case "getImplicitWaitTimeout":
+                        return implicitWait;
+                    case "to":
+                        navigate(args[0] instanceof URL ? ((URL) args[0]).toString() : String.valueOf(args[0]));
+                        return null;
+                    case "findElement":
+                    case "findElements":
+                        return wrap(contextProxy,
+                            find((SearchContext) target, method.getName().equals("findElement"), (By) args[0]));
+                    default:
+                        break;
+                }
+                Object result = execute(() -> {
+                    Object value = method.invoke(target, unwrap(args));
+                    if (method.getName().equals("window") && args != null && args[0] instanceof String) {
+                        // switchTo().window(...): the context follows the caller to that window
+                        handle = shared.currentHandle = (String) args[0];
+                        ownedHandles.add(handle);
+                    } else if (method.getName().equals("newWindow")) {
+                        handle = shared.currentHandle = shared.driver.getWindowHandle();
+                        ownedHandles.add(handle);
+                    }
+                    return value;
+                });
+                return wrap(contextProxy, result);
+            }
+        }
+
+        Object[] unwrap(Object[] args) {
+            if (args == null) {
+                return null;
+            }
+            Object[] unwrapped = new Object[args.length];
+            for (int i = 0; i < args.length; i++) {
+                unwrapped[i] = unwrapOne(args[i]);
+            }
+            return unwrapped;
+        }
+
+        Object unwrapOne(Object arg) {
+            if (arg instanceof Object[]) {
+                return unwrap((Object[]) arg);
+            }
+            if (arg instanceof List) {
+                List<Object> unwrapped = new ArrayList<>();
+                for (Object item : (List<?>) arg) {
+                    unwrapped.add(unwrapOne(item));
+                }
+                return unwrapped;
+            }
+            if (arg != null && Proxy.isProxyClass(arg.getClass())
+                    && Proxy.getInvocationHandler(arg) instanceof Nested) {
+                return ((Nested) Proxy.getInvocationHandler(arg)).target;
+            }
+            return arg;
+        }
+    }
+
+    private static Class<?>[] interfacesOf(Class<?> type, Class<?>... extra) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            collectInterfaces(current, interfaces);
+        }
+        interfaces.addAll(Arrays.asList(extra));
+        interfaces.removeIf(candidate -> !Modifier.isPublic(candidate.getModifiers()));
+        return interfaces.toArray(new Class<?>[0]);
+    }
+
+    private static void collectInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+        for (Class<?> candidate : type.getInterfaces()) {
+            if (interfaces.add(candidate)) {
+                collectInterfaces(candidate, interfaces);
+            }
+        }
+    }
+}
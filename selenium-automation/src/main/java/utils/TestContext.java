@@ -0,0 +1,90 @@
+package utils;
+
+/**
+ * Per-thread context of the running test, used to attribute metrics to a test and page
+ */
+public class TestContext {
+    private static final ThreadLocal<String> testNameThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<String> browserThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<String> pageThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> fixtureThreadLocal = new ThreadLocal<>();
+
+    private TestContext() {
+    }
+
+    /**
+     * Start a new test on the current thread
+     * @param testName Test method name
+     * @param browser Browser the test runs on
+     * @param fixture true if the test runs against generated fixture pages instead of the live site
+     */
+    public static void startTest(String testName, String browser, boolean fixture) {
+        testNameThreadLocal.set(testName);
+        browserThreadLocal.set(browser);
+        fixtureThreadLocal.set(fixture);
+        pageThreadLocal.remove();
+    }
+
+    /**
+     * Get the test running on the current thread
+     * @return Test name, or "unattributed" outside a test
+     */
+    public static String getTestName() {
+        String testName = testNameThreadLocal.get();
+        return testName != null ? testName : "unattributed";
+    }
+
+    /**
+     * Get the browser the test of the current thread runs on
+     * @return Browser name, or "-" outside a test
+     */
+    public static String getBrowser() {
+        String browser = browserThreadLocal.get();
+        return browser != null ? browser : "-";
+    }
+
+    /**
+     * Check if the test of the current thread runs against fixture pages
+     * @return true for fixture tests, false for live-site tests and outside a test
+     */
+    public static boolean isFixture() {
+        return Boolean.TRUE.equals(fixtureThreadLocal.get());
+    }
+
+    /**
+     * Get the key per-test metrics of the current thread are kept under, so the runs of a test on
+     * different browsers are counted apart
+     * @return Test name and browser, e.g. "testHomePage-chrome", or "unattributed" outside a test
+     */
+    public static String getTestKey() {
+        String browser = browserThreadLocal.get();
+        return browser != null ? getTestName() + "-" + browser : getTestName();
+    }
+
+    /**
+     * Set the page object currently in use
+     * @param page Page name
+     */
+    public static void setPage(String page) {
+        pageThreadLocal.set(page);
+    }
+
+    /**
+     * Get the page object currently in use
+     * @return Page name, or "-" before the first page object is created
+     */
+    public static String getPage() {
+        String page = pageThreadLocal.get();
+        return page != null ? page : "-";
+    }
+
+    /**
+     * Clear the context of the current thread
+     */
+    public static void clear() {
+        testNameThreadLocal.remove();
+        browserThreadLocal.remove();
+        fixtureThreadLocal.remove();
+        pageThreadLocal.remove();
+    }
+}
@@ -0,0 +1,143 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AsyncAppender;
+import org.apache.logging.log4j.core.appender.FileAppender;
+import org.apache.logging.log4j.core.appender.routing.RoutingAppender;
+import org.apache.logging.log4j.core.config.AppenderControl;
+import org.apache.logging.log4j.core.config.Configuration;
+
+/**
+ * Routes the log events of each test thread to test-output/logs/tests/&lt;test&gt;-&lt;browser&gt;.log
+ * through the ThreadContext keys the TestRoutingAppender of log4j2.xml is keyed by. When a test
+ * ends its file is closed, and with logging.per.test.keep=failed it is deleted unless the test
+ * failed, so only failed tests leave a full log next to the shared automation.log.
+ */
+public class TestLogRouter {
+    private static final Logger logger = LogManager.getLogger(TestLogRouter.class);
+    private static final String ROUTING_APPENDER = "TestRoutingAppender";
+    private static final String TEST_NAME_KEY = "testName";
+    private static final String BROWSER_KEY = "browser";
+    private static final long DRAIN_TIMEOUT_MILLIS = 2000;
+
+    // Routing key -> log file and whether any invocation of the test under that key failed
+    private static final Map<String, Path> logFiles = new ConcurrentHashMap<>();
+    private static final Map<String, Boolean> failedKeys = new ConcurrentHashMap<>();
+
+    private TestLogRouter() {
+    }
+
+    /**
+     * Route the current thread's log events to the log of a test
+     * @param testName Test method name
+     * @param browser Browser name
+     */
+    public static void startTest(String testName, String browser) {
+        ThreadContext.put(TEST_NAME_KEY, testName);
+        ThreadContext.put(BROWSER_KEY, browser);
+    }
+
+    /**
+     * Stop routing the current thread's events, close the test's log file and delete it if the
+     * test passed and only failed tests' logs are kept
+     * @param failed true if the test failed
+     */
+    public static void finishTest(boolean failed) {
+        String testName = ThreadContext.get(TEST_NAME_KEY);
+        String key = testName + "-" + ThreadContext.get(BROWSER_KEY);
+        ThreadContext.remove(TEST_NAME_KEY);
+        ThreadContext.remove(BROWSER_KEY);
+        if (testName == null) {
+            return;
+        }
+        if (failed) {
+            failedKeys.put(key, Boolean.TRUE);
+        }
+
+        Configuration configuration = ((LoggerContext) LogManager.getContext(false)).getConfiguration();
+        Appender appender = configuration.getAppender(ROUTING_APPENDER);
+        if (!(appender instanceof RoutingAppender)) {
+            return;
+        }
+        RoutingAppender routing = (RoutingAppender) appender;
+        drainAsyncAppenders(configuration);
+        AppenderControl control = routing.getAppenders().get(key);
+        if (control == null) {
+            return;
+        }
+        if (control.getAppender() instanceof FileAppender) {
+            logFiles.put(key, Paths.get(((FileAppender) control.getAppender()).getFileName()));
+        }
+        routing.deleteAppender(key);
+
+        Path logFile = logFiles.get(key);
+        if (logFile == null) {
+            return;
+        }
+        if (failedKeys.containsKey(key)) {
+            logger.info("Log of failed test kept: {}", logFile);
+        } else if (isKeepFailedOnly()) {
+            delete(logFile);
+        }
+    }
+
+    /**
+     * Delete logs of passed tests that were written to again after their test finished
+     */
+    public static void cleanUp() {
+        if (!isKeepFailedOnly()) {
+            return;
+        }
+        logFiles.forEach((key, logFile) -> {
+            if (!failedKeys.containsKey(key)) {
+                delete(logFile);
+            }
+        });
+    }
+
+    private static boolean isKeepFailedOnly() {
+        return "failed".equalsIgnoreCase(ConfigReader.getPerTestLogKeep());
+    }
+
+    /**
+     * Wait until the async appenders handed every queued event to the routing appender, so the
+     * test's file is complete before it is closed. An event still being written when the queue
+     * empties may reopen the file; cleanUp() removes such files of passed tests at suite end.
+     */
+    private static void drainAsyncAppenders(Configuration configuration) {
+        long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MILLIS;
+        for (Appender appender : configuration.getAppenders().values()) {
+            if (!(appender instanceof AsyncAppender)) {
+                continue;
+            }
+            AsyncAppender async = (AsyncAppender) appender;
+            while (async.getQueueSize() > 0 && System.currentTimeMillis() < deadline) {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void delete(Path logFile) {
+        try {
+            Files.deleteIfExists(logFile);
+        } catch (IOException e) {
+            logger.warn("Failed to delete log of passed test {}: {}", logFile, e.getMessage());
+        }
+    }
+}
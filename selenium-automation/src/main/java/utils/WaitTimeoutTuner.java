@@ -0,0 +1,238 @@
+package utils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Derives explicit-wait timeouts per logical wait condition from the durations the condition
+ * actually took in earlier runs. Successful wait durations are kept in wait.tuning.file (most
+ * recent wait.tuning.samples.max per condition); once a condition has wait.tuning.min.samples,
+ * its timeout is the wait.tuning.percentile duration times wait.tuning.factor, at least
+ * wait.tuning.floor.ms and at most the caller's default timeout. A missing element then fails
+ * after a few seconds instead of the full default. A condition that timed out on its tuned
+ * timeout gets the default timeout in the next run, so a slower site is measured rather than
+ * failing every run. Conditions are kept per browser; tests against fixture pages run with the
+ * default timeouts and record nothing, so their local timings do not shorten live-site waits.
+ */
+public class WaitTimeoutTuner {
+    private static final Logger logger = LogManager.getLogger(WaitTimeoutTuner.class);
+    private static final WaitTimeoutTuner instance = new WaitTimeoutTuner();
+    private static final Json JSON = new Json();
+
+    private final Map<String, Condition> conditions = new TreeMap<>();
+    private boolean loaded;
+
+    /**
+     * Stored and current-run durations of one wait condition
+     */
+    private static class Condition {
+        private final List<Long> samples = new ArrayList<>();
+        private final List<Long> runSamples = new ArrayList<>();
+        private boolean lastTimedOut;
+        private boolean runTimedOut;
+        private long runTimeouts;
+        private long appliedMillis;
+        private long defaultMillis;
+
+        List<Long> allSamples() {
+            List<Long> all = new ArrayList<>(samples);
+            all.addAll(runSamples);
+            int max = ConfigReader.getWaitTuningMaxSamples();
+            return all.size() > max ? new ArrayList<>(all.subList(all.size() - max, all.size())) : all;
+        }
+
+        Map<String, Object> toStore() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("samples", allSamples());
+            map.put("lastTimedOut", runSamples.isEmpty() && runTimeouts == 0 ? lastTimedOut : runTimedOut);
+            return map;
+        }
+    }
+
+    WaitTimeoutTuner() {
+    }
+
+    /**
+     * Get the shared tuner
+     * @return Wait timeout tuner
+     */
+    public static WaitTimeoutTuner getInstance() {
+        return instance;
+    }
+
+    /**
+     * Build the key of a wait condition, attributed to the current browser and page object
+     * @param condition Condition type, e.g. "visible"
+     * @param target Locator, condition description or name the condition waits for
+     * @return Condition key
+     */
+    public static String key(String condition, Object target) {
+        return TestContext.getBrowser() + "|" + TestContext.getPage() + "|" + condition + "|" + target;
+    }
+
+    /**
+     * Get the timeout for a wait condition
+     * @param key Condition key
+     * @param defaultTimeout Timeout used until the condition has enough samples, and the upper limit
+     * @return Tuned timeout, or the default timeout
+     */
+    public synchronized Duration getTimeout(String key, Duration defaultTimeout) {
+        String mode = ConfigReader.getWaitTuningMode();
+        if (isDisabled()) {
+            return defaultTimeout;
+        }
+        Condition condition = getCondition(key);
+        condition.defaultMillis = defaultTimeout.toMillis();
+        long timeoutMillis = defaultTimeout.toMillis();
+        List<Long> samples = condition.allSamples();
+        if ("tune".equalsIgnoreCase(mode) && !condition.lastTimedOut && !condition.runTimedOut
+                && samples.size() >= ConfigReader.getWaitTuningMinSamples()) {
+            long tuned = Math.round(percentile(samples, ConfigReader.getWaitTuningPercentile())
+                * ConfigReader.getWaitTuningFactor());
+            timeoutMillis = Math.min(timeoutMillis, Math.max(tuned, ConfigReader.getWaitTuningFloorMillis()));
+        }
+        condition.appliedMillis = timeoutMillis;
+        return Duration.ofMillis(timeoutMillis);
+    }
+
+    /**
+     * Record how long a wait took until its condition held
+     * @param key Condition key
+     * @param millis Wait duration in milliseconds
+     */
+    public synchronized void recordSuccess(String key, long millis) {
+        if (isDisabled()) {
+            return;
+        }
+        Condition condition = getCondition(key);
+        condition.runSamples.add(millis);
+        condition.runTimedOut = false;
+    }
+
+    /**
+     * Record a wait that timed out
+     * @param key Condition key
+     * @param timeout Timeout the wait used
+     * @param defaultTimeout Default timeout of the wait
+     */
+    public synchronized void recordTimeout(String key, Duration timeout, Duration defaultTimeout) {
+        if (isDisabled()) {
+            return;
+        }
+        Condition condition = getCondition(key);
+        condition.runTimeouts++;
+        if (timeout.compareTo(defaultTimeout) < 0) {
+            condition.runTimedOut = true;
+            logger.warn("Wait {} timed out after its tuned {} ms (default {} ms); it uses the default next time",
+                key, timeout.toMillis(), defaultTimeout.toMillis());
+        }
+    }
+
+    /**
+     * Store this run's wait durations in wait.tuning.file and write wait-timeouts.json
+     */
+    public synchronized void save() {
+        if ("off".equalsIgnoreCase(ConfigReader.getWaitTuningMode()) || !loaded) {
+            return;
+        }
+        Map<String, Object> store = new TreeMap<>();
+        List<Map<String, Object>> used = new ArrayList<>();
+        int tuned = 0;
+        for (Map.Entry<String, Condition> entry : conditions.entrySet()) {
+            Condition condition = entry.getValue();
+            store.put(entry.getKey(), condition.toStore());
+            if (condition.appliedMillis == 0) {
+                continue;
+            }
+            if (condition.appliedMillis < condition.defaultMillis) {
+                tuned++;
+            }
+            List<Long> samples = condition.allSamples();
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("condition", entry.getKey());
+            report.put("samples", samples.size());
+            report.put("runSamples", condition.runSamples.size());
+            report.put("runTimeouts", condition.runTimeouts);
+            report.put("p50Millis", samples.isEmpty() ? 0 : percentile(samples, 50));
+            report.put("maxMillis", samples.isEmpty() ? 0 : Collections.max(samples));
+            report.put("timeoutMillis", condition.appliedMillis);
+            report.put("defaultMillis", condition.defaultMillis);
+            used.add(report);
+        }
+
+        Path storeFile = Paths.get(ConfigReader.getWaitTuningFile());
+        try {
+            Path parent = storeFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Files.write(storeFile, JSON.toJson(store).getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            logger.error("Failed to write wait timings: {}", storeFile, e);
+        }
+        logger.info("Wait tuning: {} of {} wait conditions used a tuned timeout, timings stored in {}", tuned,
+            used.size(), storeFile);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("mode", ConfigReader.getWaitTuningMode());
+        report.put("conditions", used);
+        ReportWriter.writeJson("wait-timeouts.json", report);
+    }
+
+    private static boolean isDisabled() {
+        return "off".equalsIgnoreCase(ConfigReader.getWaitTuningMode()) || TestContext.isFixture();
+    }
+
+    private Condition getCondition(String key) {
+        load();
+        return conditions.computeIfAbsent(key, k -> new Condition());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        Path storeFile = Paths.get(ConfigReader.getWaitTuningFile());
+        if (!Files.exists(storeFile)) {
+            return;
+        }
+        try {
+            String content = new String(Files.readAllBytes(storeFile), StandardCharsets.UTF_8);
+            Map<String, Object> serialized = JSON.toType(content, Json.MAP_TYPE);
+            serialized.forEach((key, value) -> {
+                Map<String, Object> stored = (Map<String, Object>) value;
+                Condition condition = new Condition();
+                for (Object sample : (List<Object>) stored.getOrDefault("samples", Collections.emptyList())) {
+                    condition.samples.add(((Number) sample).longValue());
+                }
+                condition.lastTimedOut = Boolean.TRUE.equals(stored.get("lastTimedOut"));
+                conditions.put(key, condition);
+            });
+            logger.info("Loaded wait timings of {} conditions from {}", conditions.size(), storeFile);
+        } catch (Exception e) {
+            logger.warn("Failed to read wait timings {}: {}", storeFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Nearest-rank percentile
+     */
+    static long percentile(List<Long> samples, double percentile) {
+        List<Long> sorted = new ArrayList<>(samples);
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(sorted.size() * percentile / 100.0);
+        return sorted.get(Math.min(sorted.size() - 1, Math.max(0, rank - 1)));
+    }
+}
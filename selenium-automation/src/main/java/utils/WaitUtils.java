@@ -5,25 +5,40 @@ import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.interactions.Actions;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
- * Wait utility class providing various wait methods
+ * Wait utility class providing various wait methods. Every wait is timed per logical condition
+ * and runs with the timeout {@link WaitTimeoutTuner} derives from earlier durations of that
+ * condition, or the explicit wait when there are none yet.
  */
 public class WaitUtils {
     private static final Logger logger = LogManager.getLogger(WaitUtils.class);
-    private final WebDriverWait wait;
+    private static final Duration COMPOSITE_POLL_INTERVAL = Duration.ofMillis(100);
     private final WebDriver driver;
+    private final Duration timeout;
+    private final ScriptWaitEngine scriptWaits;
+    private final boolean useObserver;
+    private final WaitTimeoutTuner tuner = WaitTimeoutTuner.getInstance();
 
     public WaitUtils(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(ConfigReader.getExplicitWait()));
+        this.timeout = Duration.ofSeconds(ConfigReader.getExplicitWait());
+        this.scriptWaits = new ScriptWaitEngine(driver);
+        this.useObserver = "observer".equalsIgnoreCase(ConfigReader.getWaitEngine());
     }
 
     /**
@@ -34,7 +49,14 @@ public class WaitUtils {
     public WebElement waitForElementToBeVisible(By locator) {
         try {
             logger.debug("Waiting for element to be visible: {}", locator);
-            return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            return await("visible", locator, timeout, applied -> {
+                long deadline = deadline(applied);
+                Map<String, Object> result = observe("visible", locator, null, null, 0, applied);
+                if (result != null) {
+                    return (WebElement) result.get("element");
+                }
+                return new WebDriverWait(driver, remaining(deadline)).until(ExpectedConditions.visibilityOfElementLocated(locator));
+            });
         } catch (Exception e) {
             logger.error("Element not visible within timeout: {}", locator, e);
             throw e;
@@ -49,7 +71,14 @@ public class WaitUtils {
     public WebElement waitForElementToBeClickable(By locator) {
         try {
             logger.debug("Waiting for element to be clickable: {}", locator);
-            return wait.until(ExpectedConditions.elementToBeClickable(locator));
+            return await("clickable", locator, timeout, applied -> {
+                long deadline = deadline(applied);
+                Map<String, Object> result = observe("clickable", locator, null, null, 0, applied);
+                if (result != null) {
+                    return (WebElement) result.get("element");
+                }
+                return new WebDriverWait(driver, remaining(deadline)).until(ExpectedConditions.elementToBeClickable(locator));
+            });
         } catch (Exception e) {
             logger.error("Element not clickable within timeout: {}", locator, e);
             throw e;
@@ -64,7 +93,14 @@ public class WaitUtils {
     public WebElement waitForElementToBePresent(By locator) {
         try {
             logger.debug("Waiting for element to be present: {}", locator);
-            return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+            return await("present", locator, timeout, applied -> {
+                long deadline = deadline(applied);
+                Map<String, Object> result = observe("present", locator, null, null, 0, applied);
+                if (result != null) {
+                    return (WebElement) result.get("element");
+                }
+                return new WebDriverWait(driver, remaining(deadline)).until(ExpectedConditions.presenceOfElementLocated(locator));
+            });
         } catch (Exception e) {
             logger.error("Element not present within timeout: {}", locator, e);
             throw e;
@@ -79,7 +115,14 @@ public class WaitUtils {
     public List<WebElement> waitForElementsToBePresent(By locator) {
         try {
             logger.debug("Waiting for elements to be present: {}", locator);
-            return wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
+            return await("presentAll", locator, timeout, applied -> {
+                long deadline = deadline(applied);
+                List<WebElement> elements = observeAll(locator, applied);
+                if (elements != null) {
+                    return elements;
+                }
+                return new WebDriverWait(driver, remaining(deadline)).until(ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
+            });
         } catch (Exception e) {
             logger.error("Elements not present within timeout: {}", locator, e);
             throw e;
@@ -94,7 +137,14 @@ public class WaitUtils {
     public List<WebElement> waitForPresenceOfAllElements(By locator) {
         try {
             logger.debug("Waiting for all elements to be present: {}", locator);
-            return wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
+            return await("presentAll", locator, timeout, applied -> {
+                long deadline = deadline(applied);
+                List<WebElement> elements = observeAll(locator, applied);
+                if (elements != null) {
+                    return elements;
+                }
+                return new WebDriverWait(driver, remaining(deadline)).until(ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
+            });
         } catch (Exception e) {
             logger.error("Elements not present within timeout: {}", locator, e);
             throw e;
@@ -110,7 +160,14 @@ public class WaitUtils {
     public boolean waitForTextToBePresentInElement(By locator, String text) {
         try {
             logger.debug("Waiting for text '{}' to be present in element: {}", text, locator);
-            return wait.until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
+            return await("text", locator + " '" + text + "'", timeout, applied -> {
+                long deadline = deadline(applied);
+                if (observe("text", locator, null, text, 0, applied) != null) {
+                    return true;
+                }
+                return new WebDriverWait(driver, remaining(deadline))
+                    .until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
+            });
         } catch (Exception e) {
             logger.error("Text '{}' not present in element within timeout: {}", text, locator, e);
             throw e;
@@ -125,7 +182,8 @@ public class WaitUtils {
     public boolean waitForTitleToContain(String title) {
         try {
             logger.debug("Waiting for title to contain: {}", title);
-            return wait.until(ExpectedConditions.titleContains(title));
+            return await("title", title, timeout,
+                applied -> new WebDriverWait(driver, applied).until(ExpectedConditions.titleContains(title)));
         } catch (Exception e) {
             logger.error("Title does not contain '{}' within timeout", title, e);
             throw e;
@@ -140,7 +198,8 @@ public class WaitUtils {
     public boolean waitForUrlToContain(String url) {
         try {
             logger.debug("Waiting for URL to contain: {}", url);
-            return wait.until(ExpectedConditions.urlContains(url));
+            return await("url", url, timeout,
+                applied -> new WebDriverWait(driver, applied).until(ExpectedConditions.urlContains(url)));
         } catch (Exception e) {
             logger.error("URL does not contain '{}' within timeout", url, e);
             throw e;
@@ -148,13 +207,12 @@ public class WaitUtils {
     }
 
     /**
-     * Scroll element into view using JavaScript
+     * Smoothly scroll element to the viewport center and wait until it stopped moving
      * @param element WebElement to scroll to
      */
     public void scrollToElement(WebElement element) {
         try {
-            JavascriptExecutor js = (JavascriptExecutor) driver;
-            js.executeScript("arguments[0].scrollIntoView({behavior: 'smooth', block: 'center'});", element);
+            PageScripts.callAsync(driver, "scrollAndSettle", element, true, 1000);
             logger.debug("Scrolled to element successfully");
         } catch (Exception e) {
             logger.error("Failed to scroll to element", e);
@@ -170,7 +228,14 @@ public class WaitUtils {
     public WebElement waitForElementToBeVisible(WebElement element) {
         try {
             logger.debug("Waiting for element to be visible");
-            return wait.until(ExpectedConditions.visibilityOf(element));
+            // An element has no stable description across runs, so it is timed per page
+            return await("visible", "element", timeout, applied -> {
+                long deadline = deadline(applied);
+                if (observe("visible", null, element, null, 0, applied) != null) {
+                    return element;
+                }
+                return new WebDriverWait(driver, remaining(deadline)).until(ExpectedConditions.visibilityOf(element));
+            });
         } catch (Exception e) {
             logger.error("Element not visible within timeout", e);
             throw e;
@@ -197,8 +262,10 @@ public class WaitUtils {
      */
     public void waitForPageToLoad() {
         try {
-            wait.until(webDriver -> ((JavascriptExecutor) webDriver)
-                .executeScript("return document.readyState").equals("complete"));
+            // Kept inline: it runs right after navigation, before helpers are injected on demand
+            await("readyState", "complete", timeout, applied -> new WebDriverWait(driver, applied)
+                .until(webDriver -> ((JavascriptExecutor) webDriver)
+                    .executeScript("return document.readyState").equals("complete")));
             logger.debug("Page loaded completely");
         } catch (Exception e) {
             logger.error("Page did not load completely within timeout", e);
@@ -214,10 +281,180 @@ public class WaitUtils {
     public boolean waitForElementToBeInvisible(By locator) {
         try {
             logger.debug("Waiting for element to be invisible: {}", locator);
-            return wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+            return await("invisible", locator, timeout, applied -> {
+                long deadline = deadline(applied);
+                if (observe("invisible", locator, null, null, 0, applied) != null) {
+                    return true;
+                }
+                return new WebDriverWait(driver, remaining(deadline)).until(ExpectedConditions.invisibilityOfElementLocated(locator));
+            });
         } catch (Exception e) {
             logger.error("Element still visible after timeout: {}", locator, e);
             throw e;
         }
     }
+
+    /**
+     * Wait for at least the given number of elements to be present
+     * @param locator Element locator
+     * @param count Minimum number of elements
+     * @return Number of elements found
+     */
+    public int waitForElementCount(By locator, int count) {
+        try {
+            logger.debug("Waiting for at least {} elements: {}", count, locator);
+            return await("count>=" + count, locator, timeout, applied -> {
+                long deadline = deadline(applied);
+                Map<String, Object> result = observe("count", locator, null, null, count, applied);
+                if (result != null) {
+                    return ((Number) result.get("count")).intValue();
+                }
+                return new WebDriverWait(driver, remaining(deadline)).until(webDriver -> {
+                    int found = webDriver.findElements(locator).size();
+                    return found >= count ? found : null;
+                });
+            });
+        } catch (Exception e) {
+            logger.error("Fewer than {} elements present within timeout: {}", count, locator, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Wait for a composite all-of/any-of condition. All sub-conditions are evaluated by one
+     * script per poll; the result reports which sub-conditions resolved even on timeout.
+     * @param condition Composite condition
+     * @return Wait result
+     */
+    public CompositeCondition.Result waitForComposite(CompositeCondition condition) {
+        logger.debug("Waiting for composite condition: {}", condition);
+        Duration defaultTimeout = condition.getTimeout() != null ? condition.getTimeout() : timeout;
+        String key = WaitTimeoutTuner.key("composite", condition);
+        Duration compositeTimeout = tuner.getTimeout(key, defaultTimeout);
+        Map<String, Object> spec = condition.toScriptSpec();
+        long start = System.currentTimeMillis();
+        List<String> met = new ArrayList<>();
+        Map<String, WebElement> elements = new HashMap<>();
+        int[] polls = {0};
+
+        try {
+            new WebDriverWait(driver, compositeTimeout, COMPOSITE_POLL_INTERVAL)
+                .ignoring(JavascriptException.class)
+                .until(webDriver -> {
+                    polls[0]++;
+                    Map<String, Object> outcome = castMap(PageScripts.call(webDriver, "composite-condition", spec));
+                    met.clear();
+                    elements.clear();
+                    if (outcome.get("met") instanceof List) {
+                        for (Object label : (List<?>) outcome.get("met")) {
+                            met.add((String) label);
+                        }
+                    }
+                    castMap(outcome.get("elements")).forEach((label, element) -> elements.put(label, (WebElement) element));
+                    return condition.isSatisfiedBy(met);
+                });
+            CompositeCondition.Result result = new CompositeCondition.Result(true, met, elements,
+                System.currentTimeMillis() - start, polls[0]);
+            tuner.recordSuccess(key, result.getElapsedMillis());
+            logger.debug("Composite condition satisfied: {}", result);
+            return result;
+        } catch (TimeoutException e) {
+            CompositeCondition.Result result = new CompositeCondition.Result(false, met, elements,
+                System.currentTimeMillis() - start, polls[0]);
+            tuner.recordTimeout(key, compositeTimeout, defaultTimeout);
+            logger.warn("Composite condition {} not satisfied within {} ms: {}", condition,
+                compositeTimeout.toMillis(), result);
+            return result;
+        }
+    }
+
+    /**
+     * Wait for a page-specific condition, timed and tuned under the given name
+     * @param name Name of the condition, unique within the page object
+     * @param condition Condition returning a non-null, non-false value once it holds
+     * @param defaultTimeout Timeout until the condition has enough samples, and the upper limit
+     * @param <T> Condition result type
+     * @return Condition result
+     */
+    public <T> T waitFor(String name, Function<WebDriver, T> condition, Duration defaultTimeout) {
+        try {
+            logger.debug("Waiting for {}", name);
+            return await("named", name, defaultTimeout, applied -> new WebDriverWait(driver, applied).until(condition));
+        } catch (Exception e) {
+            logger.error("Condition '{}' not met within timeout", name, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Run a wait with the tuned timeout of its condition and record how long it took
+     * @param condition Condition type
+     * @param target Locator or description of what is waited for
+     * @param defaultTimeout Timeout of the wait without tuning
+     * @param waiter Wait to run with the timeout to apply
+     * @return Wait result
+     */
+    private <T> T await(String condition, Object target, Duration defaultTimeout, Function<Duration, T> waiter) {
+        String key = WaitTimeoutTuner.key(condition, target);
+        Duration applied = tuner.getTimeout(key, defaultTimeout);
+        long start = System.currentTimeMillis();
+        try {
+            T result = waiter.apply(applied);
+            tuner.recordSuccess(key, System.currentTimeMillis() - start);
+            return result;
+        } catch (TimeoutException e) {
+            tuner.recordTimeout(key, applied, defaultTimeout);
+            throw e;
+        }
+    }
+
+    /**
+     * Deadline of a wait that starts now
+     * @param timeout Timeout of the wait
+     * @return Deadline in System.nanoTime() terms
+     */
+    private static long deadline(Duration timeout) {
+        return System.nanoTime() + timeout.toNanos();
+    }
+
+    /**
+     * Time left until a deadline, so polling that follows an observer wait gone unavailable
+     * midway does not start the timeout over
+     * @param deadline Deadline in System.nanoTime() terms
+     * @return Remaining time, zero once the deadline passed
+     */
+    private static Duration remaining(long deadline) {
+        return Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> castMap(Object value) {
+        return value instanceof Map ? (Map<String, Object>) value : Collections.emptyMap();
+    }
+
+    /**
+     * Resolve a condition in the browser with the observer engine
+     * @return Observer result, or null if the caller should fall back to polling
+     */
+    private Map<String, Object> observe(String condition, By locator, WebElement element, String text, int count,
+            Duration timeout) {
+        if (!useObserver || !scriptWaits.supports(locator)) {
+            return null;
+        }
+        try {
+            return scriptWaits.await(condition, locator, element, text, count, timeout);
+        } catch (ScriptWaitEngine.ScriptUnavailableException e) {
+            logger.debug("Observer wait unavailable, polling instead: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private List<WebElement> observeAll(By locator, Duration timeout) {
+        if (observe("count", locator, null, null, 1, timeout) == null) {
+            return null;
+        }
+        List<WebElement> elements = driver.findElements(locator);
+        // Elements may have been removed again between the observer result and the lookup
+        return elements.isEmpty() ? null : elements;
+    }
 }
@@ -0,0 +1,47 @@
+// Evaluates every sub-condition of a composite wait in a single call.
+// arguments[0]: {conditions: [{label, type, locator: {using, value} | null, text}]}
+// Returns {met: [labels], elements: {label: element}}
+var spec = arguments[0];
+
+function contains(actual, expected) {
+  return (actual || '').toLowerCase().indexOf(expected.toLowerCase()) >= 0;
+}
+
+// findAll and isVisible come from the helper bundle
+function evaluate(condition) {
+  switch (condition.type) {
+    case 'urlContains':
+      return contains(window.location.href, condition.text) ? {} : null;
+    case 'titleContains':
+      return contains(document.title, condition.text) ? {} : null;
+  }
+  var all = findAll(condition.locator);
+  var first = all.length > 0 ? all[0] : null;
+  switch (condition.type) {
+    case 'present':
+      return first ? {element: first} : null;
+    case 'visible':
+      for (var i = 0; i < all.length; i++) {
+        if (isVisible(all[i])) { return {element: all[i]}; }
+      }
+      return null;
+    case 'clickable':
+      return first && isVisible(first) && !first.disabled ? {element: first} : null;
+    case 'text':
+      return first && contains(first.innerText || first.textContent, condition.text) ? {element: first} : null;
+    case 'selectedOption':
+      if (!first || !first.options || first.selectedIndex < 0) { return null; }
+      return contains(first.options[first.selectedIndex].text, condition.text) ? {element: first} : null;
+  }
+  throw new Error('Unknown composite condition type: ' + condition.type);
+}
+
+var met = [], elements = {};
+spec.conditions.forEach(function (condition) {
+  var match = evaluate(condition);
+  if (match) {
+    met.push(condition.label);
+    if (match.element) { elements[condition.label] = match.element; }
+  }
+});
+return {met: met, elements: elements};
@@ -0,0 +1,33 @@
+// Checks which of several locators match at least one element right now.
+// arguments[0]: [{using, value}]
+// Returns [true|false] in the order given
+var specs = arguments[0], result = [];
+
+// findLinks comes from the helper bundle
+for (var i = 0; i < specs.length; i++) {
+  var s = specs[i], found = false;
+  try {
+    switch (s.using) {
+      case 'css selector':
+        found = document.querySelector(s.value) !== null;
+        break;
+      case 'xpath':
+        found = document.evaluate(s.value, document, null,
+          XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue !== null;
+        break;
+      case 'tag name':
+        found = document.getElementsByTagName(s.value).length > 0;
+        break;
+      case 'link text':
+        found = findLinks(document, false, s.value).length > 0;
+        break;
+      case 'partial link text':
+        found = findLinks(document, true, s.value).length > 0;
+        break;
+    }
+  } catch (e) {
+    found = false;
+  }
+  result.push(found);
+}
+return result;
@@ -0,0 +1,139 @@
+// Helper library installed once per document as window.__insider. Java invokes helpers by name
+// through PageScripts with only the arguments on the wire. PageScripts adds the bundled script
+// resources at the SCRIPTS marker, each wrapped as a helper that sees the call arguments as its
+// own arguments. Async helpers take the WebDriver callback as their last argument. The functions
+// declared here are shared by the bundled scripts, which see them through the enclosing scope.
+(function () {
+  if (window.__insider) {
+    return;
+  }
+  var scripts = {};
+
+  function settle(element, maxMs, done) {
+    // Resolve once the element stopped moving for two animation frames, e.g. after smooth scrolling
+    var start = Date.now(), last = null, stable = 0;
+    function frame() {
+      var rect = element.getBoundingClientRect();
+      var position = Math.round(rect.top) + ',' + Math.round(rect.left);
+      stable = position === last ? stable + 1 : 0;
+      last = position;
+      if (stable >= 2 || Date.now() - start >= maxMs) {
+        done({top: rect.top, left: rect.left, settled: stable >= 2});
+        return;
+      }
+      requestAnimationFrame(frame);
+    }
+    requestAnimationFrame(frame);
+  }
+
+  // Links whose trimmed text equals the given text, or contains it when partial is true
+  function findLinks(context, partial, text) {
+    var links = Array.prototype.slice.call(context.querySelectorAll('a'));
+    return links.filter(function (a) {
+      var t = (a.innerText || a.textContent || '').trim();
+      return partial ? t.indexOf(text) >= 0 : t === text;
+    });
+  }
+
+  // Elements matching a WebDriver locator {using, value} under context, the document by default.
+  // Every call builds a fresh result; live collections such as getElementsByTagName are cached.
+  function findAll(locator, context) {
+    var root = context || document, using = locator.using, value = locator.value;
+    switch (using) {
+      case 'css selector':
+      case 'tag name':
+        return Array.prototype.slice.call(root.querySelectorAll(value));
+      case 'id':
+        return Array.prototype.slice.call(root.querySelectorAll('#' + CSS.escape(value)));
+      case 'name':
+        return Array.prototype.slice.call(root.querySelectorAll('[name="' + CSS.escape(value) + '"]'));
+      case 'class name':
+        return Array.prototype.slice.call(root.querySelectorAll('.' + CSS.escape(value)));
+      case 'xpath':
+        var snapshot = document.evaluate(value, root, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+        var nodes = [];
+        for (var i = 0; i < snapshot.snapshotLength; i++) {
+          nodes.push(snapshot.snapshotItem(i));
+        }
+        return nodes;
+      case 'link text':
+      case 'partial link text':
+        return findLinks(root, using === 'partial link text', value);
+    }
+    throw new Error('Unsupported locator strategy: ' + using);
+  }
+
+  // Mirrors WebDriver's isDisplayed, which ExpectedConditions.visibilityOf uses: hidden when not
+  // rendered, visibility:hidden, transparent together with its ancestors, or without a size of its
+  // own or of a child
+  function isVisible(el) {
+    if (!el.isConnected || el.getClientRects().length === 0) {
+      return false;
+    }
+    if (window.getComputedStyle(el).visibility === 'hidden') {
+      return false;
+    }
+    var opacity = 1;
+    for (var node = el; node && node.nodeType === 1; node = node.parentElement) {
+      opacity *= parseFloat(window.getComputedStyle(node).opacity);
+    }
+    return opacity > 0 && hasSize(el);
+  }
+
+  function hasSize(el) {
+    var rect = el.getBoundingClientRect();
+    if (rect.width > 0 && rect.height > 0) {
+      return true;
+    }
+    if (window.getComputedStyle(el).overflow === 'hidden') {
+      return false;
+    }
+    return Array.prototype.some.call(el.childNodes, function (child) {
+      return child.nodeType === 3 || (child.nodeType === 1 && hasSize(child));
+    });
+  }
+
+  // arguments[0]: element, arguments[1]: true for smooth scrolling
+  scripts.scrollIntoView = function (element, smooth) {
+    element.scrollIntoView({behavior: smooth ? 'smooth' : 'auto', block: 'center'});
+  };
+
+  // arguments[0]: element, arguments[1]: true for smooth scrolling, arguments[2]: settle limit in ms
+  scripts.scrollAndSettle = function (element, smooth, maxMs, done) {
+    element.scrollIntoView({behavior: smooth ? 'smooth' : 'auto', block: 'center'});
+    settle(element, maxMs || 1000, done);
+  };
+
+  // arguments[0]: element, arguments[1]: true to click the document body instead
+  scripts.click = function (element, body) {
+    (body ? document.body : element).click();
+  };
+
+  // arguments[0]: URL to open in a new tab
+  scripts.openWindow = function (url) {
+    return window.open(url, '_blank') !== null;
+  };
+
+  // Returns {url, title, domHash}; domHash is an FNV-1a hash of the serialized document
+  scripts.pageState = function () {
+    var html = document.documentElement ? document.documentElement.outerHTML : '';
+    var hash = 0x811c9dc5;
+    for (var i = 0; i < html.length; i++) {
+      hash ^= html.charCodeAt(i);
+      hash = Math.imul(hash, 0x01000193);
+    }
+    return {url: location.href, title: document.title, domHash: ('0000000' + (hash >>> 0).toString(16)).slice(-8)};
+  };
+
+  /*SCRIPTS*/
+
+  window.__insider = {
+    call: function (name, args) {
+      var script = scripts[name];
+      if (!script) {
+        throw new Error('Unknown page script: ' + name);
+      }
+      return script.apply(null, args);
+    }
+  };
+})();
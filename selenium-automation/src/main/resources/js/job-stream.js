@@ -0,0 +1,86 @@
+// Extracts the next batch of job cards not yet seen by a verification run and, once the rendered
+// cards are used up, loads more by clicking the next-page link or scrolling to the last card.
+// arguments[0]: job card selector; cards nested in another card are skipped
+// arguments[1]: run token cards are marked with
+// arguments[2]: batch size
+// arguments[3]: field selectors {title, department, location}
+// arguments[4]: next-page link selector
+// arguments[5]: true to load more when the batch exhausts the rendered cards
+// arguments[6]: pagination item selector to rewind a list left on a later page with, or null
+// Returns {jobs: [{title, department, location, visible}], remaining, rendered, action, navigating}
+// action is none, page, scroll, rewind, or pending while the cards shown before a rewind are still
+// rendered; navigating is true while a document is unloading or loading after a page action.
+var selector = arguments[0], token = arguments[1], size = arguments[2], fields = arguments[3],
+    nextSelector = arguments[4], allowLoad = arguments[5], pageItemSelector = arguments[6];
+var staleAttribute = 'data-job-stream-stale';
+
+function text(card, fieldSelector) {
+  var element = card.querySelector(fieldSelector);
+  return element ? (element.textContent || '').replace(/\s+/g, ' ').trim() : '';
+}
+
+function watchUnload() {
+  if (!window.__jobStreamUnloadWatched) {
+    window.__jobStreamUnloadWatched = true;
+    window.addEventListener('beforeunload', function () {
+      window.__jobStreamUnloading = true;
+    });
+  }
+}
+
+function result(jobs, remaining, action) {
+  return {jobs: jobs, remaining: remaining, rendered: all.length, action: action,
+    navigating: window.__jobStreamUnloading === true || document.readyState !== 'complete'};
+}
+
+function isActive(item) {
+  return item.classList.contains('active') || item.getAttribute('aria-current') !== null
+    || item.querySelector('[aria-current]') !== null;
+}
+
+var all = Array.prototype.filter.call(document.querySelectorAll(selector), function (card) {
+  return !(card.parentElement && card.parentElement.closest(selector));
+});
+
+// A list left on a later page is rewound to its first numbered page; Prev/Next items are not pages
+if (pageItemSelector) {
+  var items = Array.prototype.slice.call(document.querySelectorAll(pageItemSelector));
+  var numbered = items.filter(function (item) { return /^\d+$/.test((item.textContent || '').trim()); });
+  var active = items.filter(isActive)[0];
+  if (numbered.length > 0 && active && active !== numbered[0]) {
+    // The cards of the later page are read once they have been replaced by the first page's cards
+    all.forEach(function (card) { card.setAttribute(staleAttribute, token); });
+    watchUnload();
+    (numbered[0].querySelector('a') || numbered[0]).click();
+    return result([], 0, 'rewind');
+  }
+}
+if (document.querySelector('[' + staleAttribute + '="' + token + '"]')) {
+  return result([], 0, 'pending');
+}
+
+var unseen = all.filter(function (card) { return card.getAttribute('data-job-stream') !== token; });
+var batch = unseen.slice(0, size);
+var jobs = batch.map(function (card) {
+  card.setAttribute('data-job-stream', token);
+  return {
+    title: text(card, fields.title),
+    department: text(card, fields.department),
+    location: text(card, fields.location),
+    visible: card.getClientRects().length > 0
+  };
+});
+
+var action = 'none';
+if (allowLoad && unseen.length === batch.length) {
+  var next = nextSelector ? document.querySelector(nextSelector) : null;
+  if (next && !next.closest('.disabled') && next.getClientRects().length > 0) {
+    watchUnload();
+    next.click();
+    action = 'page';
+  } else if (all.length > 0) {
+    all[all.length - 1].scrollIntoView({block: 'end'});
+    action = 'scroll';
+  }
+}
+return result(jobs, unseen.length - batch.length, action);
@@ -0,0 +1,24 @@
+// Times the evaluation of one locator against the live DOM.
+// arguments[0]: {using, value}, arguments[1]: context element or null for the document,
+// arguments[2]: time budget in ms; the locator is evaluated at least 10 and at most 1000 times
+// until the budget is used, since performance.now() is coarse in most browsers.
+// Returns {micros: mean evaluation time, matched: number of matching nodes, runs, error}
+var spec = arguments[0], context = arguments[1] || document, budgetMs = arguments[2] || 5;
+
+// findAll of the helper bundle, so the profile times the same evaluation the wait conditions run
+function evaluate() {
+  return findAll(spec, context).length;
+}
+
+try {
+  var matched = evaluate();
+  var runs = 0, start = performance.now(), elapsed = 0;
+  while (runs < 1000 && (runs < 10 || elapsed < budgetMs)) {
+    evaluate();
+    runs++;
+    elapsed = performance.now() - start;
+  }
+  return {micros: elapsed * 1000 / runs, matched: matched, runs: runs, error: null};
+} catch (e) {
+  return {micros: 0, matched: 0, runs: 0, error: String(e && e.message || e)};
+}
@@ -0,0 +1,13 @@
+// Installed before any page script runs: records long tasks, which browsers do not buffer.
+(function () {
+  if (window.__insiderLongTasks || !window.PerformanceObserver
+      || (PerformanceObserver.supportedEntryTypes || []).indexOf('longtask') < 0) {
+    return;
+  }
+  window.__insiderLongTasks = [];
+  new PerformanceObserver(function (list) {
+    list.getEntries().forEach(function (entry) {
+      window.__insiderLongTasks.push({start: entry.startTime, duration: entry.duration});
+    });
+  }).observe({type: 'longtask'});
+})();
@@ -0,0 +1,68 @@
+// Resolves a wait condition in the browser the moment it holds.
+// arguments[0]: {condition, locator: {using, value} | null, element, text, count, timeoutMs}
+// arguments[1]: WebDriver async callback
+var spec = arguments[0];
+var done = arguments[arguments.length - 1];
+
+// findAll and isVisible come from the helper bundle
+function evaluate() {
+  var all = spec.element ? (spec.element.isConnected ? [spec.element] : []) : findAll(spec.locator);
+  var first = all.length > 0 ? all[0] : null;
+  switch (spec.condition) {
+    case 'present':
+      return first ? {element: first} : null;
+    case 'visible':
+      for (var i = 0; i < all.length; i++) {
+        if (isVisible(all[i])) { return {element: all[i]}; }
+      }
+      return null;
+    case 'clickable':
+      return first && isVisible(first) && !first.disabled ? {element: first} : null;
+    case 'text':
+      return first && (first.innerText || first.textContent || '').indexOf(spec.text) >= 0 ? {element: first} : null;
+    case 'invisible':
+      return !first || !isVisible(first) ? {} : null;
+    case 'count':
+      return all.length >= spec.count ? {count: all.length} : null;
+  }
+  throw new Error('Unknown wait condition: ' + spec.condition);
+}
+
+var settled = false, observer = null, timer = null;
+function finish(result) {
+  if (settled) { return; }
+  settled = true;
+  if (observer) { observer.disconnect(); }
+  if (timer) { clearTimeout(timer); }
+  done(result);
+}
+
+function check() {
+  if (settled) { return; }
+  try {
+    var match = evaluate();
+    if (match) {
+      match.ok = true;
+      finish(match);
+    }
+  } catch (e) {
+    finish({ok: false, error: String(e)});
+  }
+}
+
+function frameLoop() {
+  // Style-only changes (CSS transitions, class toggles on ancestors) may not mutate the
+  // observed subtree, so also re-check once per animation frame
+  check();
+  if (!settled) { requestAnimationFrame(frameLoop); }
+}
+
+check();
+if (!settled) {
+  observer = new MutationObserver(check);
+  observer.observe(document.documentElement || document, {
+    childList: true, subtree: true, attributes: true, characterData: true
+  });
+  timer = setTimeout(function () { finish({ok: false, timeout: true}); }, spec.timeoutMs);
+  requestAnimationFrame(frameLoop);
+}
@@ -0,0 +1,101 @@
+// Collects Navigation Timing, Resource Timing, paint, LCP, CLS and long tasks of the current document.
+// arguments[0]: WebDriver async callback
+var done = arguments[arguments.length - 1];
+var supported = (window.PerformanceObserver && PerformanceObserver.supportedEntryTypes) || [];
+var observers = [];
+
+function round(value) {
+  return value == null ? null : Math.round(value * 10) / 10;
+}
+
+function observe(type, onEntry) {
+  if (supported.indexOf(type) < 0) {
+    return false;
+  }
+  var observer = new PerformanceObserver(function (list) { list.getEntries().forEach(onEntry); });
+  observer.observe({type: type, buffered: true});
+  observers.push({observer: observer, onEntry: onEntry});
+  return true;
+}
+
+var lcp = null;
+var lcpSupported = observe('largest-contentful-paint', function (entry) {
+  lcp = Math.max(lcp || 0, entry.renderTime || entry.loadTime || entry.startTime);
+});
+
+var shifts = [];
+var clsSupported = observe('layout-shift', function (entry) {
+  if (!entry.hadRecentInput) { shifts.push(entry); }
+});
+
+// Long tasks are not buffered by the browser; prefer the observer installed at document start
+var longTasks = window.__insiderLongTasks ? window.__insiderLongTasks.slice() : [];
+var longTaskSupported = !!window.__insiderLongTasks || observe('longtask', function (entry) {
+  longTasks.push({start: entry.startTime, duration: entry.duration});
+});
+
+setTimeout(function () {
+  observers.forEach(function (registered) {
+    registered.observer.takeRecords().forEach(registered.onEntry);
+    registered.observer.disconnect();
+  });
+
+  // CLS as the largest session window: shifts less than 1 s apart, window capped at 5 s
+  var cls = 0, windowValue = 0, windowStart = 0, previous = 0;
+  shifts.sort(function (a, b) { return a.startTime - b.startTime; }).forEach(function (shift) {
+    if (windowValue > 0 && shift.startTime - previous < 1000 && shift.startTime - windowStart < 5000) {
+      windowValue += shift.value;
+    } else {
+      windowValue = shift.value;
+      windowStart = shift.startTime;
+    }
+    previous = shift.startTime;
+    cls = Math.max(cls, windowValue);
+  });
+
+  var metrics = {};
+  var nav = performance.getEntriesByType('navigation')[0];
+  if (nav) {
+    metrics.ttfbMs = round(nav.responseStart);
+    metrics.domInteractiveMs = round(nav.domInteractive);
+    metrics.domContentLoadedMs = round(nav.domContentLoadedEventEnd);
+    metrics.loadMs = round(nav.loadEventEnd);
+    metrics.documentTransferBytes = nav.transferSize;
+  }
+  performance.getEntriesByType('paint').forEach(function (paint) {
+    if (paint.name === 'first-contentful-paint') { metrics.fcpMs = round(paint.startTime); }
+  });
+  metrics.lcpMs = lcpSupported ? round(lcp) : null;
+  metrics.cls = clsSupported ? Math.round(cls * 1000) / 1000 : null;
+  if (longTaskSupported) {
+    metrics.longTaskCount = longTasks.length;
+    metrics.longTaskTotalMs = round(longTasks.reduce(function (sum, task) { return sum + task.duration; }, 0));
+    metrics.longTaskMaxMs = round(longTasks.reduce(function (max, task) { return Math.max(max, task.duration); }, 0));
+  }
+
+  var resources = performance.getEntriesByType('resource');
+  var byType = {};
+  var transferBytes = 0;
+  resources.forEach(function (resource) {
+    var type = byType[resource.initiatorType] || (byType[resource.initiatorType] = {count: 0, transferBytes: 0});
+    type.count++;
+    type.transferBytes += resource.transferSize || 0;
+    transferBytes += resource.transferSize || 0;
+  });
+  metrics.resourceCount = resources.length;
+  metrics.transferBytes = transferBytes;
+
+  var slowest = resources.slice().sort(function (a, b) { return b.duration - a.duration; }).slice(0, 5)
+    .map(function (resource) {
+      return {name: resource.name, initiatorType: resource.initiatorType, durationMs: round(resource.duration),
+        transferBytes: resource.transferSize || 0};
+    });
+
+  done({
+    url: location.href,
+    timeOrigin: performance.timeOrigin,
+    metrics: metrics,
+    resourcesByType: byType,
+    slowestResources: slowest
+  });
+}, 100);
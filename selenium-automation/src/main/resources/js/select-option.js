@@ -0,0 +1,73 @@
+// Selects an option of a native or select2-enhanced <select> by text and confirms the rendered selection.
+// arguments[0]: select element
+// arguments[1]: texts to match, in order of preference
+// arguments[2]: true to only read options and the current selection
+// Returns {found, matched, value, rendered, confirmed, select2, optionCount, options}
+var select = arguments[0], texts = arguments[1] || [], readOnly = arguments[2];
+
+function normalize(text) {
+  return (text || '').replace(/\s+/g, ' ').trim().toLowerCase();
+}
+
+function renderedText() {
+  var container = select.id ? document.getElementById('select2-' + select.id + '-container') : null;
+  if (!container && select.nextElementSibling) {
+    container = select.nextElementSibling.querySelector('.select2-selection__rendered');
+  }
+  if (container) {
+    return (container.getAttribute('title') || container.textContent || '').trim();
+  }
+  var selected = select.options[select.selectedIndex];
+  return selected ? selected.text.trim() : '';
+}
+
+var options = Array.prototype.slice.call(select.options);
+var result = {
+  found: false,
+  select2: select.classList.contains('select2-hidden-accessible'),
+  optionCount: options.length,
+  options: options.slice(0, 10).map(function (option) { return option.text.trim(); }),
+  rendered: renderedText()
+};
+if (readOnly) {
+  return result;
+}
+
+// Exact match on any text, then partial match on any text, then the part before the first comma
+var wanted = texts.map(normalize);
+var match = null;
+var strategies = [
+  function (text) { return wanted.indexOf(text) >= 0; },
+  function (text) { return wanted.some(function (w) { return w && text.indexOf(w) >= 0; }); },
+  function (text) {
+    var primary = wanted.length > 0 ? wanted[0].split(',')[0].trim() : '';
+    return primary && text.indexOf(primary) >= 0;
+  }
+];
+for (var s = 0; s < strategies.length && !match; s++) {
+  for (var i = 0; i < options.length && !match; i++) {
+    if (strategies[s](normalize(options[i].text))) { match = options[i]; }
+  }
+}
+if (!match) {
+  return result;
+}
+
+if (select.value !== match.value) {
+  if (window.jQuery && result.select2) {
+    var $select = window.jQuery(select);
+    $select.val(match.value).trigger('change');
+    $select.trigger({type: 'select2:select', params: {data: {id: match.value, text: match.text}}});
+  } else {
+    select.value = match.value;
+    select.dispatchEvent(new Event('input', {bubbles: true}));
+    select.dispatchEvent(new Event('change', {bubbles: true}));
+  }
+}
+
+result.found = true;
+result.matched = match.text.trim();
+result.value = match.value;
+result.rendered = renderedText();
+result.confirmed = select.value === match.value && normalize(result.rendered) === normalize(match.text);
+return result;
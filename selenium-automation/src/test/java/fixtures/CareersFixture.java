@@ -0,0 +1,254 @@
+package fixtures;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generated open positions data with the DOM structure of the live careers site: any number of
+ * jobs, listed at once, page by page or by infinite scroll. Jobs are generated from a seed, so
+ * the same fixture always produces the same page.
+ */
+public class CareersFixture {
+
+    /**
+     * How the job list is rendered
+     */
+    public enum Mode {
+        /** All jobs in one list */
+        ALL,
+        /** pageSize jobs per page with pagination links */
+        PAGED,
+        /** pageSize jobs, the next pageSize appended when scrolled to the end */
+        INFINITE
+    }
+
+    private static final String[][] LOCATIONS = {
+        {"istanbul-turkiye", "Istanbul, Turkiye"},
+        {"london-united-kingdom", "London, United Kingdom"},
+        {"amsterdam-netherlands", "Amsterdam, Netherlands"},
+        {"singapore-singapore", "Singapore, Singapore"}
+    };
+
+    private static final String[][] DEPARTMENTS = {
+        {"qualityassurance", "Quality Assurance"},
+        {"softwaredevelopment", "Software Development"},
+        {"sales", "Sales"}
+    };
+
+    private static final List<String> QA_TITLES = Arrays.asList(
+        "Software QA Engineer", "Senior Software Quality Assurance Engineer", "QA Automation Engineer",
+        "Quality Assurance Team Lead", "Manual QA Tester", "QA Engineer - Mobile");
+
+    private int jobs = 10;
+    private Mode mode = Mode.ALL;
+    private int pageSize = 50;
+    private boolean prevLink;
+    private long renderDelayMillis = 300;
+    private int otherLocationEvery;
+    private long seed = 42;
+
+    private CareersFixture() {
+    }
+
+    /**
+     * Create a fixture listing QA jobs in Istanbul
+     * @param count Number of jobs
+     * @return Fixture
+     */
+    public static CareersFixture jobs(int count) {
+        CareersFixture fixture = new CareersFixture();
+        fixture.jobs = count;
+        return fixture;
+    }
+
+    /**
+     * Render the list page by page or by infinite scroll instead of all at once
+     * @param mode Render mode
+     * @param pageSize Jobs per page or scroll batch
+     * @return This fixture
+     */
+    public CareersFixture mode(Mode mode, int pageSize) {
+        this.mode = mode;
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Start the pagination with a Prev item, disabled on the first page, like Bootstrap pagination
+     * @return This fixture
+     */
+    public CareersFixture withPrevLink() {
+        this.prevLink = true;
+        return this;
+    }
+
+    /**
+     * Set the delay between a filter change and the re-rendered list
+     * @param millis Delay in milliseconds
+     * @return This fixture
+     */
+    public CareersFixture renderDelay(long millis) {
+        this.renderDelayMillis = millis;
+        return this;
+    }
+
+    /**
+     * Place every n-th job in another location, so the location filter has something to remove
+     * @param every Interval, 0 keeps all jobs in Istanbul
+     * @return This fixture
+     */
+    public CareersFixture otherLocationEvery(int every) {
+        this.otherLocationEvery = every;
+        return this;
+    }
+
+    /**
+     * Set the seed job titles are picked with
+     * @param seed Random seed
+     * @return This fixture
+     */
+    public CareersFixture seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public int getJobs() {
+        return jobs;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public boolean hasPrevLink() {
+        return prevLink;
+    }
+
+    /**
+     * Count the generated jobs listed in Istanbul
+     * @return Jobs left after filtering by Istanbul
+     */
+    public int getIstanbulJobs() {
+        return (int) generateJobs().stream().filter(job -> LOCATIONS[0][0].equals(job.get("locationKey"))).count();
+    }
+
+    /**
+     * Generate the jobs of this fixture
+     * @return Job maps with id, title, department, team, location and locationKey
+     */
+    public List<Map<String, Object>> generateJobs() {
+        Random random = new Random(seed);
+        List<Map<String, Object>> generated = new ArrayList<>(jobs);
+        for (int i = 0; i < jobs; i++) {
+            boolean otherLocation = otherLocationEvery > 0 && i % otherLocationEvery == otherLocationEvery - 1;
+            String[] location = otherLocation ? LOCATIONS[1 + random.nextInt(LOCATIONS.length - 1)] : LOCATIONS[0];
+            Map<String, Object> job = new LinkedHashMap<>();
+            job.put("id", i + 1);
+            job.put("title", QA_TITLES.get(random.nextInt(QA_TITLES.size())) + " #" + (i + 1));
+            job.put("department", DEPARTMENTS[0][1]);
+            job.put("team", DEPARTMENTS[0][0]);
+            job.put("location", location[1]);
+            job.put("locationKey", location[0]);
+            generated.add(job);
+        }
+        return generated;
+    }
+
+    /**
+     * Build the page data the fixture page renders from
+     * @return Data of window.__careersFixture
+     */
+    Map<String, Object> toPageData() {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("mode", mode.name());
+        data.put("pageSize", pageSize);
+        data.put("prevLink", prevLink);
+        data.put("renderDelayMs", renderDelayMillis);
+        data.put("locations", toOptions(LOCATIONS));
+        data.put("departments", toOptions(DEPARTMENTS));
+        data.put("jobs", generateJobs());
+        return data;
+    }
+
+    /**
+     * Encode this fixture as URL query parameters
+     * @return Query string without the leading '?'
+     */
+    public String toQuery() {
+        return String.format("jobs=%d&mode=%s&pageSize=%d&prevLink=%b&renderDelay=%d&otherLocationEvery=%d&seed=%d",
+            jobs, mode.name().toLowerCase(Locale.ROOT), pageSize, prevLink, renderDelayMillis, otherLocationEvery, seed);
+    }
+
+    /**
+     * Read a fixture from URL query parameters, missing ones keep their defaults
+     * @param query Raw query string, may be null
+     * @return Fixture
+     */
+    static CareersFixture fromQuery(String query) {
+        CareersFixture fixture = new CareersFixture();
+        if (query == null) {
+            return fixture;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator < 0) {
+                continue;
+            }
+            String value = URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8);
+            switch (pair.substring(0, separator)) {
+                case "jobs":
+                    fixture.jobs = Integer.parseInt(value);
+                    break;
+                case "mode":
+                    fixture.mode = Mode.valueOf(value.toUpperCase(Locale.ROOT));
+                    break;
+                case "pageSize":
+                    fixture.pageSize = Integer.parseInt(value);
+                    break;
+                case "prevLink":
+                    fixture.prevLink = Boolean.parseBoolean(value);
+                    break;
+                case "renderDelay":
+                    fixture.renderDelayMillis = Long.parseLong(value);
+                    break;
+                case "otherLocationEvery":
+                    fixture.otherLocationEvery = Integer.parseInt(value);
+                    break;
+                case "seed":
+                    fixture.seed = Long.parseLong(value);
+                    break;
+                default:
+                    break;
+            }
+        }
+        return fixture;
+    }
+
+    private static List<Map<String, String>> toOptions(String[][] entries) {
+        List<Map<String, String>> options = new ArrayList<>();
+        for (String[] entry : entries) {
+            Map<String, String> option = new LinkedHashMap<>();
+            option.put("value", entry[0]);
+            option.put("text", entry[1]);
+            options.add(option);
+        }
+        return options;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d jobs, %s%s", jobs, mode == Mode.ALL ? "one list" : mode + " by " + pageSize,
+            prevLink ? " with Prev link" : "");
+    }
+}
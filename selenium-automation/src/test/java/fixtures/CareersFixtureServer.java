@@ -0,0 +1,136 @@
+package fixtures;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embedded HTTP server for {@link CareersFixture} pages on a free loopback port. Serves the QA
+ * careers page with the "See all QA jobs" link, the open positions page and a job detail page
+ * for the View Role links; fixture settings travel in the query string.
+ */
+public class CareersFixtureServer implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(CareersFixtureServer.class);
+    private static final Json JSON = new Json();
+    private static final String OPEN_POSITIONS_PATH = "/careers/open-positions/";
+    private static final String QUALITY_ASSURANCE_PATH = "/careers/quality-assurance/";
+    private static final String JOB_PATH = "/jobs/";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String template;
+
+    private CareersFixtureServer(HttpServer server, ExecutorService executor, String template) {
+        this.server = server;
+        this.executor = executor;
+        this.template = template;
+    }
+
+    /**
+     * Start a fixture server on a free port
+     * @return Running server
+     */
+    public static CareersFixtureServer start() {
+        try (InputStream in = CareersFixtureServer.class.getResourceAsStream("/fixtures/open-positions.html")) {
+            if (in == null) {
+                throw new IllegalStateException("Fixture template /fixtures/open-positions.html not found");
+            }
+            String template = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            ExecutorService executor = Executors.newFixedThreadPool(4, runnable -> {
+                Thread thread = new Thread(runnable, "careers-fixture");
+                thread.setDaemon(true);
+                return thread;
+            });
+            server.setExecutor(executor);
+            CareersFixtureServer fixtureServer = new CareersFixtureServer(server, executor, template);
+            server.createContext(OPEN_POSITIONS_PATH, fixtureServer::serveOpenPositions);
+            server.createContext(QUALITY_ASSURANCE_PATH, fixtureServer::serveQualityAssurance);
+            server.createContext(JOB_PATH, fixtureServer::serveJob);
+            server.start();
+            logger.info("Careers fixture server started at {}", fixtureServer.getBaseUrl());
+            return fixtureServer;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start careers fixture server", e);
+        }
+    }
+
+    /**
+     * Get the root URL of the server
+     * @return URL like http://127.0.0.1:port
+     */
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Get the open positions URL of a fixture, pre-filtered to the QA department
+     * @param fixture Fixture to render
+     * @return Page URL
+     */
+    public String getOpenPositionsUrl(CareersFixture fixture) {
+        return getBaseUrl() + OPEN_POSITIONS_PATH + "?department=qualityassurance&" + fixture.toQuery();
+    }
+
+    /**
+     * Get the QA careers page URL whose "See all QA jobs" link opens the fixture
+     * @param fixture Fixture to render
+     * @return Page URL
+     */
+    public String getQualityAssuranceUrl(CareersFixture fixture) {
+        return getBaseUrl() + QUALITY_ASSURANCE_PATH + "?" + fixture.toQuery();
+    }
+
+    private void serveOpenPositions(HttpExchange exchange) throws IOException {
+        CareersFixture fixture = CareersFixture.fromQuery(exchange.getRequestURI().getRawQuery());
+        String data = JSON.toJson(fixture.toPageData()).replace("</", "<\\/");
+        respond(exchange, template.replace("/*FIXTURE*/", "window.__careersFixture = " + data + ";"));
+    }
+
+    private void serveQualityAssurance(HttpExchange exchange) throws IOException {
+        String query = exchange.getRequestURI().getRawQuery();
+        respond(exchange, "<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Quality Assurance (fixture)</title>"
+            + "</head><body><h1>Quality Assurance</h1><a class=\"btn\" href=\"" + OPEN_POSITIONS_PATH
+            + "?department=qualityassurance" + (query != null ? "&amp;" + query.replace("&", "&amp;") : "")
+            + "\">See all QA jobs</a></body></html>");
+    }
+
+    private void serveJob(HttpExchange exchange) throws IOException {
+        String id = exchange.getRequestURI().getPath().substring(JOB_PATH.length());
+        respond(exchange, "<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Job " + id.replaceAll("\\D", "")
+            + " (fixture)</title></head><body><h2 class=\"posting-headline\">Job " + id.replaceAll("\\D", "")
+            + "</h2><a class=\"postings-btn\" href=\"#apply\">Apply for this job</a></body></html>");
+    }
+
+    private static void respond(HttpExchange exchange, String html) throws IOException {
+        byte[] body = html.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Stop the server
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        logger.info("Careers fixture server stopped");
+    }
+}
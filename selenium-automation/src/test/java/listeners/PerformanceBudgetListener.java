@@ -0,0 +1,59 @@
+package listeners;
+
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+import utils.ConfigReader;
+import utils.PerformanceBudget;
+
+/**
+ * TestNG listener that fails tests whose pages exceeded a performance budget
+ */
+public class PerformanceBudgetListener implements IInvokedMethodListener {
+    private static final Logger logger = LogManager.getLogger(PerformanceBudgetListener.class);
+
+    /**
+     * Called before a method is invoked
+     * @param method Invoked method
+     * @param testResult ITestResult containing test information
+     */
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            PerformanceBudget.reset();
+        }
+    }
+
+    /**
+     * Called after a method is invoked
+     * @param method Invoked method
+     * @param testResult ITestResult containing test information
+     */
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        List<String> violations = PerformanceBudget.drainViolations();
+        if (violations.isEmpty()) {
+            return;
+        }
+
+        String testName = testResult.getMethod().getMethodName();
+        if (!ConfigReader.isPerformanceBudgetEnforced()) {
+            logger.warn("{} exceeded {} performance budgets (not enforced)", testName, violations.size());
+            return;
+        }
+        if (testResult.getStatus() == ITestResult.SUCCESS) {
+            logger.error("{} failed performance budgets: {}", testName, violations);
+            testResult.setStatus(ITestResult.FAILURE);
+            testResult.setThrowable(new AssertionError("Performance budget exceeded: "
+                + String.join("; ", violations)));
+        }
+    }
+}
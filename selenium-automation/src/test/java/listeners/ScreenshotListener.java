@@ -35,8 +35,8 @@ public class ScreenshotListener implements ITestListener {
                     
                     if (screenshotPath != null) {
                         logger.info("Screenshot captured: {}", screenshotPath);
-                        
-                        System.setProperty("screenshot.path", screenshotPath);
+                        // Kept on the result for reporters; screenshot.path stays the directory
+                        result.setAttribute("screenshotPath", screenshotPath);
                     }
                 } else {
                     logger.warn("Driver not initialized, cannot capture screenshot");
@@ -0,0 +1,108 @@
+package locators;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import pages.Select2Dropdown;
+
+/**
+ * Caching of located elements and finding them again once they went stale
+ */
+public class LocatedElementTest {
+    private static final By LOCATION = By.id("filter-by-location");
+
+    /**
+     * Element whose commands return its text, or fail as stale once it was replaced
+     */
+    private static WebElement element(String text, boolean stale) {
+        return (WebElement) Proxy.newProxyInstance(WebElement.class.getClassLoader(), new Class<?>[] {WebElement.class},
+            (proxy, method, args) -> {
+                if ("toString".equals(method.getName())) {
+                    return text;
+                }
+                if (stale) {
+                    throw new StaleElementReferenceException(text + " is stale");
+                }
+                return "getText".equals(method.getName()) ? text : null;
+            });
+    }
+
+    /**
+     * Search context that finds the given elements in turn
+     */
+    private static SearchContext context(AtomicInteger finds, WebElement... found) {
+        return new SearchContext() {
+            @Override
+            public WebElement findElement(By by) {
+                return found[Math.min(finds.getAndIncrement(), found.length - 1)];
+            }
+
+            @Override
+            public List<WebElement> findElements(By by) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Test
+    public void testCachedElementIsFoundOnce() {
+        AtomicInteger finds = new AtomicInteger();
+        LocatedElement located = new LocatedElement(context(finds, element("Istanbul", false)), LOCATION, true);
+        Assert.assertEquals(located.getText(), "Istanbul");
+        Assert.assertEquals(located.getText(), "Istanbul");
+        Assert.assertEquals(finds.get(), 1);
+    }
+
+    @Test
+    public void testStaleCommandFindsElementAgain() {
+        AtomicInteger finds = new AtomicInteger();
+        LocatedElement located = new LocatedElement(
+            context(finds, element("old", true), element("Istanbul", false)), LOCATION, true);
+        Assert.assertThrows(StaleElementReferenceException.class, located::getText);
+        Assert.assertEquals(located.getText(), "Istanbul");
+        Assert.assertEquals(finds.get(), 2);
+    }
+
+    @Test
+    public void testStaleUnwrappedElementIsFoundAgain() {
+        AtomicInteger finds = new AtomicInteger();
+        WebElement old = element("old", true);
+        LocatedElement located = new LocatedElement(context(finds, old, element("Istanbul", false)), LOCATION, true);
+
+        // The driver unwraps element arguments of scripts, so the stale error never reaches the located element
+        Map<String, Object> selected = new HashMap<>();
+        selected.put("found", true);
+        selected.put("matched", "Istanbul, Turkey");
+        selected.put("rendered", "Istanbul, Turkey");
+        selected.put("confirmed", true);
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(),
+            new Class<?>[] {WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                if (!"executeScript".equals(method.getName())) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                for (Object arg : (Object[]) args[1]) {
+                    if (arg instanceof WrapsElement && ((WrapsElement) arg).getWrappedElement() == old) {
+                        throw new StaleElementReferenceException("select was re-rendered");
+                    }
+                }
+                return selected;
+            });
+
+        Select2Dropdown.Selection selection = new Select2Dropdown(driver, located, "Location").select("Istanbul");
+        Assert.assertEquals(selection.getMatched(), "Istanbul, Turkey");
+        Assert.assertEquals(finds.get(), 2);
+    }
+}
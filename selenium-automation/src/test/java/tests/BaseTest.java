@@ -1,54 +1,157 @@
 package tests;
 
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Optional;
 import org.testng.annotations.Parameters;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
 
+import utils.ActionMetrics;
+import utils.ArtifactWriter;
+import utils.CommandMetrics;
 import utils.ConfigReader;
 import utils.DriverFactory;
+import utils.DriverPool;
+import utils.DriverStartupMetrics;
+import utils.FlightRecorder;
+import utils.LocatorProfiler;
+import utils.PagePerformanceCollector;
+import utils.PageScripts;
+import utils.ReportWriter;
+import utils.ResourceMonitor;
+import utils.TabMultiplexer;
+import utils.RequestBlocker;
+import utils.TestContext;
+import utils.TestLogRouter;
+import utils.WaitTimeoutTuner;
 
 /**
  * Base Test class containing common setup and teardown methods
  */
 public class BaseTest {
     protected static final Logger logger = LogManager.getLogger(BaseTest.class);
+    protected static final String READ_ONLY_GROUP = "read-only";
+    private static final List<Map<String, Object>> requestBlockingResults = Collections.synchronizedList(new ArrayList<>());
     protected WebDriver driver;
     protected String browser;
+    // Command and retry counters of the test key when the current invocation started; they add up
+    // over the data-provider invocations of a test
+    private long roundTripsAtStart;
+    private double commandMillisAtStart;
+    private long retriesAtStart;
+    // Request blocking counters of the session when the current test started; a session serves
+    // several tests when the driver is class-scoped, and pooled sessions carry their warm-up
+    private RequestBlocker requestBlockingAtStart;
 
     /**
      * Set up test suite before all tests
      */
-    @BeforeSuite
-    public void suiteSetup() {
+    @BeforeSuite(alwaysRun = true)
+    public void suiteSetup(ITestContext context) {
         logger.info("=== Starting Test Suite ===");
         logger.info("Browser: {}", ConfigReader.getBrowser());
         logger.info("Base URL: {}", ConfigReader.getBaseUrl());
         logger.info("Headless: {}", ConfigReader.isHeadless());
+        DriverPool.getInstance().prewarm(getSuiteBrowsers(context), getSuiteWarmupUrl(context));
+    }
+
+    /**
+     * URL pooled sessions load while they wait for a test: the suite's warmupUrl parameter, or the
+     * base URL. Suites whose pages are not on the base URL set warmupUrl to none; multiplexed
+     * suites skip the load too, as their tests open tabs of their own.
+     * @param context Test context of the suite
+     * @return Warm-up URL, or null for none
+     */
+    private String getSuiteWarmupUrl(ITestContext context) {
+        XmlSuite suite = context.getSuite().getXmlSuite();
+        String warmupUrl = suite.getParameter("warmupUrl");
+        if ("none".equalsIgnoreCase(warmupUrl)) {
+            return null;
+        }
+        for (XmlTest test : suite.getTests()) {
+            if (Boolean.parseBoolean(test.getParameter("multiplex"))) {
+                return null;
+            }
+        }
+        return warmupUrl != null ? warmupUrl : ConfigReader.getBaseUrl();
+    }
+
+    /**
+     * Collect the browsers the suite runs on, resolved the same way as in {@link #setUp}
+     * @param context Test context of the suite
+     * @return Browser names
+     */
+    private Set<String> getSuiteBrowsers(ITestContext context) {
+        Set<String> browsers = new LinkedHashSet<>();
+        String systemBrowser = System.getProperty("browser");
+        if (systemBrowser != null) {
+            browsers.add(systemBrowser);
+            return browsers;
+        }
+        for (XmlTest test : context.getSuite().getXmlSuite().getTests()) {
+            String testBrowser = test.getParameter("browser");
+            browsers.add(testBrowser != null ? testBrowser : ConfigReader.getBrowser());
+        }
+        return browsers;
     }
 
     /**
-     * Set up before each test method
+     * Set up before each test method. With the multiplex suite parameter set to true, tests in the
+     * read-only group run in a tab of a shared browser instead of a browser of their own.
      */
-    @BeforeMethod
-    @Parameters({"browser"})
-    public void setUp(@Optional String browserParam) {
+    @BeforeMethod(alwaysRun = true)
+    @Parameters({"browser", "multiplex"})
+    public void setUp(@Optional String browserParam, @Optional String multiplexParam, Method method) {
         try {
             // First check system property, then parameter, then config file
             String systemBrowser = System.getProperty("browser");
             browser = systemBrowser != null ? systemBrowser : 
                      (browserParam != null) ? browserParam : 
                      ConfigReader.getBrowser();
+            TestContext.startTest(method.getName(), browser, isFixtureSuite());
+            // Also for tests on a class-scoped driver, so each of them gets its own log
+            TestLogRouter.startTest(method.getName(), browser);
+            snapshotTestCounters();
+
+            if (isDriverSharedAcrossMethods() && driver != null) {
+                logger.info("Reusing class-scoped driver for {}", method.getName());
+                snapshotRequestBlocking();
+                beginResourceTracking(method.getName());
+                return;
+            }
             
             logger.info("Setting up test with browser: {}", browser);
             logger.info("Browser from system property: {}", systemBrowser);
             
-            driver = DriverFactory.createDriver(browser);
+            if (Boolean.parseBoolean(multiplexParam) && isReadOnly(method)) {
+                driver = DriverFactory.createMultiplexedDriver(browser);
+            } else {
+                driver = DriverFactory.createDriver(browser);
+            }
+            snapshotRequestBlocking();
+            beginResourceTracking(method.getName());
             
             logger.info("Test setup completed successfully");
             
@@ -61,33 +164,209 @@ public class BaseTest {
     /**
      * Tear down after each test method
      */
-    @AfterMethod
-    public void tearDown() {
+    @AfterMethod(alwaysRun = true)
+    public void tearDown(ITestResult result) {
         try {
-            if (driver != null) {
+            if (DriverFactory.isDriverInitialized()) {
+                recordRequestBlocking(result.getMethod().getMethodName());
+                recordCommandMetrics(result.getMethod().getMethodName());
+                boolean overResourceThreshold = recordResourceUsage(result.getMethod().getMethodName());
+                if (isDriverSharedAcrossMethods()) {
+                    if (overResourceThreshold) {
+                        logger.info("Recycling class-scoped browser after {} - resource threshold exceeded",
+                            result.getMethod().getMethodName());
+                        DriverFactory.quitDriver();
+                        driver = null;
+                        onDriverRecycled();
+                    }
+                    return;
+                }
                 logger.info("Tearing down test - closing browser");
                 DriverFactory.quitDriver();
+                driver = null;
                 logger.info("Test teardown completed successfully");
             }
         } catch (Exception e) {
             logger.error("Error during test teardown", e);
+        } finally {
+            FlightRecorder.getInstance().finishTest(result.getMethod().getMethodName(),
+                result.getStatus() == ITestResult.FAILURE);
+            TestContext.clear();
+            TestLogRouter.finishTest(result.getStatus() == ITestResult.FAILURE);
+        }
+    }
+
+    /**
+     * Quit the class-scoped driver after the last test method of the class
+     */
+    @AfterClass(alwaysRun = true)
+    public void classTeardown() {
+        if (isDriverSharedAcrossMethods() && driver != null) {
+            logger.info("Closing class-scoped browser");
+            DriverFactory.quitDriver();
+            driver = null;
         }
     }
 
+    /**
+     * Keep one driver for all test methods of the class instead of one per method.
+     * Override in test classes that share browser state between their tests.
+     * @return true if the driver is created once and quit after the last test method
+     */
+    protected boolean isDriverSharedAcrossMethods() {
+        return false;
+    }
+
+    /**
+     * Mark test classes that run against generated fixture pages instead of the live site.
+     * Their waits run with the default timeouts and are not recorded for wait tuning.
+     * @return true if the tests of the class use fixture pages
+     */
+    protected boolean isFixtureSuite() {
+        return false;
+    }
+
+    /**
+     * Check if a test method only reads pages and can share a browser with other tests
+     * @param method Test method
+     * @return true if the method is in the read-only group
+     */
+    private boolean isReadOnly(Method method) {
+        Test test = method.getAnnotation(Test.class);
+        return test != null && Arrays.asList(test.groups()).contains(READ_ONLY_GROUP);
+    }
+
+    /**
+     * Called after a class-scoped driver was quit for exceeding the resource threshold; the next
+     * test method gets a new driver. Override to drop state bound to the old driver.
+     */
+    protected void onDriverRecycled() {
+    }
+
     /**
      * Tear down test suite after all tests
      */
-    @AfterSuite
+    @AfterSuite(alwaysRun = true)
     public void suiteTeardown() {
+        TabMultiplexer.shutdownAll();
+        DriverPool.getInstance().shutdown();
+        if (!ArtifactWriter.getInstance().flush(Duration.ofSeconds(30))) {
+            logger.warn("Not all failure artifacts were written before suite end");
+        }
+        if (!requestBlockingResults.isEmpty()) {
+            ReportWriter.writeJson("request-blocking.json", requestBlockingResults);
+        }
+        CommandMetrics.getInstance().writeReport(ConfigReader.getCommandMetricsTopN());
+        ActionMetrics.getInstance().writeReport();
+        WaitTimeoutTuner.getInstance().save();
+        LocatorProfiler.getInstance().writeReport();
+        PageScripts.logStatistics();
+        TestLogRouter.cleanUp();
+        PagePerformanceCollector.writeReport();
+        ResourceMonitor.getInstance().writeReport();
+        List<DriverStartupMetrics> allStartupMetrics = DriverFactory.getAllStartupMetrics();
+        for (DriverStartupMetrics metrics : allStartupMetrics) {
+            logger.info("Driver startup - {}", metrics);
+        }
+        if (!allStartupMetrics.isEmpty()) {
+            Map<String, Map<String, Object>> summary = DriverStartupMetrics.summarize(allStartupMetrics);
+            summary.forEach((key, entry) -> logger.info("Driver startup summary {} - {}", key, entry));
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("summary", summary);
+            report.put("sessions", allStartupMetrics.stream().map(DriverStartupMetrics::toMap).collect(Collectors.toList()));
+            ReportWriter.writeJson("driver-startup.json", report);
+        }
         logger.info("=== Test Suite Completed ===");
     }
 
     /**
-     * Get current WebDriver instance
+     * Remember the request blocking counters of the session at the start of a test
+     */
+    private void snapshotRequestBlocking() {
+        RequestBlocker blocker = DriverFactory.getRequestBlocker();
+        requestBlockingAtStart = blocker != null ? blocker.snapshot() : null;
+    }
+
+    /**
+     * Record request blocking statistics of the current test
+     * @param testName Test method name
+     */
+    private void recordRequestBlocking(String testName) {
+        RequestBlocker blocker = DriverFactory.getRequestBlocker();
+        if (blocker != null) {
+            if (requestBlockingAtStart != null) {
+                blocker = blocker.since(requestBlockingAtStart);
+            }
+            logger.info("{} [{}] - {}", testName, browser, blocker);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("test", testName);
+            entry.putAll(blocker.toMap());
+            requestBlockingResults.add(entry);
+        }
+    }
+
+    /**
+     * Remember the per-test counters at the start of an invocation
+     */
+    private void snapshotTestCounters() {
+        CommandMetrics.TestCommandStats stats = CommandMetrics.getInstance().getTestStats(TestContext.getTestKey());
+        roundTripsAtStart = stats != null ? stats.getRoundTrips() : 0;
+        commandMillisAtStart = stats != null ? stats.getTotalMillis() : 0;
+        retriesAtStart = ActionMetrics.getInstance().getTestRetries(TestContext.getTestKey());
+    }
+
+    /**
+     * Log round trips, WebDriver command time and element action retries of the current invocation
+     * @param testName Test method name
+     */
+    private void recordCommandMetrics(String testName) {
+        CommandMetrics.TestCommandStats stats = CommandMetrics.getInstance().getTestStats(TestContext.getTestKey());
+        if (stats != null) {
+            logger.info("{} [{}] - {} WebDriver round trips, {} ms in commands", testName, browser,
+                stats.getRoundTrips() - roundTripsAtStart, Math.round(stats.getTotalMillis() - commandMillisAtStart));
+        }
+        long retries = ActionMetrics.getInstance().getTestRetries(TestContext.getTestKey()) - retriesAtStart;
+        if (retries > 0) {
+            logger.info("{} [{}] - {} element action retries", testName, browser, retries);
+        }
+    }
+
+    /**
+     * Attribute resource samples of the current driver to a test
+     * @param testName Test method name
+     */
+    private void beginResourceTracking(String testName) {
+        ResourceMonitor.Session resources = DriverFactory.getResourceSession();
+        if (resources != null) {
+            resources.beginTest(testName);
+        }
+    }
+
+    /**
+     * Log and store memory and CPU used by the driver's process tree during the current test
+     * @param testName Test method name
+     * @return true if the process tree is over the recycle threshold
+     */
+    private boolean recordResourceUsage(String testName) {
+        ResourceMonitor.Session resources = DriverFactory.getResourceSession();
+        if (resources == null) {
+            return false;
+        }
+        Map<String, Object> usage = resources.endTest();
+        ResourceMonitor.getInstance().recordTestUsage(usage);
+        logger.info("{} [{}] - {} browser processes, peak {} MB RSS, {} ms CPU ({}%)", testName, browser,
+            usage.get("processes"), usage.get("peakRssMb"), usage.get("cpuMillis"), usage.get("cpuPercent"));
+        return resources.isOverThreshold();
+    }
+
+    /**
+     * Get the WebDriver instance of the current test thread. Use this rather than the driver
+     * field in tests that may run with parallel methods.
      * @return WebDriver instance
      */
     protected WebDriver getDriver() {
-        return driver;
+        WebDriver threadDriver = DriverFactory.getDriver();
+        return threadDriver != null ? threadDriver : driver;
     }
 
     /**
@@ -96,7 +375,7 @@ public class BaseTest {
     protected void navigateToBaseUrl() {
         String baseUrl = ConfigReader.getBaseUrl();
         logger.info("Navigating to base URL: {}", baseUrl);
-        driver.get(baseUrl);
+        getDriver().get(baseUrl);
     }
 
     /**
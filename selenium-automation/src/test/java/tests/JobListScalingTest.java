@@ -0,0 +1,180 @@
+package tests;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import fixtures.CareersFixture;
+import fixtures.CareersFixtureServer;
+import listeners.ScreenshotListener;
+import pages.QualityAssurancePage;
+import utils.CommandMetrics;
+import utils.ConfigReader;
+import utils.ReportWriter;
+import utils.TestContext;
+
+/**
+ * Benchmarks the QA job list page object against generated careers pages of growing size on a
+ * local fixture server. Time and WebDriver round trips of each operation are recorded per job
+ * count, and the suite fails when their growth between the two largest counts exceeds
+ * fixture.scaling.max.exponent. Paged and infinite-scroll lists are counted across all their pages.
+ */
+@Listeners(ScreenshotListener.class)
+public class JobListScalingTest extends BaseTest {
+
+    private static final String LOCATION = "Istanbul, Turkey";
+    private static final String DEPARTMENT = "Quality Assurance";
+    private static final int OTHER_LOCATION_EVERY = 10;
+    private static final int PAGE_SIZE = 50;
+    // Timings below this are dominated by noise and are not compared
+    private static final double MIN_COMPARED_MILLIS = 50;
+
+    private final List<Map<String, Object>> measurements = new ArrayList<>();
+    private CareersFixtureServer server;
+
+    @Override
+    protected boolean isDriverSharedAcrossMethods() {
+        return true;
+    }
+
+    @Override
+    protected boolean isFixtureSuite() {
+        return true;
+    }
+
+    @BeforeClass(alwaysRun = true)
+    public void startFixtureServer() {
+        server = CareersFixtureServer.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopFixtureServer() {
+        if (!measurements.isEmpty()) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("browser", getBrowser());
+            report.put("exponents", getExponents());
+            report.put("measurements", measurements);
+            ReportWriter.writeJson("job-list-scaling-" + getBrowser() + ".json", report);
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @DataProvider(name = "listSizes")
+    public Object[][] listSizes() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int count : ConfigReader.getFixtureScalingJobCounts()) {
+            rows.add(new Object[]{CareersFixture.jobs(count).otherLocationEvery(OTHER_LOCATION_EVERY)});
+        }
+        rows.add(new Object[]{CareersFixture.jobs(1000).otherLocationEvery(OTHER_LOCATION_EVERY)
+            .mode(CareersFixture.Mode.PAGED, PAGE_SIZE)});
+        // Bootstrap-style pagination starting with a Prev item that is neither a page nor active
+        rows.add(new Object[]{CareersFixture.jobs(1000).otherLocationEvery(OTHER_LOCATION_EVERY)
+            .mode(CareersFixture.Mode.PAGED, PAGE_SIZE).withPrevLink()});
+        rows.add(new Object[]{CareersFixture.jobs(1000).otherLocationEvery(OTHER_LOCATION_EVERY)
+            .mode(CareersFixture.Mode.INFINITE, PAGE_SIZE)});
+        return rows.toArray(new Object[0][]);
+    }
+
+    @Test(priority = 1, dataProvider = "listSizes", description = "Measure job list verification on a generated careers page")
+    public void measureJobListVerification(CareersFixture fixture) {
+        logger.info("Measuring job list page object with {}", fixture);
+        getDriver().get(server.getOpenPositionsUrl(fixture));
+        QualityAssurancePage qaPage = new QualityAssurancePage(getDriver());
+
+        Map<String, Object> measurement = new LinkedHashMap<>();
+        measurement.put("jobs", fixture.getJobs());
+        measurement.put("mode", fixture.getMode().name());
+        measurement.put("prevLink", fixture.hasPrevLink());
+        measure(measurement, "applyLocationFilter", () -> qaPage.applyLocationFilter(LOCATION) != null);
+        boolean allMatch = measure(measurement, "verifyAllJobsMatchCriteria",
+            () -> qaPage.verifyAllJobsMatchCriteria(LOCATION, DEPARTMENT));
+        int[] jobCount = new int[1];
+        measure(measurement, "getJobCount", () -> (jobCount[0] = qaPage.getJobCount()) >= 0);
+        boolean consistent = measure(measurement, "validateJobCountConsistency", qaPage::validateJobCountConsistency);
+
+        int expected = fixture.getIstanbulJobs();
+        measurement.put("expectedJobs", expected);
+        measurement.put("countedJobs", jobCount[0]);
+        measurements.add(measurement);
+
+        Assert.assertTrue(allMatch, "Jobs should match the location and department criteria");
+        Assert.assertTrue(consistent, "Job count should be consistent");
+        Assert.assertEquals(jobCount[0], expected, "All jobs left by the location filter should be counted");
+    }
+
+    @Test(priority = 2, dependsOnMethods = "measureJobListVerification",
+        description = "Verify page-object cost grows at most by the configured exponent of the job count")
+    public void verifyJobListScaling() {
+        double maxExponent = ConfigReader.getFixtureScalingMaxExponent();
+        Map<String, Double> exponents = getExponents();
+        exponents.forEach((metric, exponent) -> logger.info("Growth exponent of {}: {}", metric,
+            String.format("%.2f", exponent)));
+        List<String> superLinear = exponents.entrySet().stream()
+            .filter(entry -> entry.getValue() > maxExponent)
+            .map(entry -> String.format("%s (%.2f)", entry.getKey(), entry.getValue()))
+            .collect(Collectors.toList());
+        Assert.assertTrue(superLinear.isEmpty(), "Cost grows faster than job count^" + maxExponent + ": " + superLinear);
+    }
+
+    /**
+     * Run a page-object operation and record its time and WebDriver round trips
+     * @param measurement Measurement the results are added to
+     * @param operation Operation name
+     * @param call Operation
+     * @return Result of the operation
+     */
+    private boolean measure(Map<String, Object> measurement, String operation, BooleanSupplier call) {
+        long roundTripsBefore = getRoundTrips();
+        long start = System.nanoTime();
+        boolean result = call.getAsBoolean();
+        measurement.put(operation + "Ms", (System.nanoTime() - start) / 1_000_000);
+        measurement.put(operation + "RoundTrips", getRoundTrips() - roundTripsBefore);
+        return result;
+    }
+
+    private long getRoundTrips() {
+        CommandMetrics.TestCommandStats stats = CommandMetrics.getInstance().getTestStats(TestContext.getTestKey());
+        return stats != null ? stats.getRoundTrips() : 0;
+    }
+
+    /**
+     * Growth exponent of every measured metric between the two largest job counts of the one-list
+     * mode, log(cost ratio) / log(job count ratio); 1 is linear, 2 quadratic
+     * @return Exponent per metric
+     */
+    private Map<String, Double> getExponents() {
+        List<Map<String, Object>> oneList = measurements.stream()
+            .filter(measurement -> CareersFixture.Mode.ALL.name().equals(measurement.get("mode")))
+            .sorted((a, b) -> Integer.compare((Integer) a.get("jobs"), (Integer) b.get("jobs")))
+            .collect(Collectors.toList());
+        Map<String, Double> exponents = new LinkedHashMap<>();
+        if (oneList.size() < 2) {
+            return exponents;
+        }
+        Map<String, Object> smaller = oneList.get(oneList.size() - 2);
+        Map<String, Object> larger = oneList.get(oneList.size() - 1);
+        double jobRatio = Math.log((double) (Integer) larger.get("jobs") / (Integer) smaller.get("jobs"));
+        for (Map.Entry<String, Object> entry : larger.entrySet()) {
+            if (!(entry.getKey().endsWith("Ms") || entry.getKey().endsWith("RoundTrips"))) {
+                continue;
+            }
+            double floor = entry.getKey().endsWith("Ms") ? MIN_COMPARED_MILLIS : 1;
+            double before = Math.max(floor, ((Number) smaller.get(entry.getKey())).doubleValue());
+            double after = Math.max(floor, ((Number) entry.getValue()).doubleValue());
+            exponents.put(entry.getKey(), Math.log(after / before) / jobRatio);
+        }
+        return exponents;
+    }
+}
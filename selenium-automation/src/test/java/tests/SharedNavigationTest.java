@@ -0,0 +1,128 @@
+package tests;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import listeners.PerformanceBudgetListener;
+import listeners.ScreenshotListener;
+import pages.CareersPage;
+import pages.HomePage;
+import pages.QualityAssurancePage;
+import utils.ConfigReader;
+import utils.NavigationScheduler;
+import utils.NavigationStep;
+
+/**
+ * The InsiderAutomationTest scenarios on one class-scoped browser. Tests declare their
+ * home → careers → QA navigation as steps and the scheduler runs each shared prefix once,
+ * resuming in parked or restored tabs where the tests diverge. Tests run in prefix order.
+ */
+@Listeners({ScreenshotListener.class, PerformanceBudgetListener.class})
+public class SharedNavigationTest extends BaseTest {
+
+    private static final NavigationStep HOME = new NavigationStep("home", true,
+        driver -> driver.get(ConfigReader.getBaseUrl()));
+
+    private static final NavigationStep CAREERS = new NavigationStep("careers", true,
+        driver -> new HomePage(driver).navigateToCareers());
+
+    private static final NavigationStep QUALITY_ASSURANCE = new NavigationStep("quality-assurance", true,
+        driver -> new CareersPage(driver).navigateToQualityAssurance());
+
+    private static final NavigationStep SEE_ALL_QA_JOBS = new NavigationStep("see-all-qa-jobs", true, driver -> {
+        if (!new QualityAssurancePage(driver).clickSeeAllQAJobs()) {
+            throw new IllegalStateException("Could not open QA job listings");
+        }
+    });
+
+    // Filter state is not part of the URL, so this step can only be shared through a parked tab
+    private static final NavigationStep ISTANBUL_FILTER = new NavigationStep("istanbul-filter", false,
+        driver -> new QualityAssurancePage(driver).applyLocationFilter("Istanbul, Turkey"));
+
+    private NavigationScheduler scheduler;
+
+    @Override
+    protected boolean isDriverSharedAcrossMethods() {
+        return true;
+    }
+
+    @Override
+    protected void onDriverRecycled() {
+        scheduler = null;
+    }
+
+    private NavigationScheduler getScheduler() {
+        if (scheduler == null) {
+            scheduler = new NavigationScheduler(driver);
+        }
+        return scheduler;
+    }
+
+    @Test(priority = 1, description = "Verify Insider home page loads successfully")
+    public void testHomePageLoad() {
+        getScheduler().navigate(HOME);
+        HomePage homePage = new HomePage(driver);
+
+        Assert.assertTrue(homePage.isHomePageLoaded(),
+            "Home page should load successfully");
+        Assert.assertTrue(homePage.verifyPageTitle("Leader"),
+            "Page title should contain 'Leader' - Insider's tagline");
+    }
+
+    @Test(priority = 2, description = "Verify Insider careers page navigation and sections visibility")
+    public void testCareersPageNavigation() {
+        getScheduler().navigate(HOME, CAREERS);
+        CareersPage careersPage = new CareersPage(driver);
+
+        Assert.assertTrue(careersPage.isCareersPageLoaded(),
+            "Careers page should load successfully");
+        Assert.assertTrue(careersPage.getCurrentUrl().toLowerCase().contains("career"),
+            "URL should contain 'career'");
+    }
+
+    @Test(priority = 3, description = "Verify Insider QA jobs filtering functionality")
+    public void testQAJobsFiltering() {
+        getScheduler().navigate(HOME, CAREERS, QUALITY_ASSURANCE, SEE_ALL_QA_JOBS, ISTANBUL_FILTER);
+        QualityAssurancePage qaPage = new QualityAssurancePage(driver);
+
+        Assert.assertTrue(qaPage.getCurrentUrl().contains("department=qualityassurance"),
+            "URL should contain 'department=qualityassurance' parameter");
+        Assert.assertTrue(qaPage.isJobListPopulated(),
+            "Job list should be populated after filtering");
+        Assert.assertTrue(qaPage.validateJobCountConsistency(),
+            "Displayed job count should match total results count");
+    }
+
+    @Test(priority = 4, description = "Complete Insider Automation Test Scenario")
+    public void testInsiderAutomationScenario() {
+        getScheduler().navigate(HOME, CAREERS, QUALITY_ASSURANCE, SEE_ALL_QA_JOBS, ISTANBUL_FILTER);
+        QualityAssurancePage qaPage = new QualityAssurancePage(driver);
+
+        Assert.assertTrue(qaPage.isJobListPopulated(),
+            "Job list should be populated after applying filters");
+        int jobCount = qaPage.getJobCount();
+        logger.info("Found {} QA jobs in Istanbul", jobCount);
+        Assert.assertTrue(jobCount > 0, "Should find at least one QA job");
+        Assert.assertTrue(qaPage.validateJobCountConsistency(),
+            "Displayed job count should match total results count");
+
+        if (!qaPage.verifyAllJobsMatchCriteria("Istanbul, Turkey", "Quality Assurance")) {
+            logger.warn("Not all jobs match exact criteria - this might be due to website layout changes");
+        }
+
+        // Opening the role changes window state, so no later test may resume from this tab
+        getScheduler().markDirty();
+        if (!qaPage.clickViewRoleForFirstJob()) {
+            logger.warn("Could not open View Role in a new tab - this might be due to website changes");
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void logNavigationSavings() {
+        if (scheduler != null) {
+            logger.info("Shared navigation: {}", scheduler);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package utils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Response framing of the caching proxy
+ */
+public class CachingProxyTest {
+    private static final byte[] BODY = "<html>jobs</html>".getBytes(StandardCharsets.UTF_8);
+
+    private static String write(String method, int status, List<String[]> headers, byte[] body) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        CachingProxy.writeResponse(output, method, status, headers, body);
+        return new String(output.toByteArray(), StandardCharsets.ISO_8859_1);
+    }
+
+    private static List<String[]> headers(String[]... headers) {
+        return new ArrayList<>(Arrays.asList(headers));
+    }
+
+    @Test
+    public void testGetIsFramedByBodyLength() throws Exception {
+        String response = write("GET", 200, headers(new String[] {"Content-Type", "text/html"},
+            new String[] {"Content-Length", "999"}), BODY);
+        Assert.assertTrue(response.startsWith("HTTP/1.1 200 OK\r\n"), response);
+        Assert.assertTrue(response.contains("Content-Type: text/html\r\n"), response);
+        Assert.assertTrue(response.contains("Content-Length: " + BODY.length + "\r\n"), response);
+        Assert.assertFalse(response.contains("Content-Length: 999"), response);
+        Assert.assertTrue(response.endsWith("\r\n\r\n<html>jobs</html>"), response);
+    }
+
+    @Test
+    public void testHeadReportsEntityLengthWithoutBody() throws Exception {
+        String response = write("HEAD", 200, headers(new String[] {"content-length", "4096"}), new byte[0]);
+        Assert.assertTrue(response.contains("Content-Length: 4096\r\n"), response);
+        Assert.assertTrue(response.endsWith("\r\n\r\n"), response);
+    }
+
+    @Test
+    public void testHeadWithoutEntityLengthHasNoLength() throws Exception {
+        String response = write("HEAD", 200, headers(), BODY);
+        Assert.assertFalse(response.contains("Content-Length"), response);
+        Assert.assertTrue(response.endsWith("\r\n\r\n"), response);
+    }
+
+    @Test
+    public void testNoContentHasNoLengthOrBody() throws Exception {
+        String response = write("POST", 204, headers(new String[] {"Content-Length", "0"}), BODY);
+        Assert.assertTrue(response.startsWith("HTTP/1.1 204 No Content\r\n"), response);
+        Assert.assertFalse(response.contains("Content-Length"), response);
+        Assert.assertTrue(response.endsWith("\r\n\r\n"), response);
+    }
+
+    @Test
+    public void testNotModifiedHasNoLengthOrBody() throws Exception {
+        String response = write("GET", 304, headers(new String[] {"ETag", "\"v1\""},
+            new String[] {"Content-Length", "4096"}), new byte[0]);
+        Assert.assertTrue(response.contains("ETag: \"v1\"\r\n"), response);
+        Assert.assertFalse(response.contains("Content-Length"), response);
+        Assert.assertTrue(response.endsWith("\r\n\r\n"), response);
+    }
+
+    @Test
+    public void testGatewayErrorsHaveEmptyBody() throws Exception {
+        String response = write("GET", 504, headers(), new byte[0]);
+        Assert.assertTrue(response.startsWith("HTTP/1.1 504 Gateway Timeout\r\n"), response);
+        Assert.assertTrue(response.contains("Content-Length: 0\r\n"), response);
+    }
+}
@@ -0,0 +1,87 @@
+package utils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Cache keys of the caching proxy: URL normalization, ignored query parameters and malformed URLs
+ */
+public class ProxyCacheStoreTest {
+    private ProxyCacheStore store;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        Path root = Files.createTempDirectory("proxy-cache-test");
+        store = new ProxyCacheStore(root, new HashSet<>(Arrays.asList("_", "timestamp")));
+    }
+
+    @Test
+    public void testNormalizeUrlLowerCasesSchemeAndHostOnly() {
+        Assert.assertEquals(store.normalizeUrl("HTTPS://Useinsider.COM/Careers/"), "https://useinsider.com/Careers/");
+    }
+
+    @Test
+    public void testNormalizeUrlKeepsPortAndDropsFragment() {
+        Assert.assertEquals(store.normalizeUrl("http://localhost:8080/jobs#open-positions"),
+            "http://localhost:8080/jobs");
+    }
+
+    @Test
+    public void testNormalizeUrlAddsRootPath() {
+        Assert.assertEquals(store.normalizeUrl("https://useinsider.com"), "https://useinsider.com/");
+    }
+
+    @Test
+    public void testNormalizeUrlSortsQueryParameters() {
+        Assert.assertEquals(store.normalizeUrl("https://useinsider.com/jobs?team=qa&location=istanbul"),
+            "https://useinsider.com/jobs?location=istanbul&team=qa");
+    }
+
+    @Test
+    public void testNormalizeUrlRemovesIgnoredQueryParameters() {
+        Assert.assertEquals(store.normalizeUrl("https://useinsider.com/jobs?team=qa&_=1712&timestamp"),
+            "https://useinsider.com/jobs?team=qa");
+    }
+
+    @Test
+    public void testNormalizeUrlDropsQueryOfIgnoredParametersOnly() {
+        Assert.assertEquals(store.normalizeUrl("https://useinsider.com/app.js?_=1712"), "https://useinsider.com/app.js");
+    }
+
+    @Test
+    public void testIgnoredParameterMatchesByNameOnly() {
+        Assert.assertEquals(store.normalizeUrl("https://useinsider.com/jobs?timestamps=1&_team=qa"),
+            "https://useinsider.com/jobs?_team=qa&timestamps=1");
+    }
+
+    @Test
+    public void testKeyIgnoresVolatileParametersAndOrder() {
+        Assert.assertEquals(store.key("get", "https://useinsider.com/jobs?b=2&a=1&_=1", null),
+            store.key("GET", "https://useinsider.com/jobs?a=1&b=2&_=2", new byte[0]));
+    }
+
+    @Test
+    public void testKeyDistinguishesRequestBodies() {
+        String first = store.key("POST", "https://useinsider.com/api", "{\"page\":1}".getBytes(StandardCharsets.UTF_8));
+        String second = store.key("POST", "https://useinsider.com/api", "{\"page\":2}".getBytes(StandardCharsets.UTF_8));
+        Assert.assertNotEquals(first, second);
+        Assert.assertTrue(first.startsWith("POST https://useinsider.com/api #"), first);
+    }
+
+    @Test
+    public void testKeyRejectsMalformedUrls() {
+        Assert.assertThrows(IllegalArgumentException.class,
+            () -> store.key("GET", "https://useinsider.com/jobs?filter={team|qa}", null));
+        Assert.assertThrows(IllegalArgumentException.class,
+            () -> store.key("GET", "https://useinsider.com/open positions", null));
+        Assert.assertThrows(IllegalArgumentException.class,
+            () -> store.key("GET", "https://cdn_assets.useinsider.com/app.js", null));
+    }
+}
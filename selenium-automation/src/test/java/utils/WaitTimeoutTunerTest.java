@@ -0,0 +1,127 @@
+package utils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tuned wait timeouts: percentile, factor, floor and the fallback after a tuned timeout ran out
+ */
+public class WaitTimeoutTunerTest {
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+    private static final String KEY = "chrome|QualityAssurancePage|visible|By.id: jobs-list";
+
+    private Path storeFile;
+
+    @BeforeClass
+    public void configure() {
+        System.setProperty("wait.tuning.mode", "tune");
+        System.setProperty("wait.tuning.min.samples", "5");
+        System.setProperty("wait.tuning.percentile", "90");
+        System.setProperty("wait.tuning.factor", "2");
+        System.setProperty("wait.tuning.floor.ms", "500");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void restore() {
+        for (String key : Arrays.asList("wait.tuning.mode", "wait.tuning.min.samples", "wait.tuning.percentile",
+                "wait.tuning.factor", "wait.tuning.floor.ms", "wait.tuning.file")) {
+            System.clearProperty(key);
+        }
+    }
+
+    @BeforeMethod
+    public void useEmptyStore() throws Exception {
+        storeFile = Files.createTempDirectory("wait-tuning-test").resolve("wait-timings.json");
+        System.setProperty("wait.tuning.file", storeFile.toString());
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void clearContext() {
+        TestContext.clear();
+    }
+
+    private static WaitTimeoutTuner tunerWith(long... samples) {
+        WaitTimeoutTuner tuner = new WaitTimeoutTuner();
+        for (long sample : samples) {
+            tuner.recordSuccess(KEY, sample);
+        }
+        return tuner;
+    }
+
+    @Test
+    public void testPercentileIsNearestRank() {
+        Assert.assertEquals(WaitTimeoutTuner.percentile(Arrays.asList(10L, 1L, 9L, 2L, 8L, 3L, 7L, 4L, 6L, 5L), 90), 9);
+        Assert.assertEquals(WaitTimeoutTuner.percentile(Arrays.asList(10L, 1L, 9L, 2L, 8L, 3L, 7L, 4L, 6L, 5L), 50), 5);
+        Assert.assertEquals(WaitTimeoutTuner.percentile(Arrays.asList(10L, 1L, 9L, 2L, 8L, 3L, 7L, 4L, 6L, 5L), 99.9), 10);
+        Assert.assertEquals(WaitTimeoutTuner.percentile(Collections.singletonList(42L), 0), 42);
+    }
+
+    @Test
+    public void testTimeoutIsPercentileTimesFactor() {
+        WaitTimeoutTuner tuner = tunerWith(1000, 1100, 1200, 1300, 1400, 1500, 1600, 1700, 1800, 1900);
+        Assert.assertEquals(tuner.getTimeout(KEY, DEFAULT_TIMEOUT), Duration.ofMillis(3600));
+    }
+
+    @Test
+    public void testTimeoutNeedsMinimumSamples() {
+        WaitTimeoutTuner tuner = tunerWith(1000, 1100, 1200, 1300);
+        Assert.assertEquals(tuner.getTimeout(KEY, DEFAULT_TIMEOUT), DEFAULT_TIMEOUT);
+    }
+
+    @Test
+    public void testTimeoutIsAtLeastFloorAndAtMostDefault() {
+        Assert.assertEquals(tunerWith(10, 20, 30, 40, 50).getTimeout(KEY, DEFAULT_TIMEOUT), Duration.ofMillis(500));
+        Assert.assertEquals(tunerWith(9000, 9000, 9000, 9000, 9000).getTimeout(KEY, DEFAULT_TIMEOUT), DEFAULT_TIMEOUT);
+    }
+
+    @Test
+    public void testTunedTimeoutRunningOutFallsBackToDefaultUntilNextSuccessfulRun() {
+        WaitTimeoutTuner firstRun = tunerWith(1000, 1000, 1000, 1000, 1000);
+        Duration tuned = firstRun.getTimeout(KEY, DEFAULT_TIMEOUT);
+        Assert.assertEquals(tuned, Duration.ofMillis(2000));
+        firstRun.recordTimeout(KEY, tuned, DEFAULT_TIMEOUT);
+        Assert.assertEquals(firstRun.getTimeout(KEY, DEFAULT_TIMEOUT), DEFAULT_TIMEOUT);
+        firstRun.save();
+
+        // The next run loads lastTimedOut and measures the condition with the default timeout
+        WaitTimeoutTuner secondRun = new WaitTimeoutTuner();
+        Assert.assertEquals(secondRun.getTimeout(KEY, DEFAULT_TIMEOUT), DEFAULT_TIMEOUT);
+        secondRun.recordSuccess(KEY, 3000);
+        Assert.assertEquals(secondRun.getTimeout(KEY, DEFAULT_TIMEOUT), DEFAULT_TIMEOUT);
+        secondRun.save();
+
+        WaitTimeoutTuner thirdRun = new WaitTimeoutTuner();
+        Assert.assertEquals(thirdRun.getTimeout(KEY, DEFAULT_TIMEOUT), Duration.ofMillis(6000));
+    }
+
+    @Test
+    public void testKeyIncludesBrowserAndPage() {
+        TestContext.startTest("testJobList", "firefox", false);
+        TestContext.setPage("QualityAssurancePage");
+        Assert.assertEquals(WaitTimeoutTuner.key("visible", "By.id: jobs-list"),
+            "firefox|QualityAssurancePage|visible|By.id: jobs-list");
+    }
+
+    @Test
+    public void testFixtureTestsUseDefaultTimeoutAndRecordNothing() throws Exception {
+        TestContext.startTest("measureJobListVerification", "chrome", true);
+        WaitTimeoutTuner tuner = tunerWith(1000, 1000, 1000, 1000, 1000);
+        Assert.assertEquals(tuner.getTimeout(KEY, DEFAULT_TIMEOUT), DEFAULT_TIMEOUT);
+
+        TestContext.clear();
+        Assert.assertEquals(tuner.getTimeout(KEY, DEFAULT_TIMEOUT), DEFAULT_TIMEOUT);
+        tuner.save();
+        Assert.assertFalse(new String(Files.readAllBytes(storeFile), StandardCharsets.UTF_8).contains("1000"));
+    }
+}